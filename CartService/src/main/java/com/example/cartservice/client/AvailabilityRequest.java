@@ -0,0 +1,6 @@
+package com.example.cartservice.client;
+
+import java.util.List;
+
+public record AvailabilityRequest(List<StockLine> items) {
+}
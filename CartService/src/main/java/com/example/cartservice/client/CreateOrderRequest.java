@@ -0,0 +1,6 @@
+package com.example.cartservice.client;
+
+import java.util.List;
+
+public record CreateOrderRequest(String userId, List<OrderLine> items) {
+}
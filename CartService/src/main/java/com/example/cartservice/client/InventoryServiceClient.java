@@ -1,12 +1,16 @@
 package com.example.cartservice.client;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Collections;
 import java.util.Map;
 
 @Slf4j
@@ -15,11 +19,16 @@ public class InventoryServiceClient {
     
     private final RestTemplate restTemplate;
     private final String inventoryServiceUrl;
+    private final ObjectReader availabilityReader;
+    private final ObjectReader bulkAvailabilityReader;
     
     public InventoryServiceClient(RestTemplate restTemplate,
+                                   ObjectMapper objectMapper,
                                    @Value("${inventory.service.url}") String inventoryServiceUrl) {
         this.restTemplate = restTemplate;
         this.inventoryServiceUrl = inventoryServiceUrl;
+        this.availabilityReader = objectMapper.readerFor(new TypeReference<RemoteResponse<Boolean>>() { });
+        this.bulkAvailabilityReader = objectMapper.readerFor(new TypeReference<RemoteResponse<Map<String, Boolean>>>() { });
     }
     
     public boolean checkAvailability(String productId, int quantity) {
@@ -29,19 +38,43 @@ public class InventoryServiceClient {
             
             log.info("Checking inventory availability for product: {}, quantity: {}", productId, quantity);
             
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+            RemoteResponse<Boolean> response = exchange(url, HttpMethod.GET, null, availabilityReader);
             
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> body = response.getBody();
-                Object data = body.get("data");
-                return data != null && (Boolean) data;
-            }
-            
-            return false;
+            return response != null && Boolean.TRUE.equals(response.data());
         } catch (Exception e) {
             log.error("Error checking inventory availability: ", e);
             return false;
         }
     }
+    
+    /**
+     * Checks several products in one round trip. Products missing from the
+     * returned map should be treated as unavailable.
+     */
+    public Map<String, Boolean> checkBulkAvailability(Map<String, Integer> quantitiesByProduct) {
+        try {
+            String url = String.format("%s/api/v1/inventory/availability", inventoryServiceUrl);
+            
+            log.info("Checking inventory availability for {} products", quantitiesByProduct.size());
+            
+            AvailabilityRequest request = new AvailabilityRequest(StockLine.of(quantitiesByProduct));
+            RemoteResponse<Map<String, Boolean>> response =
+                    exchange(url, HttpMethod.POST, request, bulkAvailabilityReader);
+            
+            return response != null && response.data() != null ? response.data() : Collections.emptyMap();
+        } catch (Exception e) {
+            log.error("Error checking bulk inventory availability: ", e);
+            return Collections.emptyMap();
+        }
+    }
+    
+    /**
+     * Decodes a {@code 200} body with {@code reader} straight off the stream.
+     *
+     * @return the decoded body, or {@code null} for any other status
+     */
+    private <T> T exchange(String url, HttpMethod method, Object request, ObjectReader reader) {
+        return restTemplate.execute(url, method, restTemplate.httpEntityCallback(request, RemoteResponse.class),
+                response -> response.getStatusCode() == HttpStatus.OK ? reader.readValue(response.getBody()) : null);
+    }
 }
-
@@ -0,0 +1,6 @@
+package com.example.cartservice.client;
+
+import java.math.BigDecimal;
+
+public record OrderLine(String productId, String productName, int quantity, BigDecimal price) {
+}
@@ -1,18 +1,20 @@
 package com.example.cartservice.client;
 
 import com.example.cartservice.model.Cart;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -20,42 +22,45 @@ public class OrderServiceClient {
     
     private final RestTemplate restTemplate;
     private final String orderServiceUrl;
+    private final ObjectReader orderReader;
     
     public OrderServiceClient(RestTemplate restTemplate,
+                              ObjectMapper objectMapper,
                               @Value("${order.service.url}") String orderServiceUrl) {
         this.restTemplate = restTemplate;
         this.orderServiceUrl = orderServiceUrl;
+        this.orderReader = objectMapper.readerFor(new TypeReference<RemoteResponse<OrderSummary>>() { });
     }
     
+    /**
+     * Safe to retry: every attempt for the same cart contents carries the same
+     * Idempotency-Key, so OrderService creates the order at most once.
+     */
     @CircuitBreaker(name = "orderService", fallbackMethod = "createOrderFromCartFallback")
+    @Retry(name = "orderService")
     public String createOrderFromCart(Cart cart) {
         try {
             String url = String.format("%s/api/v1/orders", orderServiceUrl);
             
             log.info("Creating order from cart for user: {}", cart.getUserId());
             
-            Map<String, Object> orderRequest = new HashMap<>();
-            orderRequest.put("userId", cart.getUserId());
+            List<OrderLine> items = cart.getCartItems().stream()
+                    .map(item -> new OrderLine(item.getProductId(), item.getProductName(),
+                            item.getQuantity(), item.getPrice()))
+                    .toList();
             
-            List<Map<String, Object>> items = cart.getCartItems().stream()
-                    .map(item -> {
-                        Map<String, Object> itemMap = new HashMap<>();
-                        itemMap.put("productId", item.getProductId());
-                        itemMap.put("productName", item.getProductName());
-                        itemMap.put("quantity", item.getQuantity());
-                        itemMap.put("price", item.getPrice());
-                        return itemMap;
-                    })
-                    .collect(Collectors.toList());
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("Idempotency-Key", idempotencyKey(cart));
+            HttpEntity<CreateOrderRequest> request = new HttpEntity<>(new CreateOrderRequest(cart.getUserId(), items), headers);
             
-            orderRequest.put("items", items);
+            // OrderService accepts the order with 202 and secures the stock asynchronously
+            RemoteResponse<OrderSummary> response = restTemplate.execute(url, HttpMethod.POST,
+                    restTemplate.httpEntityCallback(request, RemoteResponse.class),
+                    clientResponse -> clientResponse.getStatusCode().is2xxSuccessful()
+                            ? orderReader.readValue(clientResponse.getBody()) : null);
             
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, orderRequest, Map.class);
-            
-            if (response.getStatusCode() == HttpStatus.CREATED && response.getBody() != null) {
-                Map<String, Object> body = response.getBody();
-                Map<String, Object> data = (Map<String, Object>) body.get("data");
-                return (String) data.get("id");
+            if (response != null && response.data() != null) {
+                return response.data().id();
             }
             
             throw new RuntimeException("Failed to create order from cart");
@@ -65,6 +70,11 @@ public class OrderServiceClient {
         }
     }
 
+    // Changes whenever the cart does, so a later checkout of a refilled cart is a new order
+    private String idempotencyKey(Cart cart) {
+        return String.format("cart-%s-%s", cart.getId(), cart.getUpdatedAt());
+    }
+
     private String createOrderFromCartFallback(Cart cart, Throwable throwable) {
         log.error("Circuit breaker fallback: error creating order from cart for user: {}",
                 cart != null ? cart.getUserId() : "unknown", throwable);
@@ -0,0 +1,10 @@
+package com.example.cartservice.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * The part of a created order this service needs.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record OrderSummary(String id) {
+}
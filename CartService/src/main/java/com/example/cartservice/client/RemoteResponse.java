@@ -0,0 +1,11 @@
+package com.example.cartservice.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * The {@code ApiResponse} envelope other services wrap their payloads in, read straight into
+ * {@code T} instead of a {@code Map}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RemoteResponse<T>(boolean success, String message, T data) {
+}
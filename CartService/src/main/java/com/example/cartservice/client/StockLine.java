@@ -0,0 +1,16 @@
+package com.example.cartservice.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public record StockLine(String productId, int quantity) {
+
+    public static List<StockLine> of(Map<String, Integer> quantitiesByProduct) {
+        List<StockLine> lines = new ArrayList<>(quantitiesByProduct.size());
+        for (Map.Entry<String, Integer> entry : quantitiesByProduct.entrySet()) {
+            lines.add(new StockLine(entry.getKey(), entry.getValue()));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.cartservice.client;
+
+import com.example.cartservice.model.Cart;
+import com.example.cartservice.model.CartItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class OrderServiceClientTest {
+
+    private MockRestServiceServer server;
+    private OrderServiceClient orderServiceClient;
+    private Cart cart;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        orderServiceClient = new OrderServiceClient(restTemplate, new ObjectMapper(), "http://orders");
+
+        cart = Cart.builder()
+            .userId("user-123")
+            .cartItems(new ArrayList<>())
+            .build();
+        cart.setId("cart-123");
+        cart.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        cart.getCartItems().add(CartItem.builder()
+            .cart(cart)
+            .productId("product-123")
+            .productName("Test Product")
+            .quantity(2)
+            .price(new BigDecimal("99.99"))
+            .subtotal(new BigDecimal("199.98"))
+            .build());
+    }
+
+    @Test
+    void createOrderFromCart_ShouldSendTypedRequestAndReturnOrderId() {
+        // Arrange
+        server.expect(requestTo("http://orders/api/v1/orders"))
+            .andExpect(method(HttpMethod.POST))
+            .andExpect(header("Idempotency-Key", "cart-cart-123-2024-01-01T12:00"))
+            .andExpect(content().json("{\"userId\":\"user-123\",\"items\":[{\"productId\":\"product-123\","
+                + "\"productName\":\"Test Product\",\"quantity\":2,\"price\":99.99}]}", true))
+            .andRespond(withStatus(HttpStatus.ACCEPTED).contentType(MediaType.APPLICATION_JSON)
+                .body("{\"success\":true,\"message\":\"Order accepted\",\"data\":{\"id\":\"order-1\","
+                    + "\"status\":\"PENDING\",\"items\":[]},\"timestamp\":\"2024-01-01T12:00:01\"}"));
+
+        // Act
+        String orderId = orderServiceClient.createOrderFromCart(cart);
+
+        // Assert
+        assertEquals("order-1", orderId);
+        server.verify();
+    }
+
+    @Test
+    void createOrderFromCart_WithoutOrderInResponse_ShouldThrow() {
+        // Arrange
+        server.expect(requestTo("http://orders/api/v1/orders"))
+            .andRespond(withSuccess("{\"success\":false,\"data\":null}", MediaType.APPLICATION_JSON));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> orderServiceClient.createOrderFromCart(cart));
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.inventoryservice.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded read cache of stock quantities keyed by item ID.
+ *
+ * Entries are spread over lock-striped LRU shards so hot SKUs on different shards never
+ * contend. Each entry also expires after a short TTL, which bounds staleness from writes
+ * made by other service instances.
+ *
+ * Readers take a {@link #generation()} before going to the database and hand it back to
+ * {@link #put}; an invalidation of the same key in between turns the put into a no-op, so a
+ * quantity read before a write committed is never cached after it.
+ */
+@Slf4j
+@Component
+public class InventoryStockCache {
+
+    private final Shard[] shards;
+    private final long ttlNanos;
+    private final AtomicLong generations = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public InventoryStockCache(MeterRegistry meterRegistry,
+                               @Value("${inventory.cache.shards:16}") int shardCount,
+                               @Value("${inventory.cache.max-entries:10000}") int maxEntries,
+                               @Value("${inventory.cache.ttl-ms:5000}") long ttlMillis) {
+        this.shards = new Shard[shardCount];
+        int perShard = Math.max(1, maxEntries / shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(perShard);
+        }
+        this.ttlNanos = ttlMillis * 1_000_000L;
+
+        this.hits = Counter.builder("inventory.stock.cache.hits")
+                .description("Stock lookups answered from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("inventory.stock.cache.misses")
+                .description("Stock lookups that had to go to the database")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("inventory.stock.cache.evictions")
+                .description("Entries dropped for capacity or expiry")
+                .register(meterRegistry);
+        Gauge.builder("inventory.stock.cache.size", this, InventoryStockCache::size)
+                .description("Entries currently cached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the cached quantity, or {@code null} on a miss
+     */
+    public Integer getQuantity(String id) {
+        Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            Entry entry = shard.entries.get(id);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.quantity;
+            }
+            if (entry != null) {
+                shard.entries.remove(id);
+                evictions.increment();
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @return the token to pass to {@link #put} for a quantity read from the database after this call
+     */
+    public long generation() {
+        return generations.get();
+    }
+
+    /**
+     * Caches {@code quantity} unless the key was invalidated after {@code generation} was taken.
+     */
+    public void put(String id, int quantity, long generation) {
+        Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            if (shard.invalidatedAt(id) > generation) {
+                return;
+            }
+            shard.entries.put(id, new Entry(quantity, System.nanoTime() + ttlNanos));
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the entry now and, when called inside a transaction, again once it completes. Each
+     * drop bumps the key's generation, so a reader that fetched the pre-commit quantity in
+     * between cannot cache it afterwards. Writes from other instances are not seen here and
+     * stay visible for up to the TTL.
+     */
+    public void invalidate(String id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.entries.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private void evict(String id) {
+        Shard shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            shard.entries.remove(id);
+            shard.invalidations.put(id, generations.incrementAndGet());
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private Shard shardFor(String id) {
+        return shards[Math.floorMod(id.hashCode(), shards.length)];
+    }
+
+    private record Entry(int quantity, long expiresAt) {
+    }
+
+    private final class Shard {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> entries;
+        private final LinkedHashMap<String, Long> invalidations;
+        // Newest generation dropped from invalidations; keys no longer tracked are assumed that recent
+        private long forgottenGeneration;
+
+        private Shard(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+            this.invalidations = new LinkedHashMap<>(16, 0.75f, false) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    if (size() > capacity) {
+                        forgottenGeneration = Math.max(forgottenGeneration, eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private long invalidatedAt(String id) {
+            Long generation = invalidations.get(id);
+            return generation != null ? generation : forgottenGeneration;
+        }
+    }
+}
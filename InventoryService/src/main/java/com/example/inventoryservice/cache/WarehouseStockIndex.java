@@ -0,0 +1,126 @@
+package com.example.inventoryservice.cache;
+
+import com.example.inventoryservice.model.Warehouse;
+import com.example.inventoryservice.model.WarehouseStock;
+import com.example.inventoryservice.repository.WarehouseRepository;
+import com.example.inventoryservice.repository.WarehouseStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory map from SKU to the warehouses stocking it, with their coordinates, so an
+ * allocation decision never touches the database.
+ *
+ * Each SKU maps to an immutable array that is swapped whole on refresh, so readers never
+ * lock. Local writes refresh their SKU after commit; a periodic full reload picks up writes
+ * made by other instances. Quantities here only steer allocation — the guarded decrement on
+ * {@link WarehouseStock} remains the source of truth.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarehouseStockIndex {
+
+    private static final LocationStock[] NONE = new LocationStock[0];
+
+    private final WarehouseRepository warehouseRepository;
+    private final WarehouseStockRepository warehouseStockRepository;
+
+    private final Map<String, LocationStock[]> bySku = new ConcurrentHashMap<>();
+    private volatile Map<String, Warehouse> warehouses = Map.of();
+
+    public record LocationStock(String warehouseId, double latitude, double longitude, int quantity) {
+    }
+
+    /**
+     * @return the SKU's locations, or an empty array when it is not stocked per location
+     */
+    public LocationStock[] locations(String itemId) {
+        return bySku.getOrDefault(itemId, NONE);
+    }
+
+    public boolean hasLocations(String itemId) {
+        return bySku.containsKey(itemId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${inventory.warehouses.index-refresh-ms:60000}",
+            initialDelayString = "${inventory.warehouses.index-refresh-ms:60000}")
+    public void reloadAll() {
+        Map<String, Warehouse> loadedWarehouses = new HashMap<>();
+        for (Warehouse warehouse : warehouseRepository.findAll()) {
+            loadedWarehouses.put(warehouse.getId(), warehouse);
+        }
+        warehouses = loadedWarehouses;
+
+        Map<String, List<WarehouseStock>> rowsBySku = new HashMap<>();
+        for (WarehouseStock row : warehouseStockRepository.findAll()) {
+            rowsBySku.computeIfAbsent(row.getItemId(), k -> new ArrayList<>()).add(row);
+        }
+
+        rowsBySku.forEach((itemId, rows) -> bySku.put(itemId, toLocations(rows)));
+        bySku.keySet().retainAll(rowsBySku.keySet());
+        log.debug("Warehouse stock index loaded {} SKUs across {} warehouses", bySku.size(), warehouses.size());
+    }
+
+    /**
+     * Reloads one SKU once the current transaction commits, or immediately outside one.
+     */
+    public void refresh(String itemId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    reload(itemId);
+                }
+            });
+        } else {
+            reload(itemId);
+        }
+    }
+
+    public void reload(String itemId) {
+        List<WarehouseStock> rows = warehouseStockRepository.findByItemId(itemId);
+        if (rows.isEmpty()) {
+            bySku.remove(itemId);
+        } else {
+            bySku.put(itemId, toLocations(rows));
+        }
+    }
+
+    public void addWarehouse(Warehouse warehouse) {
+        Map<String, Warehouse> updated = new HashMap<>(warehouses);
+        updated.put(warehouse.getId(), warehouse);
+        warehouses = updated;
+    }
+
+    private LocationStock[] toLocations(List<WarehouseStock> rows) {
+        Map<String, Warehouse> known = warehouses;
+        List<LocationStock> locations = new ArrayList<>(rows.size());
+        for (WarehouseStock row : rows) {
+            Warehouse warehouse = known.get(row.getWarehouseId());
+            if (warehouse == null) {
+                warehouse = warehouseRepository.findById(row.getWarehouseId()).orElse(null);
+                if (warehouse == null) {
+                    continue;
+                }
+                addWarehouse(warehouse);
+            }
+            locations.add(new LocationStock(row.getWarehouseId(),
+                    warehouse.getLatitude(), warehouse.getLongitude(), row.getQuantity()));
+        }
+        return locations.toArray(NONE);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.inventoryservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the MySQL FULLTEXT index used by item search. Hibernate's ddl-auto cannot
+ * express FULLTEXT indexes, so this runs once the table exists.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.search.fulltext-enabled", havingValue = "true")
+public class FullTextIndexInitializer implements ApplicationRunner {
+
+    static final String INDEX_NAME = "ft_inventory_items_name_description";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'inventory_items' AND index_name = ?",
+                Integer.class, INDEX_NAME);
+
+        if (existing != null && existing > 0) {
+            return;
+        }
+
+        log.info("Creating FULLTEXT index {} on inventory_items", INDEX_NAME);
+        jdbcTemplate.execute("ALTER TABLE inventory_items ADD FULLTEXT INDEX " + INDEX_NAME + " (name, description)");
+    }
+}
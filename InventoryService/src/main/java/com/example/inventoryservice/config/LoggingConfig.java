@@ -0,0 +1,23 @@
+package com.example.inventoryservice.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.example.inventoryservice.logging.SamplingTurboFilter;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LoggingConfig {
+
+    @Bean(destroyMethod = "stop")
+    public SamplingTurboFilter samplingTurboFilter(@Value("${inventory.logging.sample-every:1}") int sampleEvery) {
+        SamplingTurboFilter filter = new SamplingTurboFilter(sampleEvery);
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext) {
+            filter.setContext(loggerContext);
+            filter.start();
+            loggerContext.addTurboFilter(filter);
+        }
+        return filter;
+    }
+}
@@ -1,15 +1,29 @@
 package com.example.inventoryservice.controller;
 
 import com.example.inventoryservice.dto.*;
+import com.example.inventoryservice.logging.LogSampling;
 import com.example.inventoryservice.service.InventoryService;
+import com.example.inventoryservice.service.StockImportService;
+import com.example.inventoryservice.service.StockLedgerService;
+import com.example.inventoryservice.service.WarehouseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -18,6 +32,10 @@ import java.util.List;
 public class InventoryController {
     
     private final InventoryService inventoryService;
+    private final StockImportService stockImportService;
+    private final StockLedgerService stockLedgerService;
+    private final WarehouseService warehouseService;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     public ResponseEntity<ApiResponse<InventoryItemDto>> createItem(
@@ -53,6 +71,45 @@ public class InventoryController {
         return ResponseEntity.ok(ApiResponse.success(items));
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CursorPage<InventoryItemDto>>> getItemsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("REST request to get inventory page. Cursor: {}, size: {}", cursor, size);
+        
+        CursorPage<InventoryItemDto> page = inventoryService.getItemsPage(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+    
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportItems() {
+        log.info("REST request to export all inventory items");
+        
+        ObjectWriter writer = objectMapper.writerFor(InventoryItemDto.class);
+        StreamingResponseBody body = (OutputStream out) -> inventoryService.exportItems(item -> {
+            try {
+                out.write(writer.writeValueAsBytes(item));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<InventoryItemDto>>> searchItems(
+            @RequestParam("q") String keyword,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("REST request to search inventory items. Keyword: {}, limit: {}", keyword, limit);
+        
+        List<InventoryItemDto> items = inventoryService.searchItems(keyword, limit);
+        return ResponseEntity.ok(ApiResponse.success(items));
+    }
+    
     @GetMapping("/low-stock")
     public ResponseEntity<ApiResponse<List<InventoryItemDto>>> getLowStockItems() {
         log.info("REST request to get low stock items");
@@ -91,7 +148,7 @@ public class InventoryController {
     public ResponseEntity<ApiResponse<InventoryItemDto>> addStock(
             @PathVariable String id,
             @Valid @RequestBody StockUpdateRequest request) {
-        log.info("REST request to add stock for item ID: {}", id);
+        log.info(LogSampling.SAMPLED, "REST request to add stock for item ID: {}", id);
         
         InventoryItemDto updatedItem = inventoryService.addStock(id, request);
         return ResponseEntity.ok(ApiResponse.success("Stock added successfully", updatedItem));
@@ -101,22 +158,76 @@ public class InventoryController {
     public ResponseEntity<ApiResponse<InventoryItemDto>> reduceStock(
             @PathVariable String id,
             @Valid @RequestBody StockUpdateRequest request) {
-        log.info("REST request to reduce stock for item ID: {}", id);
+        log.info(LogSampling.SAMPLED, "REST request to reduce stock for item ID: {}", id);
         
         InventoryItemDto updatedItem = inventoryService.reduceStock(id, request);
         return ResponseEntity.ok(ApiResponse.success("Stock reduced successfully", updatedItem));
     }
     
+    @GetMapping("/{id}/movements")
+    public ResponseEntity<ApiResponse<List<StockMovementDto>>> getStockMovements(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "50") int limit) {
+        log.info("REST request to get stock movements for item ID: {}", id);
+        
+        List<StockMovementDto> movements = stockLedgerService.getMovements(id, limit);
+        return ResponseEntity.ok(ApiResponse.success(movements));
+    }
+    
+    @GetMapping("/{id}/locations")
+    public ResponseEntity<ApiResponse<List<LocationStockDto>>> getLocationStock(@PathVariable String id) {
+        log.info("REST request to get location stock for item ID: {}", id);
+        
+        List<LocationStockDto> locations = warehouseService.getLocationStock(id);
+        return ResponseEntity.ok(ApiResponse.success(locations));
+    }
+    
+    @PutMapping("/{id}/locations/{warehouseId}")
+    public ResponseEntity<ApiResponse<LocationStockDto>> setLocationStock(
+            @PathVariable String id,
+            @PathVariable String warehouseId,
+            @Valid @RequestBody LocationStockUpdateRequest request) {
+        log.info("REST request to set stock for item ID: {} at warehouse: {}", id, warehouseId);
+        
+        LocationStockDto location = warehouseService.setLocationStock(id, warehouseId, request.getQuantity());
+        return ResponseEntity.ok(ApiResponse.success("Location stock updated successfully", location));
+    }
+    
+    @PostMapping(value = "/stock/adjustments", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<StockAdjustmentResult>> importCsvAdjustments(InputStream body) {
+        log.info("REST request to import CSV stock adjustments");
+        
+        StockAdjustmentResult result = stockImportService.importCsv(body);
+        return ResponseEntity.ok(ApiResponse.success("Stock adjustments processed", result));
+    }
+    
+    @PostMapping(value = "/stock/adjustments", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponse<StockAdjustmentResult>> importJsonLinesAdjustments(InputStream body) {
+        log.info("REST request to import JSON-lines stock adjustments");
+        
+        StockAdjustmentResult result = stockImportService.importJsonLines(body);
+        return ResponseEntity.ok(ApiResponse.success("Stock adjustments processed", result));
+    }
+    
     @GetMapping("/{id}/availability")
     public ResponseEntity<ApiResponse<Boolean>> checkAvailability(
             @PathVariable String id,
             @RequestParam int quantity) {
-        log.info("REST request to check availability for item ID: {}, quantity: {}", id, quantity);
+        log.info(LogSampling.SAMPLED, "REST request to check availability for item ID: {}, quantity: {}", id, quantity);
         
         boolean available = inventoryService.checkAvailability(id, quantity);
         return ResponseEntity.ok(ApiResponse.success(available));
     }
     
+    @PostMapping("/availability")
+    public ResponseEntity<ApiResponse<Map<String, Boolean>>> checkBulkAvailability(
+            @Valid @RequestBody BulkAvailabilityRequest request) {
+        log.info(LogSampling.SAMPLED, "REST request to check availability for {} items", request.getItems().size());
+        
+        Map<String, Boolean> availability = inventoryService.checkAvailability(request.getItems());
+        return ResponseEntity.ok(ApiResponse.success(availability));
+    }
+    
     @GetMapping("/stats/count")
     public ResponseEntity<ApiResponse<Long>> getTotalItemCount() {
         log.info("REST request to get total item count");
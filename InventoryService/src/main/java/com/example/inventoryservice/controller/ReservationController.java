@@ -0,0 +1,64 @@
+package com.example.inventoryservice.controller;
+
+import com.example.inventoryservice.dto.ApiResponse;
+import com.example.inventoryservice.dto.ReserveStockRequest;
+import com.example.inventoryservice.dto.StockReservationDto;
+import com.example.inventoryservice.service.ReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/inventory/reservations")
+@RequiredArgsConstructor
+public class ReservationController {
+    
+    private final ReservationService reservationService;
+    
+    @PostMapping
+    public ResponseEntity<ApiResponse<StockReservationDto>> reserveStock(
+            @Valid @RequestBody ReserveStockRequest request) {
+        log.info("REST request to reserve stock for order: {}", request.getOrderId());
+        
+        StockReservationDto reservation = reservationService.reserveStock(request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Stock reserved successfully", reservation));
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<StockReservationDto>> getReservation(@PathVariable String id) {
+        log.info("REST request to get stock reservation by ID: {}", id);
+        
+        StockReservationDto reservation = reservationService.getReservation(id);
+        return ResponseEntity.ok(ApiResponse.success(reservation));
+    }
+    
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<ApiResponse<StockReservationDto>> confirmReservation(@PathVariable String id) {
+        log.info("REST request to confirm stock reservation with ID: {}", id);
+        
+        StockReservationDto reservation = reservationService.confirmReservation(id);
+        return ResponseEntity.ok(ApiResponse.success("Reservation confirmed successfully", reservation));
+    }
+    
+    @PostMapping("/{id}/release")
+    public ResponseEntity<ApiResponse<StockReservationDto>> releaseReservation(@PathVariable String id) {
+        log.info("REST request to release stock reservation with ID: {}", id);
+        
+        StockReservationDto reservation = reservationService.releaseReservation(id);
+        return ResponseEntity.ok(ApiResponse.success("Reservation released successfully", reservation));
+    }
+    
+    @PostMapping("/{id}/return")
+    public ResponseEntity<ApiResponse<StockReservationDto>> returnReservation(@PathVariable String id) {
+        log.info("REST request to return stock for reservation with ID: {}", id);
+        
+        StockReservationDto reservation = reservationService.returnReservation(id);
+        return ResponseEntity.ok(ApiResponse.success("Reservation stock returned successfully", reservation));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.inventoryservice.controller;
+
+import com.example.inventoryservice.dto.ApiResponse;
+import com.example.inventoryservice.dto.CreateWarehouseRequest;
+import com.example.inventoryservice.dto.WarehouseDto;
+import com.example.inventoryservice.service.WarehouseService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/inventory/warehouses")
+@RequiredArgsConstructor
+public class WarehouseController {
+    
+    private final WarehouseService warehouseService;
+    
+    @PostMapping
+    public ResponseEntity<ApiResponse<WarehouseDto>> createWarehouse(
+            @Valid @RequestBody CreateWarehouseRequest request) {
+        log.info("REST request to create warehouse: {}", request.getName());
+        
+        WarehouseDto warehouse = warehouseService.createWarehouse(request);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Warehouse created successfully", warehouse));
+    }
+    
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<WarehouseDto>>> getAllWarehouses() {
+        log.info("REST request to get all warehouses");
+        
+        List<WarehouseDto> warehouses = warehouseService.getAllWarehouses();
+        return ResponseEntity.ok(ApiResponse.success(warehouses));
+    }
+}
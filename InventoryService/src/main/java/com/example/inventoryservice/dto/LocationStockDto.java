@@ -0,0 +1,20 @@
+package com.example.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationStockDto {
+    
+    private String itemId;
+    private String warehouseId;
+    private Integer quantity;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.example.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustment {
+    
+    private long lineNumber;
+    private String productId;
+    private Integer delta;
+    private String reason;
+}
@@ -0,0 +1,24 @@
+package com.example.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentResult {
+    
+    private long totalRows;
+    private long applied;
+    private long failed;
+    
+    // Only the first failures are listed; failed carries the full count
+    @Builder.Default
+    private List<StockAdjustmentFailure> failures = new ArrayList<>();
+}
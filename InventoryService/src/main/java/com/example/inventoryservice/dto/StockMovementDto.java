@@ -0,0 +1,23 @@
+package com.example.inventoryservice.dto;
+
+import com.example.inventoryservice.model.StockMovementType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDto {
+    
+    private String id;
+    private String itemId;
+    private Integer delta;
+    private StockMovementType type;
+    private String reference;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.example.inventoryservice.dto;
+
+import com.example.inventoryservice.model.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationDto {
+    
+    private String id;
+    private String orderId;
+    private ReservationStatus status;
+    private LocalDateTime expiresAt;
+    private List<ReservationLineDto> items;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
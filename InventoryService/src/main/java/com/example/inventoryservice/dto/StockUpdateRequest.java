@@ -16,5 +16,11 @@ public class StockUpdateRequest {
     private Integer quantity;
     
     private String reason;
+    
+    // Where restocked units land; defaults to the item's best-stocked location
+    private String warehouseId;
+    
+    // Caller's key for this change; an add repeated with the same reference is applied once
+    private String reference;
 }
 
@@ -0,0 +1,21 @@
+package com.example.inventoryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarehouseDto {
+    
+    private String id;
+    private String name;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime createdAt;
+}
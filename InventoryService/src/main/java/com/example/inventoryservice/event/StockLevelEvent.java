@@ -0,0 +1,39 @@
+package com.example.inventoryservice.event;
+
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.StockLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelEvent {
+
+    private String itemId;
+    private String name;
+    private String category;
+    private StockLevel previousLevel;
+    private StockLevel level;
+    private Integer quantity;
+    private Integer minimumStockLevel;
+    private LocalDateTime occurredAt;
+
+    public static StockLevelEvent from(InventoryItem item, StockLevel previousLevel) {
+        return StockLevelEvent.builder()
+                .itemId(item.getId())
+                .name(item.getName())
+                .category(item.getCategory())
+                .previousLevel(previousLevel)
+                .level(StockLevel.of(item))
+                .quantity(item.getQuantity())
+                .minimumStockLevel(item.getMinimumStockLevel())
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.inventoryservice.event;
+
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.StockLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes an event whenever an item moves between in-stock, low-stock and out-of-stock, so
+ * consumers can react to threshold crossings instead of polling the low-stock scan.
+ *
+ * Events are keyed by item ID, keeping each item's transitions ordered within a partition,
+ * and are only sent once the surrounding transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockLevelEventPublisher {
+
+    private final KafkaTemplate<String, StockLevelEvent> kafkaTemplate;
+
+    @Value("${app.kafka.stock-level-events-topic:inventory-stock-level-events}")
+    private String stockLevelEventsTopic;
+
+    public void publishIfChanged(StockLevel previousLevel, InventoryItem item) {
+        if (StockLevel.of(item) == previousLevel) {
+            return;
+        }
+
+        StockLevelEvent event = StockLevelEvent.from(item, previousLevel);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(StockLevelEvent event) {
+        try {
+            kafkaTemplate.send(stockLevelEventsTopic, event.getItemId(), event);
+            log.info("Published stock-level event for itemId={}: {} -> {}",
+                    event.getItemId(), event.getPreviousLevel(), event.getLevel());
+        } catch (Exception ex) {
+            log.error("Failed to publish stock-level event for itemId={}", event.getItemId(), ex);
+        }
+    }
+}
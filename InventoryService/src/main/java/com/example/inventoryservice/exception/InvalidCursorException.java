@@ -0,0 +1,8 @@
+package com.example.inventoryservice.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    
+    public InvalidCursorException(String cursor) {
+        super(String.format("Invalid page cursor: '%s'", cursor));
+    }
+}
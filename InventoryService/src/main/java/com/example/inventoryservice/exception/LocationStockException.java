@@ -0,0 +1,8 @@
+package com.example.inventoryservice.exception;
+
+public class LocationStockException extends RuntimeException {
+    
+    public LocationStockException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.inventoryservice.exception;
+
+import com.example.inventoryservice.model.ReservationStatus;
+
+public class ReservationStateException extends RuntimeException {
+    
+    public ReservationStateException(String message) {
+        super(message);
+    }
+    
+    public ReservationStateException(String reservationId, ReservationStatus status, String action) {
+        super(String.format("Cannot %s reservation %s in status %s", action, reservationId, status));
+    }
+}
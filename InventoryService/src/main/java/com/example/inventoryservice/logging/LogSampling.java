@@ -0,0 +1,16 @@
+package com.example.inventoryservice.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+public final class LogSampling {
+
+    /**
+     * Marks per-request log lines on hot endpoints; {@link SamplingTurboFilter} keeps only one
+     * in {@code inventory.logging.sample-every} of them.
+     */
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogSampling() {
+    }
+}
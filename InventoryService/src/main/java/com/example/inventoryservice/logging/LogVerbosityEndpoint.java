@@ -0,0 +1,61 @@
+package com.example.inventoryservice.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * {@code /actuator/logverbosity}: POST a {@code sku} or {@code traceId} to log everything about
+ * it regardless of level and sampling, DELETE to drop it again (or everything when no
+ * argument is given).
+ */
+@Component
+@Endpoint(id = "logverbosity")
+@RequiredArgsConstructor
+public class LogVerbosityEndpoint {
+
+    private final SamplingTurboFilter samplingTurboFilter;
+
+    @ReadOperation
+    public Map<String, Object> verbosity() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("sampleEvery", samplingTurboFilter.getSampleEvery());
+        state.put("skus", new TreeSet<>(samplingTurboFilter.getFocusedSkus()));
+        state.put("traceIds", new TreeSet<>(samplingTurboFilter.getFocusedTraceIds()));
+        return state;
+    }
+
+    @WriteOperation
+    public Map<String, Object> raise(@Nullable String sku, @Nullable String traceId) {
+        if (sku != null) {
+            samplingTurboFilter.getFocusedSkus().add(sku);
+        }
+        if (traceId != null) {
+            samplingTurboFilter.getFocusedTraceIds().add(traceId);
+        }
+        return verbosity();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> reset(@Nullable String sku, @Nullable String traceId) {
+        if (sku == null && traceId == null) {
+            samplingTurboFilter.getFocusedSkus().clear();
+            samplingTurboFilter.getFocusedTraceIds().clear();
+        }
+        if (sku != null) {
+            samplingTurboFilter.getFocusedSkus().remove(sku);
+        }
+        if (traceId != null) {
+            samplingTurboFilter.getFocusedTraceIds().remove(traceId);
+        }
+        return verbosity();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.inventoryservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides before any message formatting whether an event is logged.
+ *
+ * Events marked {@link LogSampling#SAMPLED} are thinned to one in {@code sampleEvery}. Events
+ * that mention a focused SKU as a parameter, or that run under a focused trace ID, are always
+ * logged at any level, which lets an operator debug one item or request without raising the
+ * level for everyone.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final Set<String> focusedSkus = ConcurrentHashMap.newKeySet();
+    private final Set<String> focusedTraceIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sampled = new AtomicLong();
+    private final int sampleEvery;
+
+    public SamplingTurboFilter(int sampleEvery) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        if ((!focusedSkus.isEmpty() || !focusedTraceIds.isEmpty()) && isFocused(params)) {
+            return FilterReply.ACCEPT;
+        }
+
+        if (sampleEvery > 1 && marker != null && marker.contains(LogSampling.SAMPLED)
+                && level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return sampled.getAndIncrement() % sampleEvery == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+        }
+
+        return FilterReply.NEUTRAL;
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (getContext() instanceof LoggerContext loggerContext) {
+            loggerContext.getTurboFilterList().remove(this);
+        }
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    public Set<String> getFocusedSkus() {
+        return focusedSkus;
+    }
+
+    public Set<String> getFocusedTraceIds() {
+        return focusedTraceIds;
+    }
+
+    private boolean isFocused(Object[] params) {
+        String traceId = MDC.get("traceId");
+        if (traceId != null && focusedTraceIds.contains(traceId)) {
+            return true;
+        }
+        if (params != null) {
+            for (Object param : params) {
+                if (param instanceof String value && focusedSkus.contains(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -16,7 +16,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "inventory_items")
+@Table(name = "inventory_items", indexes = {
+        @Index(name = "idx_inventory_items_updated_at_id", columnList = "updated_at, id")
+})
 public class InventoryItem {
 
     @Id
@@ -42,6 +44,10 @@ public class InventoryItem {
     @Column(name = "minimum_stock_level")
     private Integer minimumStockLevel;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,26 @@
+package com.example.inventoryservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class ReservationLine {
+
+    @Column(name = "product_id", nullable = false, length = 36)
+    private String productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    // Null when the product is not stocked per location
+    @Column(name = "warehouse_id", length = 36)
+    private String warehouseId;
+}
@@ -0,0 +1,10 @@
+package com.example.inventoryservice.model;
+
+public enum ReservationStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED,
+    // A confirmed reservation whose stock was given back, e.g. after the order was cancelled
+    RETURNED
+}
@@ -0,0 +1,24 @@
+package com.example.inventoryservice.model;
+
+public enum StockLevel {
+    IN_STOCK,
+    LOW_STOCK,
+    OUT_OF_STOCK;
+
+    /**
+     * Same thresholds as {@link InventoryItem#isOutOfStock()} and {@link InventoryItem#isLowStock()}.
+     */
+    public static StockLevel of(Integer quantity, Integer minimumStockLevel) {
+        if (quantity == null || quantity <= 0) {
+            return OUT_OF_STOCK;
+        }
+        if (minimumStockLevel != null && quantity <= minimumStockLevel) {
+            return LOW_STOCK;
+        }
+        return IN_STOCK;
+    }
+
+    public static StockLevel of(InventoryItem item) {
+        return of(item.getQuantity(), item.getMinimumStockLevel());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.inventoryservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One signed change to an item's stock. Rows are only ever inserted; compaction flips
+ * {@code compacted} once the delta has been folded into the item's {@link StockSnapshot}.
+ *
+ * {@code reference} is a free-form label and repeats; {@code idempotencyKey} is only set for
+ * changes that must land once per item, and the database rejects a second row with it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stock_movements", indexes = {
+        @Index(name = "idx_stock_movements_item_created", columnList = "item_id, created_at"),
+        @Index(name = "idx_stock_movements_compacted_created", columnList = "compacted, created_at"),
+        @Index(name = "uk_stock_movements_item_idempotency_key", columnList = "item_id, idempotency_key", unique = true)
+})
+public class StockMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "item_id", nullable = false, length = 36)
+    private String itemId;
+
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private StockMovementType type;
+
+    private String reference;
+
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    private boolean compacted;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
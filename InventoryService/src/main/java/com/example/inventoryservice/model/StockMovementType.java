@@ -0,0 +1,11 @@
+package com.example.inventoryservice.model;
+
+public enum StockMovementType {
+    CREATED,
+    ADJUSTMENT,
+    RESTOCK,
+    SALE,
+    RESERVED,
+    RESERVATION_RETURNED,
+    IMPORT
+}
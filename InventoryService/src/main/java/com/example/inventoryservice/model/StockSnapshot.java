@@ -0,0 +1,37 @@
+package com.example.inventoryservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An item's quantity as of its last compacted movement. Replaying the uncompacted movements
+ * on top of it gives the current quantity.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "stock_snapshots")
+public class StockSnapshot {
+
+    @Id
+    @Column(name = "item_id", length = 36)
+    private String itemId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "last_movement_at", nullable = false)
+    private LocalDateTime lastMovementAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.example.inventoryservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units of one item held at one warehouse. Once an item has any of these rows,
+ * {@link InventoryItem#getQuantity()} is kept equal to their sum.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "warehouse_stock",
+        uniqueConstraints = @UniqueConstraint(name = "uk_warehouse_stock_item_warehouse",
+                columnNames = {"item_id", "warehouse_id"}))
+public class WarehouseStock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "item_id", nullable = false, length = 36)
+    private String itemId;
+
+    @Column(name = "warehouse_id", nullable = false, length = 36)
+    private String warehouseId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
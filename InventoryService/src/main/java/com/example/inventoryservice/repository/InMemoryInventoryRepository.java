@@ -5,63 +5,122 @@ import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListSet;
 
+/**
+ * In-memory store with secondary indexes on case-folded category and on low/out-of-stock
+ * membership, so those queries cost O(result) instead of a scan of the whole catalog.
+ *
+ * Indexes reflect each item as of its last {@link #save}; mutating a stored item without
+ * saving it again leaves them stale. Writes are serialized to keep the indexes consistent
+ * with storage, while reads stay lock-free.
+ */
 @Repository
 public class InMemoryInventoryRepository implements InventoryRepository {
-    
+
     private final Map<String, InventoryItem> storage = new ConcurrentHashMap<>();
-    
+    private final Map<String, Set<String>> categoryIndex = new ConcurrentHashMap<>();
+    // The same instance may be mutated and saved again, so remember what it was indexed under
+    private final Map<String, String> indexedCategories = new ConcurrentHashMap<>();
+    private final NavigableSet<String> lowStockIds = new ConcurrentSkipListSet<>();
+    private final NavigableSet<String> outOfStockIds = new ConcurrentSkipListSet<>();
+
     @Override
-    public InventoryItem save(InventoryItem item) {
+    public synchronized InventoryItem save(InventoryItem item) {
         storage.put(item.getId(), item);
+        unindex(item.getId());
+        index(item);
         return item;
     }
-    
+
     @Override
     public Optional<InventoryItem> findById(String id) {
         return Optional.ofNullable(storage.get(id));
     }
-    
+
     @Override
     public List<InventoryItem> findAll() {
         return new ArrayList<>(storage.values());
     }
-    
+
     @Override
     public List<InventoryItem> findByCategory(String category) {
-        return storage.values().stream()
-                .filter(item -> category.equalsIgnoreCase(item.getCategory()))
-                .collect(Collectors.toList());
+        // Items without a category are never indexed, so nothing matches null
+        if (category == null) {
+            return List.of();
+        }
+        Set<String> ids = categoryIndex.get(foldCategory(category));
+        return ids != null ? resolve(ids) : new ArrayList<>();
     }
-    
+
     @Override
     public List<InventoryItem> findLowStockItems() {
-        return storage.values().stream()
-                .filter(InventoryItem::isLowStock)
-                .collect(Collectors.toList());
+        return resolve(lowStockIds);
     }
-    
+
     @Override
     public List<InventoryItem> findOutOfStockItems() {
-        return storage.values().stream()
-                .filter(InventoryItem::isOutOfStock)
-                .collect(Collectors.toList());
+        return resolve(outOfStockIds);
     }
-    
+
     @Override
     public boolean existsById(String id) {
         return storage.containsKey(id);
     }
-    
+
     @Override
-    public void deleteById(String id) {
-        storage.remove(id);
+    public synchronized void deleteById(String id) {
+        if (storage.remove(id) != null) {
+            unindex(id);
+        }
     }
-    
+
     @Override
     public long count() {
         return storage.size();
     }
-}
 
+    private void index(InventoryItem item) {
+        if (item.getCategory() != null) {
+            String key = foldCategory(item.getCategory());
+            categoryIndex.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(item.getId());
+            indexedCategories.put(item.getId(), key);
+        }
+        if (item.isLowStock()) {
+            lowStockIds.add(item.getId());
+        }
+        if (item.isOutOfStock()) {
+            outOfStockIds.add(item.getId());
+        }
+    }
+
+    private void unindex(String id) {
+        String key = indexedCategories.remove(id);
+        if (key != null) {
+            Set<String> ids = categoryIndex.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    categoryIndex.remove(key);
+                }
+            }
+        }
+        lowStockIds.remove(id);
+        outOfStockIds.remove(id);
+    }
+
+    private List<InventoryItem> resolve(Collection<String> ids) {
+        List<InventoryItem> items = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            InventoryItem item = storage.get(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private static String foldCategory(String category) {
+        return category.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,11 +1,25 @@
 package com.example.inventoryservice.repository;
 
 import com.example.inventoryservice.model.InventoryItem;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface JpaInventoryRepository extends JpaRepository<InventoryItem, String> {
@@ -18,7 +32,79 @@ public interface JpaInventoryRepository extends JpaRepository<InventoryItem, Str
     @Query("SELECT i FROM InventoryItem i WHERE i.quantity <= 0")
     List<InventoryItem> findOutOfStockItems();
 
-    @Query("SELECT i FROM InventoryItem i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<InventoryItem> searchByNameOrDescription(String keyword);
-}
+    @Query("SELECT i FROM InventoryItem i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY i.name")
+    List<InventoryItem> searchByNameOrDescription(@Param("keyword") String keyword, Pageable pageable);
+
+    /**
+     * Ranked search over the MySQL FULLTEXT index on (name, description).
+     *
+     * @param query a boolean-mode query, e.g. {@code +wireless* +mouse*}
+     */
+    @Query(value = "SELECT * FROM inventory_items " +
+            "WHERE MATCH(name, description) AGAINST (:query IN BOOLEAN MODE) " +
+            "ORDER BY MATCH(name, description) AGAINST (:query IN BOOLEAN MODE) DESC " +
+            "LIMIT :limit", nativeQuery = true)
+    List<InventoryItem> fullTextSearch(@Param("query") String query, @Param("limit") int limit);
+
+    @Query("SELECT i FROM InventoryItem i ORDER BY i.updatedAt, i.id")
+    List<InventoryItem> findFirstPage(Pageable pageable);
+
+    /**
+     * Keyset page strictly after the ({@code updatedAt}, {@code id}) cursor, so deep pages
+     * cost the same as the first one.
+     */
+    @Query("SELECT i FROM InventoryItem i WHERE i.updatedAt > :updatedAt " +
+            "OR (i.updatedAt = :updatedAt AND i.id > :id) ORDER BY i.updatedAt, i.id")
+    List<InventoryItem> findPageAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                      @Param("id") String id,
+                                      Pageable pageable);
 
+    /**
+     * Streams the whole table with a bounded JDBC fetch size; must be consumed inside a
+     * transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT i FROM InventoryItem i ORDER BY i.id")
+    Stream<InventoryItem> streamAll();
+
+    /**
+     * Atomically decrements stock in a single guarded UPDATE. The version is bumped too, so a
+     * concurrent read-modify-write of the same item fails its optimistic check.
+     *
+     * @return the number of rows updated; 0 when the item does not exist or has
+     *         fewer than {@code quantity} units left
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity - :quantity, i.version = i.version + 1, " +
+            "i.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE i.id = :id AND i.quantity >= :quantity")
+    int decrementStockIfAvailable(@Param("id") String id, @Param("quantity") int quantity);
+
+    /**
+     * Like {@link #decrementStockIfAvailable}, but only applies when the item is still above its
+     * minimum stock level afterwards, i.e. the decrement cannot change its {@code StockLevel}.
+     *
+     * @return the number of rows updated; 0 when the item does not exist or the decrement would
+     *         take it to or below its minimum stock level
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity - :quantity, i.version = i.version + 1, " +
+            "i.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE i.id = :id AND i.quantity >= :quantity " +
+            "AND i.quantity - :quantity > COALESCE(i.minimumStockLevel, 0)")
+    int decrementStockIfStaysInStock(@Param("id") String id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity + :quantity, i.version = i.version + 1, " +
+            "i.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE i.id = :id")
+    int incrementStock(@Param("id") String id, @Param("quantity") int quantity);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM InventoryItem i WHERE i.id = :id")
+    Optional<InventoryItem> findByIdForUpdate(@Param("id") String id);
+}
@@ -0,0 +1,36 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.StockMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, String> {
+
+    @Query("SELECT m FROM StockMovement m WHERE m.itemId = :itemId ORDER BY m.createdAt DESC, m.id DESC")
+    List<StockMovement> findRecentByItemId(@Param("itemId") String itemId, Pageable pageable);
+
+    @Query("SELECT m FROM StockMovement m WHERE m.compacted = false AND m.createdAt < :cutoff ORDER BY m.createdAt")
+    List<StockMovement> findUncompactedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    boolean existsByItemIdAndIdempotencyKey(String itemId, String idempotencyKey);
+
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM StockMovement m WHERE m.itemId = :itemId AND m.compacted = false")
+    long sumUncompactedDeltas(@Param("itemId") String itemId);
+
+    /**
+     * @return the number of rows flagged; fewer than {@code ids.size()} means another
+     *         compactor got to some of them first
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StockMovement m SET m.compacted = true WHERE m.id IN :ids AND m.compacted = false")
+    int markCompacted(@Param("ids") Collection<String> ids);
+}
@@ -0,0 +1,38 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.ReservationStatus;
+import com.example.inventoryservice.model.StockReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    Optional<StockReservation> findByOrderId(String orderId);
+
+    @Query("SELECT r.id FROM StockReservation r WHERE r.status = :status AND r.expiresAt < :now ORDER BY r.expiresAt")
+    List<String> findIdsByStatusAndExpiresAtBefore(@Param("status") ReservationStatus status,
+                                                   @Param("now") LocalDateTime now,
+                                                   Pageable pageable);
+
+    /**
+     * Moves a reservation between states only if it is still in {@code from}, so that
+     * a confirm racing the expiry sweeper can never both succeed.
+     *
+     * @return the number of rows updated; 0 when the reservation has already left {@code from}
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :to, r.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE r.id = :id AND r.status = :from")
+    int transitionStatus(@Param("id") String id,
+                         @Param("from") ReservationStatus from,
+                         @Param("to") ReservationStatus to);
+}
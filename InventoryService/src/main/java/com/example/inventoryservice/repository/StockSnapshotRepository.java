@@ -0,0 +1,9 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, String> {
+}
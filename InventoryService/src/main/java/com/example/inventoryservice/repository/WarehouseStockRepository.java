@@ -0,0 +1,45 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.WarehouseStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WarehouseStockRepository extends JpaRepository<WarehouseStock, String> {
+
+    List<WarehouseStock> findByItemId(String itemId);
+
+    boolean existsByItemId(String itemId);
+
+    Optional<WarehouseStock> findByItemIdAndWarehouseId(String itemId, String warehouseId);
+
+    /**
+     * Same guarded decrement as {@link JpaInventoryRepository#decrementStockIfAvailable}, for
+     * one location.
+     *
+     * @return 0 when the location holds fewer than {@code quantity} units
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WarehouseStock s SET s.quantity = s.quantity - :quantity, s.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE s.itemId = :itemId AND s.warehouseId = :warehouseId AND s.quantity >= :quantity")
+    int decrementStockIfAvailable(@Param("itemId") String itemId,
+                                  @Param("warehouseId") String warehouseId,
+                                  @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM WarehouseStock s WHERE s.itemId = :itemId")
+    int deleteByItemId(@Param("itemId") String itemId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE WarehouseStock s SET s.quantity = s.quantity + :quantity, s.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE s.itemId = :itemId AND s.warehouseId = :warehouseId")
+    int incrementStock(@Param("itemId") String itemId,
+                       @Param("warehouseId") String warehouseId,
+                       @Param("quantity") int quantity);
+}
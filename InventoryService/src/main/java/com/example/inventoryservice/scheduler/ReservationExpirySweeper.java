@@ -0,0 +1,39 @@
+package com.example.inventoryservice.scheduler;
+
+import com.example.inventoryservice.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Returns stock held by expired reservations, one batch per transaction, so that
+ * holds abandoned by a crashed caller do not leak inventory.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class ReservationExpirySweeper {
+
+    private final ReservationService reservationService;
+
+    @Value("${inventory.reservation.sweeper.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweeper.interval-ms:30000}")
+    public void sweepExpiredReservations() {
+        int total = 0;
+        int expired;
+        do {
+            expired = reservationService.expireReservations(batchSize);
+            total += expired;
+        } while (expired == batchSize);
+
+        if (total > 0) {
+            log.info("Reservation sweep returned stock for {} expired reservations", total);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.inventoryservice.scheduler;
+
+import com.example.inventoryservice.service.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Folds settled stock movements into per-item snapshots, one batch per transaction, so
+ * replaying an item's history never has to start from its first movement.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.ledger.compactor.enabled", havingValue = "true", matchIfMissing = true)
+public class StockLedgerCompactor {
+
+    private final StockLedgerService stockLedgerService;
+
+    @Value("${inventory.ledger.compactor.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.compactor.interval-ms:60000}")
+    public void compactLedger() {
+        int total = 0;
+        int compacted;
+        do {
+            compacted = stockLedgerService.compact(batchSize);
+            total += compacted;
+        } while (compacted == batchSize);
+
+        if (total > 0) {
+            log.info("Ledger compaction folded {} stock movements", total);
+        }
+    }
+}
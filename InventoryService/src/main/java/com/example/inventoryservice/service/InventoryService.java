@@ -1,11 +1,15 @@
 package com.example.inventoryservice.service;
 
+import com.example.inventoryservice.dto.AvailabilityCheckItem;
 import com.example.inventoryservice.dto.CreateInventoryItemRequest;
+import com.example.inventoryservice.dto.CursorPage;
 import com.example.inventoryservice.dto.InventoryItemDto;
 import com.example.inventoryservice.dto.StockUpdateRequest;
 import com.example.inventoryservice.dto.UpdateInventoryItemRequest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface InventoryService {
     
@@ -15,6 +19,10 @@ public interface InventoryService {
     
     List<InventoryItemDto> getAllItems();
     
+    CursorPage<InventoryItemDto> getItemsPage(String cursor, int size);
+    
+    void exportItems(Consumer<InventoryItemDto> consumer);
+    
     List<InventoryItemDto> getItemsByCategory(String category);
     
     List<InventoryItemDto> getLowStockItems();
@@ -31,8 +39,12 @@ public interface InventoryService {
     
     boolean checkAvailability(String id, int quantity);
 
+    Map<String, Boolean> checkAvailability(List<AvailabilityCheckItem> items);
+
     long getTotalItemCount();
 
     List<InventoryItemDto> searchItems(String keyword);
+
+    List<InventoryItemDto> searchItems(String keyword, int limit);
 }
 
@@ -1,20 +1,44 @@
 package com.example.inventoryservice.service;
 
+import com.example.inventoryservice.cache.InventoryStockCache;
+import com.example.inventoryservice.dto.AvailabilityCheckItem;
 import com.example.inventoryservice.dto.CreateInventoryItemRequest;
+import com.example.inventoryservice.dto.CursorPage;
 import com.example.inventoryservice.dto.InventoryItemDto;
 import com.example.inventoryservice.dto.StockUpdateRequest;
 import com.example.inventoryservice.dto.UpdateInventoryItemRequest;
+import com.example.inventoryservice.event.StockLevelEventPublisher;
 import com.example.inventoryservice.exception.InsufficientStockException;
+import com.example.inventoryservice.exception.InvalidCursorException;
 import com.example.inventoryservice.exception.ResourceNotFoundException;
+import com.example.inventoryservice.logging.LogSampling;
 import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.StockLevel;
+import com.example.inventoryservice.model.StockMovementType;
 import com.example.inventoryservice.repository.JpaInventoryRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -23,6 +47,22 @@ import java.util.stream.Collectors;
 public class InventoryServiceImpl implements InventoryService {
 
     private final JpaInventoryRepository jpaInventoryRepository;
+    private final InventoryStockCache inventoryStockCache;
+    private final StockLevelEventPublisher stockLevelEventPublisher;
+    private final OptimisticLockRetrier optimisticLockRetrier;
+    private final StockLedgerService stockLedgerService;
+    private final WarehouseService warehouseService;
+    private final EntityManager entityManager;
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    // Matches InnoDB's default innodb_ft_min_token_size; shorter terms are never indexed
+    private static final int MIN_FULLTEXT_TERM_LENGTH = 3;
+    private static final int MAX_FULLTEXT_TERMS = 10;
+
+    @Value("${inventory.search.fulltext-enabled:false}")
+    private boolean fullTextEnabled;
     
     @Override
     public InventoryItemDto createItem(CreateInventoryItemRequest request) {
@@ -38,6 +78,8 @@ public class InventoryServiceImpl implements InventoryService {
                 .build();
 
         InventoryItem savedItem = jpaInventoryRepository.save(item);
+        inventoryStockCache.invalidate(savedItem.getId());
+        stockLedgerService.record(savedItem.getId(), savedItem.getQuantity(), StockMovementType.CREATED, null);
         log.info("Created inventory item with ID: {}", savedItem.getId());
 
         return mapToDto(savedItem);
@@ -64,6 +106,51 @@ public class InventoryServiceImpl implements InventoryService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<InventoryItemDto> getItemsPage(String cursor, int size) {
+        log.info("Fetching inventory page after cursor: {}, size: {}", cursor, size);
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // One extra row tells us whether another page exists without a COUNT query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<InventoryItem> items;
+        if (cursor == null || cursor.isEmpty()) {
+            items = jpaInventoryRepository.findFirstPage(limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            items = jpaInventoryRepository.findPageAfter(LocalDateTime.parse(position[0]), position[1], limit);
+        }
+
+        boolean hasNext = items.size() > pageSize;
+        if (hasNext) {
+            items = items.subList(0, pageSize);
+        }
+
+        String nextCursor = hasNext ? encodeCursor(items.get(items.size() - 1)) : null;
+
+        return CursorPage.<InventoryItemDto>builder()
+                .items(items.stream().map(this::mapToDto).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportItems(Consumer<InventoryItemDto> consumer) {
+        log.info("Exporting all inventory items");
+
+        try (Stream<InventoryItem> items = jpaInventoryRepository.streamAll()) {
+            items.forEach(item -> {
+                consumer.accept(mapToDto(item));
+                // Keep the persistence context from growing with the table
+                entityManager.detach(item);
+            });
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<InventoryItemDto> getItemsByCategory(String category) {
@@ -95,11 +182,18 @@ public class InventoryServiceImpl implements InventoryService {
     }
     
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public InventoryItemDto updateItem(String id, UpdateInventoryItemRequest request) {
         log.info("Updating inventory item with ID: {}", id);
 
+        return optimisticLockRetrier.execute(id, () -> applyUpdate(id, request));
+    }
+
+    private InventoryItemDto applyUpdate(String id, UpdateInventoryItemRequest request) {
         InventoryItem item = jpaInventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
+        StockLevel previousLevel = StockLevel.of(item);
+        int previousQuantity = item.getQuantity();
 
         if (request.getName() != null) {
             item.setName(request.getName());
@@ -121,6 +215,10 @@ public class InventoryServiceImpl implements InventoryService {
         }
 
         InventoryItem updatedItem = jpaInventoryRepository.save(item);
+        inventoryStockCache.invalidate(id);
+        warehouseService.applyDelta(id, updatedItem.getQuantity() - previousQuantity);
+        stockLedgerService.record(id, updatedItem.getQuantity() - previousQuantity, StockMovementType.ADJUSTMENT, null);
+        stockLevelEventPublisher.publishIfChanged(previousLevel, updatedItem);
         log.info("Updated inventory item with ID: {}", id);
 
         return mapToDto(updatedItem);
@@ -134,21 +232,45 @@ public class InventoryServiceImpl implements InventoryService {
             throw new ResourceNotFoundException("InventoryItem", "id", id);
         }
 
+        warehouseService.removeItem(id);
         jpaInventoryRepository.deleteById(id);
+        inventoryStockCache.invalidate(id);
         log.info("Deleted inventory item with ID: {}", id);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public InventoryItemDto addStock(String id, StockUpdateRequest request) {
-        log.info("Adding stock for item ID: {}, quantity: {}", id, request.getQuantity());
+        log.info(LogSampling.SAMPLED, "Adding stock for item ID: {}, quantity: {}", id, request.getQuantity());
 
-        InventoryItem item = jpaInventoryRepository.findById(id)
+        return optimisticLockRetrier.execute(id, () -> applyAddStock(id, request));
+    }
+
+    private InventoryItemDto applyAddStock(String id, StockUpdateRequest request) {
+        String reference = request.getReference();
+        // A referenced add locks the item so the ledger check below cannot race a retry of the same add
+        InventoryItem item = (reference != null
+                ? jpaInventoryRepository.findByIdForUpdate(id)
+                : jpaInventoryRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
+        if (reference != null && stockLedgerService.isRecorded(id, reference)) {
+            log.info("Stock for reference {} was already added to item ID: {}", reference, id);
+            return mapToDto(item);
+        }
+        StockLevel previousLevel = StockLevel.of(item);
 
         item.setQuantity(item.getQuantity() + request.getQuantity());
 
         InventoryItem updatedItem = jpaInventoryRepository.save(item);
-        log.info("Added {} units to item ID: {}. New quantity: {}",
+        inventoryStockCache.invalidate(id);
+        warehouseService.putStock(id, request.getWarehouseId(), request.getQuantity());
+        if (reference != null) {
+            stockLedgerService.recordOnce(id, request.getQuantity(), StockMovementType.RESTOCK, reference);
+        } else {
+            stockLedgerService.record(id, request.getQuantity(), StockMovementType.RESTOCK, null);
+        }
+        stockLevelEventPublisher.publishIfChanged(previousLevel, updatedItem);
+        log.info(LogSampling.SAMPLED, "Added {} units to item ID: {}. New quantity: {}",
                 request.getQuantity(), id, updatedItem.getQuantity());
 
         return mapToDto(updatedItem);
@@ -156,19 +278,27 @@ public class InventoryServiceImpl implements InventoryService {
 
     @Override
     public InventoryItemDto reduceStock(String id, StockUpdateRequest request) {
-        log.info("Reducing stock for item ID: {}, quantity: {}", id, request.getQuantity());
+        log.info(LogSampling.SAMPLED, "Reducing stock for item ID: {}, quantity: {}", id, request.getQuantity());
 
-        InventoryItem item = jpaInventoryRepository.findById(id)
+        // Check and decrement in one statement so concurrent orders cannot oversell
+        int updated = jpaInventoryRepository.decrementStockIfAvailable(id, request.getQuantity());
+        inventoryStockCache.invalidate(id);
+
+        InventoryItem updatedItem = jpaInventoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
 
-        if (item.getQuantity() < request.getQuantity()) {
-            throw new InsufficientStockException(id, request.getQuantity(), item.getQuantity());
+        if (updated == 0) {
+            throw new InsufficientStockException(id, request.getQuantity(), updatedItem.getQuantity());
         }
 
-        item.setQuantity(item.getQuantity() - request.getQuantity());
+        warehouseService.takeStock(id, request.getQuantity(), null, null);
 
-        InventoryItem updatedItem = jpaInventoryRepository.save(item);
-        log.info("Reduced {} units from item ID: {}. New quantity: {}",
+        stockLedgerService.record(id, -request.getQuantity(), StockMovementType.SALE, null);
+        stockLevelEventPublisher.publishIfChanged(
+                StockLevel.of(updatedItem.getQuantity() + request.getQuantity(), updatedItem.getMinimumStockLevel()),
+                updatedItem);
+
+        log.info(LogSampling.SAMPLED, "Reduced {} units from item ID: {}. New quantity: {}",
                 request.getQuantity(), id, updatedItem.getQuantity());
 
         return mapToDto(updatedItem);
@@ -177,12 +307,57 @@ public class InventoryServiceImpl implements InventoryService {
     @Override
     @Transactional(readOnly = true)
     public boolean checkAvailability(String id, int quantity) {
-        log.info("Checking availability for item ID: {}, quantity: {}", id, quantity);
+        log.info(LogSampling.SAMPLED, "Checking availability for item ID: {}, quantity: {}", id, quantity);
+
+        long generation = inventoryStockCache.generation();
+        Integer available = inventoryStockCache.getQuantity(id);
+        if (available == null) {
+            InventoryItem item = jpaInventoryRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
+            available = item.getQuantity();
+            inventoryStockCache.put(id, available, generation);
+        }
 
-        InventoryItem item = jpaInventoryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", id));
+        return available >= quantity;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Boolean> checkAvailability(List<AvailabilityCheckItem> items) {
+        log.info(LogSampling.SAMPLED, "Checking availability for {} items", items.size());
+
+        // Duplicate lines for the same product are checked against their combined quantity
+        Map<String, Integer> requested = new LinkedHashMap<>();
+        for (AvailabilityCheckItem item : items) {
+            requested.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
 
-        return item.getQuantity() >= quantity;
+        // Only the products missing from the cache are fetched, still in a single query
+        long generation = inventoryStockCache.generation();
+        Map<String, Integer> stock = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String id : requested.keySet()) {
+            Integer cached = inventoryStockCache.getQuantity(id);
+            if (cached != null) {
+                stock.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (InventoryItem item : jpaInventoryRepository.findAllById(misses)) {
+                stock.put(item.getId(), item.getQuantity());
+                inventoryStockCache.put(item.getId(), item.getQuantity(), generation);
+            }
+        }
+
+        Map<String, Boolean> availability = new LinkedHashMap<>();
+        requested.forEach((id, quantity) -> {
+            Integer available = stock.get(id);
+            availability.put(id, available != null && available >= quantity);
+        });
+
+        return availability;
     }
 
     @Override
@@ -194,13 +369,63 @@ public class InventoryServiceImpl implements InventoryService {
     @Override
     @Transactional(readOnly = true)
     public List<InventoryItemDto> searchItems(String keyword) {
-        log.info("Searching inventory items with keyword: {}", keyword);
+        return searchItems(keyword, DEFAULT_SEARCH_LIMIT);
+    }
 
-        return jpaInventoryRepository.searchByNameOrDescription(keyword).stream()
+    @Override
+    @Transactional(readOnly = true)
+    public List<InventoryItemDto> searchItems(String keyword, int limit) {
+        log.info("Searching inventory items with keyword: {}, limit: {}", keyword, limit);
+
+        int maxResults = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        String fullTextQuery = fullTextEnabled ? toFullTextQuery(keyword) : null;
+
+        List<InventoryItem> items = fullTextQuery != null
+                ? jpaInventoryRepository.fullTextSearch(fullTextQuery, maxResults)
+                : jpaInventoryRepository.searchByNameOrDescription(keyword, PageRequest.of(0, maxResults));
+
+        return items.stream()
                 .map(this::mapToDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Turns free text into a boolean-mode query requiring every indexable term as a prefix,
+     * or returns {@code null} when no term is long enough for the FULLTEXT index.
+     */
+    static String toFullTextQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+
+        String query = Arrays.stream(keyword.split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> term.length() >= MIN_FULLTEXT_TERM_LENGTH)
+                .limit(MAX_FULLTEXT_TERMS)
+                .map(term -> "+" + term.toLowerCase(Locale.ROOT) + "*")
+                .collect(Collectors.joining(" "));
+
+        return query.isEmpty() ? null : query;
+    }
+
+    private String encodeCursor(InventoryItem item) {
+        String position = item.getUpdatedAt() + "|" + item.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new InvalidCursorException(cursor);
+            }
+            LocalDateTime.parse(parts[0]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
     private InventoryItemDto mapToDto(InventoryItem item) {
         return InventoryItemDto.builder()
                 .id(item.getId())
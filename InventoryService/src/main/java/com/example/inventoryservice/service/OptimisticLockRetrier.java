@@ -0,0 +1,91 @@
+package com.example.inventoryservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write of one item in its own transaction and retries it, with full-jitter
+ * exponential backoff, when the commit loses an optimistic-lock race.
+ *
+ * Conflicts are counted under {@code inventory.stock.optimistic.conflicts}, tagged by whether
+ * the write was retried or given up on; the SKU only goes in the log line, since a tag per
+ * SKU would register a meter for every item ever contended. When the
+ * caller already has a transaction open the work joins it and runs once, since only the
+ * caller can safely restart it.
+ */
+@Slf4j
+@Component
+public class OptimisticLockRetrier {
+
+    private final TransactionTemplate transactionTemplate;
+    private final Counter retried;
+    private final Counter exhausted;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticLockRetrier(PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${inventory.optimistic-retry.max-attempts:5}") int maxAttempts,
+                                 @Value("${inventory.optimistic-retry.initial-backoff-ms:5}") long initialBackoffMillis,
+                                 @Value("${inventory.optimistic-retry.max-backoff-ms:100}") long maxBackoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A fresh persistence context per attempt, so a retry never sees the stale entity
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retried = conflicts(meterRegistry, "retried");
+        this.exhausted = conflicts(meterRegistry, "exhausted");
+    }
+
+    public <T> T execute(String sku, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    log.warn("Giving up on item ID: {} after {} optimistic-lock conflicts", sku, attempt);
+                    throw e;
+                }
+                retried.increment();
+                log.debug("Optimistic-lock conflict on item ID: {}, attempt {} of {}", sku, attempt, maxAttempts);
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private static Counter conflicts(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("inventory.stock.optimistic.conflicts")
+                .description("Item writes that lost an optimistic-lock race, by whether they were retried")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void backOff(int attempt, RuntimeException conflict) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
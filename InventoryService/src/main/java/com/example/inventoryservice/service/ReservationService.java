@@ -0,0 +1,19 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.ReserveStockRequest;
+import com.example.inventoryservice.dto.StockReservationDto;
+
+public interface ReservationService {
+    
+    StockReservationDto reserveStock(ReserveStockRequest request);
+    
+    StockReservationDto getReservation(String id);
+    
+    StockReservationDto confirmReservation(String id);
+    
+    StockReservationDto releaseReservation(String id);
+    
+    StockReservationDto returnReservation(String id);
+    
+    int expireReservations(int batchSize);
+}
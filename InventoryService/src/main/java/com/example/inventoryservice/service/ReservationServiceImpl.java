@@ -0,0 +1,283 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.cache.InventoryStockCache;
+import com.example.inventoryservice.dto.ReservationLineDto;
+import com.example.inventoryservice.dto.StockAllocation;
+import com.example.inventoryservice.dto.ReserveStockRequest;
+import com.example.inventoryservice.dto.StockReservationDto;
+import com.example.inventoryservice.event.StockLevelEventPublisher;
+import com.example.inventoryservice.exception.InsufficientStockException;
+import com.example.inventoryservice.exception.ReservationStateException;
+import com.example.inventoryservice.exception.ResourceNotFoundException;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.ReservationLine;
+import com.example.inventoryservice.model.ReservationStatus;
+import com.example.inventoryservice.model.StockLevel;
+import com.example.inventoryservice.model.StockMovementType;
+import com.example.inventoryservice.model.StockReservation;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ReservationServiceImpl implements ReservationService {
+
+    private final JpaInventoryRepository jpaInventoryRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final InventoryStockCache inventoryStockCache;
+    private final StockLevelEventPublisher stockLevelEventPublisher;
+    private final StockLedgerService stockLedgerService;
+    private final WarehouseService warehouseService;
+
+    @Value("${inventory.reservation.ttl-seconds:900}")
+    private long defaultTtlSeconds;
+
+    @Override
+    public StockReservationDto reserveStock(ReserveStockRequest request) {
+        log.info("Reserving stock for order: {}, lines: {}", request.getOrderId(), request.getItems().size());
+
+        // A retry whose first response was lost gets back the hold that attempt placed
+        if (request.getOrderId() != null) {
+            Optional<StockReservation> existing = stockReservationRepository.findByOrderId(request.getOrderId());
+            if (existing.isPresent()) {
+                return existingReservation(existing.get());
+            }
+        }
+
+        // Sorted by product ID so concurrent reservations lock rows in the same order
+        Map<String, Integer> requested = new TreeMap<>();
+        for (ReservationLineDto line : request.getItems()) {
+            requested.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+
+        // Any failure throws and rolls back the decrements already applied in this transaction
+        List<ReservationLine> lines = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : requested.entrySet()) {
+            String productId = entry.getKey();
+            int quantity = entry.getValue();
+
+            inventoryStockCache.invalidate(productId);
+            // Most reservations leave the item in stock, so there is no level change to read back and publish
+            if (jpaInventoryRepository.decrementStockIfStaysInStock(productId, quantity) == 0) {
+                takeStockCrossingLevel(productId, quantity);
+            }
+
+            // One line per warehouse the product ships from, so a release puts units back there
+            List<StockAllocation> allocations = warehouseService.takeStock(productId, quantity,
+                    request.getDestinationLatitude(), request.getDestinationLongitude());
+            if (allocations.isEmpty()) {
+                lines.add(ReservationLine.builder().productId(productId).quantity(quantity).build());
+            }
+            for (StockAllocation allocation : allocations) {
+                lines.add(ReservationLine.builder()
+                        .productId(productId)
+                        .quantity(allocation.getQuantity())
+                        .warehouseId(allocation.getWarehouseId())
+                        .build());
+            }
+        }
+
+        long ttlSeconds = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultTtlSeconds;
+
+        StockReservation reservation = StockReservation.builder()
+                .orderId(request.getOrderId())
+                .status(ReservationStatus.HELD)
+                .expiresAt(LocalDateTime.now().plusSeconds(ttlSeconds))
+                .lines(lines)
+                .build();
+
+        StockReservation savedReservation;
+        try {
+            // Flushed here so a concurrent reserve for the same order fails before anything else is recorded
+            savedReservation = stockReservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) {
+            throw new ReservationStateException("Order " + request.getOrderId() + " is already being reserved");
+        }
+        for (Map.Entry<String, Integer> entry : requested.entrySet()) {
+            stockLedgerService.record(entry.getKey(), -entry.getValue(), StockMovementType.RESERVED, savedReservation.getId());
+        }
+        log.info("Created stock reservation with ID: {}, expires at: {}",
+                savedReservation.getId(), savedReservation.getExpiresAt());
+
+        return mapToDto(savedReservation);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockReservationDto getReservation(String id) {
+        log.info("Fetching stock reservation with ID: {}", id);
+
+        return mapToDto(findReservation(id));
+    }
+
+    @Override
+    public StockReservationDto confirmReservation(String id) {
+        log.info("Confirming stock reservation with ID: {}", id);
+
+        StockReservation reservation = findReservation(id);
+
+        // A retried confirm whose first response was lost finds the hold already confirmed
+        if (reservation.getStatus() == ReservationStatus.CONFIRMED) {
+            return mapToDto(reservation);
+        }
+
+        if (reservation.isExpired(LocalDateTime.now())) {
+            throw new ReservationStateException("Reservation " + id + " has expired");
+        }
+
+        if (stockReservationRepository.transitionStatus(id, ReservationStatus.HELD, ReservationStatus.CONFIRMED) == 0) {
+            throw new ReservationStateException(id, reservation.getStatus(), "confirm");
+        }
+
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        log.info("Confirmed stock reservation with ID: {}", id);
+
+        return mapToDto(reservation);
+    }
+
+    @Override
+    public StockReservationDto releaseReservation(String id) {
+        log.info("Releasing stock reservation with ID: {}", id);
+
+        StockReservation reservation = findReservation(id);
+
+        // Releasing twice, or after the sweeper has expired the hold, is a no-op
+        if (reservation.getStatus() == ReservationStatus.RELEASED
+                || reservation.getStatus() == ReservationStatus.EXPIRED) {
+            return mapToDto(reservation);
+        }
+
+        if (!returnStock(reservation, ReservationStatus.HELD, ReservationStatus.RELEASED)) {
+            throw new ReservationStateException(id, reservation.getStatus(), "release");
+        }
+
+        reservation.setStatus(ReservationStatus.RELEASED);
+        log.info("Released stock reservation with ID: {}", id);
+
+        return mapToDto(reservation);
+    }
+
+    @Override
+    public StockReservationDto returnReservation(String id) {
+        log.info("Returning stock for confirmed reservation with ID: {}", id);
+
+        StockReservation reservation = findReservation(id);
+
+        // A retried return whose first response was lost finds the stock already back
+        if (reservation.getStatus() == ReservationStatus.RETURNED) {
+            return mapToDto(reservation);
+        }
+
+        if (!returnStock(reservation, ReservationStatus.CONFIRMED, ReservationStatus.RETURNED)) {
+            throw new ReservationStateException(id, reservation.getStatus(), "return");
+        }
+
+        reservation.setStatus(ReservationStatus.RETURNED);
+        log.info("Returned stock for reservation with ID: {}", id);
+
+        return mapToDto(reservation);
+    }
+
+    @Override
+    public int expireReservations(int batchSize) {
+        List<String> expiredIds = stockReservationRepository.findIdsByStatusAndExpiresAtBefore(
+                ReservationStatus.HELD, LocalDateTime.now(), PageRequest.of(0, batchSize));
+
+        int expired = 0;
+        for (String id : expiredIds) {
+            StockReservation reservation = stockReservationRepository.findById(id).orElse(null);
+            if (reservation != null && returnStock(reservation, ReservationStatus.HELD, ReservationStatus.EXPIRED)) {
+                expired++;
+            }
+        }
+
+        if (expired > 0) {
+            log.info("Expired {} stock reservations", expired);
+        }
+
+        return expired;
+    }
+
+    private StockReservationDto existingReservation(StockReservation reservation) {
+        if (reservation.getStatus() != ReservationStatus.HELD && reservation.getStatus() != ReservationStatus.CONFIRMED) {
+            throw new ReservationStateException(String.format("Order %s already has reservation %s in status %s",
+                    reservation.getOrderId(), reservation.getId(), reservation.getStatus()));
+        }
+        log.info("Order {} already holds stock reservation {}", reservation.getOrderId(), reservation.getId());
+        return mapToDto(reservation);
+    }
+
+    private void takeStockCrossingLevel(String productId, int quantity) {
+        int updated = jpaInventoryRepository.decrementStockIfAvailable(productId, quantity);
+        InventoryItem item = jpaInventoryRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", productId));
+        if (updated == 0) {
+            throw new InsufficientStockException(productId, quantity, item.getQuantity());
+        }
+        stockLevelEventPublisher.publishIfChanged(
+                StockLevel.of(item.getQuantity() + quantity, item.getMinimumStockLevel()), item);
+    }
+
+    /**
+     * Puts every line back in the warehouse it was taken from, once: only the caller that moves
+     * the reservation out of {@code from} returns the stock.
+     */
+    private boolean returnStock(StockReservation reservation, ReservationStatus from, ReservationStatus target) {
+        if (stockReservationRepository.transitionStatus(reservation.getId(), from, target) == 0) {
+            return false;
+        }
+
+        for (ReservationLine line : reservation.getLines()) {
+            jpaInventoryRepository.incrementStock(line.getProductId(), line.getQuantity());
+            warehouseService.putStock(line.getProductId(), line.getWarehouseId(), line.getQuantity());
+            inventoryStockCache.invalidate(line.getProductId());
+            stockLedgerService.record(line.getProductId(), line.getQuantity(),
+                    StockMovementType.RESERVATION_RETURNED, reservation.getId());
+            jpaInventoryRepository.findById(line.getProductId()).ifPresent(item ->
+                    stockLevelEventPublisher.publishIfChanged(
+                            StockLevel.of(item.getQuantity() - line.getQuantity(), item.getMinimumStockLevel()), item));
+        }
+
+        return true;
+    }
+
+    private StockReservation findReservation(String id) {
+        return stockReservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("StockReservation", "id", id));
+    }
+
+    private StockReservationDto mapToDto(StockReservation reservation) {
+        return StockReservationDto.builder()
+                .id(reservation.getId())
+                .orderId(reservation.getOrderId())
+                .status(reservation.getStatus())
+                .expiresAt(reservation.getExpiresAt())
+                .items(reservation.getLines().stream()
+                        .map(line -> ReservationLineDto.builder()
+                                .productId(line.getProductId())
+                                .quantity(line.getQuantity())
+                                .warehouseId(line.getWarehouseId())
+                                .build())
+                        .collect(Collectors.toList()))
+                .createdAt(reservation.getCreatedAt())
+                .updatedAt(reservation.getUpdatedAt())
+                .build();
+    }
+}
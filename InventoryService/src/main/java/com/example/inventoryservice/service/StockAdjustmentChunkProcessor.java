@@ -0,0 +1,118 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.cache.InventoryStockCache;
+import com.example.inventoryservice.dto.StockAdjustment;
+import com.example.inventoryservice.dto.StockAdjustmentFailure;
+import com.example.inventoryservice.event.StockLevelEventPublisher;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.StockLevel;
+import com.example.inventoryservice.model.StockMovementType;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies one chunk of an import in its own transaction: one guarded UPDATE per row, sent as a
+ * single JDBC batch, then a single {@code findAllById} to read back the rows it changed.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockAdjustmentChunkProcessor {
+
+    // Same guard as the sale and reservation decrements, so a concurrent sale is never overwritten
+    private static final String APPLY_DELTA_SQL = "UPDATE inventory_items "
+            + "SET quantity = quantity + ?, version = version + 1, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ? AND quantity + ? >= 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JpaInventoryRepository jpaInventoryRepository;
+    private final InventoryStockCache inventoryStockCache;
+    private final StockLevelEventPublisher stockLevelEventPublisher;
+    private final StockLedgerService stockLedgerService;
+    private final WarehouseService warehouseService;
+
+    /**
+     * @return the rows that could not be applied; every other row in the chunk is committed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<StockAdjustmentFailure> apply(List<StockAdjustment> chunk) {
+        int[] updated = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, chunk.stream()
+                .map(adjustment -> new Object[]{adjustment.getDelta(), adjustment.getProductId(), adjustment.getDelta()})
+                .collect(Collectors.toList()));
+        requireRowCounts(updated);
+
+        List<String> ids = chunk.stream()
+                .map(StockAdjustment::getProductId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        // Loaded after the batch, so these already hold the new quantities
+        Map<String, InventoryItem> items = jpaInventoryRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(InventoryItem::getId, Function.identity()));
+
+        List<StockAdjustmentFailure> failures = new ArrayList<>();
+        Map<String, Integer> netDeltas = new LinkedHashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            StockAdjustment adjustment = chunk.get(i);
+            InventoryItem item = items.get(adjustment.getProductId());
+            if (item == null) {
+                failures.add(failure(adjustment, "InventoryItem not found"));
+                continue;
+            }
+
+            if (updated[i] == 0) {
+                failures.add(failure(adjustment, String.format(
+                        "Adjustment of %d would leave negative stock (current: %d)",
+                        adjustment.getDelta(), item.getQuantity())));
+                continue;
+            }
+
+            netDeltas.merge(item.getId(), adjustment.getDelta(), Integer::sum);
+            stockLedgerService.record(item.getId(), adjustment.getDelta(), StockMovementType.IMPORT, adjustment.getReason());
+        }
+
+        netDeltas.forEach((id, netDelta) -> {
+            InventoryItem item = items.get(id);
+            inventoryStockCache.invalidate(id);
+            warehouseService.applyDelta(id, netDelta);
+            stockLevelEventPublisher.publishIfChanged(
+                    StockLevel.of(item.getQuantity() - netDelta, item.getMinimumStockLevel()), item);
+        });
+
+        return failures;
+    }
+
+    /**
+     * Rows are told apart by their update counts, so a driver that reports
+     * {@link Statement#SUCCESS_NO_INFO} for a rewritten batch must fail the chunk rather than
+     * report every row as applied.
+     */
+    private static void requireRowCounts(int[] updated) {
+        for (int count : updated) {
+            if (count < 0) {
+                throw new IllegalStateException(
+                        "JDBC driver returned no per-row update counts for the import batch (got " + count + ")");
+            }
+        }
+    }
+
+    private StockAdjustmentFailure failure(StockAdjustment adjustment, String message) {
+        return StockAdjustmentFailure.builder()
+                .lineNumber(adjustment.getLineNumber())
+                .productId(adjustment.getProductId())
+                .message(message)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.StockAdjustment;
+import com.example.inventoryservice.dto.StockAdjustmentFailure;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Reads stock adjustments one line at a time so an import never holds the whole file.
+ *
+ * CSV lines are {@code productId,delta[,reason]} with an optional header row; JSON lines are
+ * objects with {@code productId}, {@code delta} and an optional {@code reason}. Malformed lines
+ * are reported as failures and skipped.
+ */
+class StockAdjustmentReader {
+
+    enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final ObjectReader JSON_READER = new ObjectMapper().readerFor(JsonNode.class);
+
+    private StockAdjustmentReader() {
+    }
+
+    static void read(BufferedReader reader, Format format,
+                     Consumer<StockAdjustment> onAdjustment,
+                     Consumer<StockAdjustmentFailure> onFailure) throws IOException {
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && lineNumber == 1 && line.trim().toLowerCase(Locale.ROOT).startsWith("productid")) {
+                continue;
+            }
+
+            try {
+                StockAdjustment adjustment = format == Format.CSV
+                        ? parseCsv(line, lineNumber)
+                        : parseJson(line, lineNumber);
+                onAdjustment.accept(adjustment);
+            } catch (IllegalArgumentException | IOException e) {
+                onFailure.accept(StockAdjustmentFailure.builder()
+                        .lineNumber(lineNumber)
+                        .message("Malformed line: " + e.getMessage())
+                        .build());
+            }
+        }
+    }
+
+    private static StockAdjustment parseCsv(String line, long lineNumber) {
+        String[] columns = line.split(",", 3);
+        if (columns.length < 2 || columns[0].isBlank()) {
+            throw new IllegalArgumentException("expected productId,delta[,reason]");
+        }
+
+        return StockAdjustment.builder()
+                .lineNumber(lineNumber)
+                .productId(columns[0].trim())
+                .delta(Integer.parseInt(columns[1].trim()))
+                .reason(columns.length > 2 ? columns[2].trim() : null)
+                .build();
+    }
+
+    private static StockAdjustment parseJson(String line, long lineNumber) throws IOException {
+        JsonNode node = JSON_READER.readValue(line);
+        JsonNode productId = node.get("productId");
+        JsonNode delta = node.get("delta");
+        if (productId == null || !productId.isTextual() || delta == null || !delta.canConvertToInt()) {
+            throw new IllegalArgumentException("expected productId and integer delta");
+        }
+
+        JsonNode reason = node.get("reason");
+        return StockAdjustment.builder()
+                .lineNumber(lineNumber)
+                .productId(productId.asText())
+                .delta(delta.asInt())
+                .reason(reason != null && !reason.isNull() ? reason.asText() : null)
+                .build();
+    }
+}
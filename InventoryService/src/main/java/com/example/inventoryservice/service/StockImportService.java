@@ -0,0 +1,12 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.StockAdjustmentResult;
+
+import java.io.InputStream;
+
+public interface StockImportService {
+    
+    StockAdjustmentResult importCsv(InputStream input);
+    
+    StockAdjustmentResult importJsonLines(InputStream input);
+}
@@ -0,0 +1,103 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.StockAdjustment;
+import com.example.inventoryservice.dto.StockAdjustmentFailure;
+import com.example.inventoryservice.dto.StockAdjustmentResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockImportServiceImpl implements StockImportService {
+
+    private static final int MAX_REPORTED_FAILURES = 1000;
+
+    private final StockAdjustmentChunkProcessor stockAdjustmentChunkProcessor;
+
+    @Value("${inventory.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public StockAdjustmentResult importCsv(InputStream input) {
+        return importAdjustments(input, StockAdjustmentReader.Format.CSV);
+    }
+
+    @Override
+    public StockAdjustmentResult importJsonLines(InputStream input) {
+        return importAdjustments(input, StockAdjustmentReader.Format.NDJSON);
+    }
+
+    private StockAdjustmentResult importAdjustments(InputStream input, StockAdjustmentReader.Format format) {
+        log.info("Importing {} stock adjustments in chunks of {}", format, chunkSize);
+
+        StockAdjustmentResult result = new StockAdjustmentResult();
+        List<StockAdjustment> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            StockAdjustmentReader.read(reader, format,
+                    adjustment -> {
+                        chunk.add(adjustment);
+                        if (chunk.size() >= chunkSize) {
+                            applyChunk(chunk, result);
+                        }
+                    },
+                    failure -> {
+                        result.setTotalRows(result.getTotalRows() + 1);
+                        recordFailure(result, failure);
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read stock adjustment import", e);
+        }
+
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, result);
+        }
+
+        log.info("Stock adjustment import finished. Rows: {}, applied: {}, failed: {}",
+                result.getTotalRows(), result.getApplied(), result.getFailed());
+
+        return result;
+    }
+
+    private void applyChunk(List<StockAdjustment> chunk, StockAdjustmentResult result) {
+        List<StockAdjustmentFailure> failures;
+        try {
+            failures = stockAdjustmentChunkProcessor.apply(chunk);
+        } catch (RuntimeException e) {
+            // The chunk was rolled back as a whole; later chunks still run
+            log.error("Stock adjustment chunk starting at line {} failed", chunk.get(0).getLineNumber(), e);
+            failures = new ArrayList<>();
+            for (StockAdjustment adjustment : chunk) {
+                failures.add(StockAdjustmentFailure.builder()
+                        .lineNumber(adjustment.getLineNumber())
+                        .productId(adjustment.getProductId())
+                        .message("Chunk rolled back: " + e.getMessage())
+                        .build());
+            }
+        }
+
+        result.setTotalRows(result.getTotalRows() + chunk.size());
+        result.setApplied(result.getApplied() + chunk.size() - failures.size());
+        failures.forEach(failure -> recordFailure(result, failure));
+        chunk.clear();
+    }
+
+    private void recordFailure(StockAdjustmentResult result, StockAdjustmentFailure failure) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getFailures().size() < MAX_REPORTED_FAILURES) {
+            result.getFailures().add(failure);
+        }
+    }
+}
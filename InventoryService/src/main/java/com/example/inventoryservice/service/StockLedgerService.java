@@ -0,0 +1,19 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.StockMovementDto;
+import com.example.inventoryservice.model.StockMovementType;
+
+import java.util.List;
+
+public interface StockLedgerService {
+    
+    void record(String itemId, int delta, StockMovementType type, String reference);
+    
+    void recordOnce(String itemId, int delta, StockMovementType type, String key);
+    
+    boolean isRecorded(String itemId, String key);
+    
+    List<StockMovementDto> getMovements(String itemId, int limit);
+    
+    int compact(int batchSize);
+}
@@ -0,0 +1,144 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.StockMovementDto;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.StockMovement;
+import com.example.inventoryservice.model.StockMovementType;
+import com.example.inventoryservice.model.StockSnapshot;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.StockMovementRepository;
+import com.example.inventoryservice.repository.StockSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private static final int MAX_MOVEMENTS_LIMIT = 500;
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final JpaInventoryRepository jpaInventoryRepository;
+
+    @Value("${inventory.ledger.compaction-lag-seconds:300}")
+    private long compactionLagSeconds;
+
+    @Override
+    public void record(String itemId, int delta, StockMovementType type, String reference) {
+        if (delta == 0) {
+            return;
+        }
+
+        // Flushed with the caller's other writes, in JDBC batches when there are several
+        stockMovementRepository.save(StockMovement.builder()
+                .itemId(itemId)
+                .delta(delta)
+                .type(type)
+                .reference(reference)
+                .build());
+    }
+
+    @Override
+    public void recordOnce(String itemId, int delta, StockMovementType type, String key) {
+        // The unique (item_id, idempotency_key) index fails the caller's commit on a repeat
+        stockMovementRepository.save(StockMovement.builder()
+                .itemId(itemId)
+                .delta(delta)
+                .type(type)
+                .reference(key)
+                .idempotencyKey(key)
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isRecorded(String itemId, String key) {
+        return stockMovementRepository.existsByItemIdAndIdempotencyKey(itemId, key);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockMovementDto> getMovements(String itemId, int limit) {
+        log.info("Fetching stock movements for item ID: {}, limit: {}", itemId, limit);
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_MOVEMENTS_LIMIT));
+        return stockMovementRepository.findRecentByItemId(itemId, PageRequest.of(0, pageSize)).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int compact(int batchSize) {
+        // Leave recent rows alone so a transaction still in flight cannot commit behind the fold
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(compactionLagSeconds);
+        List<StockMovement> movements = stockMovementRepository.findUncompactedBefore(cutoff, PageRequest.of(0, batchSize));
+        if (movements.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        Map<String, LocalDateTime> lastMovementAt = new LinkedHashMap<>();
+        for (StockMovement movement : movements) {
+            deltas.merge(movement.getItemId(), movement.getDelta(), Integer::sum);
+            lastMovementAt.merge(movement.getItemId(), movement.getCreatedAt(),
+                    (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        List<String> ids = movements.stream().map(StockMovement::getId).collect(Collectors.toList());
+        if (stockMovementRepository.markCompacted(ids) != ids.size()) {
+            throw new IllegalStateException("Stock movements were compacted concurrently; batch rolled back");
+        }
+
+        for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+            String itemId = entry.getKey();
+            StockSnapshot snapshot = stockSnapshotRepository.findById(itemId)
+                    .orElseGet(() -> openingSnapshot(itemId, entry.getValue()));
+            snapshot.setQuantity(snapshot.getQuantity() + entry.getValue());
+            snapshot.setLastMovementAt(lastMovementAt.get(itemId));
+            stockSnapshotRepository.save(snapshot);
+        }
+
+        log.info("Compacted {} stock movements into {} snapshots", movements.size(), deltas.size());
+        return movements.size();
+    }
+
+    /**
+     * Items that predate the ledger have no history to start from, so derive the opening
+     * balance from the live quantity minus everything not yet folded, this batch included.
+     */
+    private StockSnapshot openingSnapshot(String itemId, int batchDelta) {
+        int live = jpaInventoryRepository.findById(itemId)
+                .map(InventoryItem::getQuantity)
+                .orElse(0);
+        long pending = stockMovementRepository.sumUncompactedDeltas(itemId);
+
+        return StockSnapshot.builder()
+                .itemId(itemId)
+                .quantity((int) (live - pending - batchDelta))
+                .build();
+    }
+
+    private StockMovementDto mapToDto(StockMovement movement) {
+        return StockMovementDto.builder()
+                .id(movement.getId())
+                .itemId(movement.getItemId())
+                .delta(movement.getDelta())
+                .type(movement.getType())
+                .reference(movement.getReference())
+                .createdAt(movement.getCreatedAt())
+                .build();
+    }
+}
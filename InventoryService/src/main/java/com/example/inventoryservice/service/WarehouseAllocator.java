@@ -0,0 +1,82 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.cache.WarehouseStockIndex.LocationStock;
+import com.example.inventoryservice.dto.StockAllocation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chooses which warehouses a line ships from.
+ *
+ * With a destination, the nearest warehouse that can fill the whole line wins, so a line is
+ * only split when no single location can cover it; a split then takes from the nearest
+ * locations first. Without a destination, the best-stocked locations are drained first.
+ * Works on the handful of locations per SKU from {@code WarehouseStockIndex}, so it is a
+ * few microseconds per line and allocates little beyond the result.
+ */
+@Component
+public class WarehouseAllocator {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    /**
+     * @return allocations in preference order; their total is less than {@code quantity}
+     *         when the locations cannot cover it
+     */
+    public List<StockAllocation> allocate(LocationStock[] locations, int quantity, Double latitude, Double longitude) {
+        int n = locations.length;
+        if (n == 0 || quantity <= 0) {
+            return List.of();
+        }
+
+        boolean byDistance = latitude != null && longitude != null;
+        double[] keys = new double[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = byDistance
+                    ? distanceKm(latitude, longitude, locations[i].latitude(), locations[i].longitude())
+                    : -locations[i].quantity();
+            order[i] = i;
+        }
+        // Insertion sort: a SKU is stocked in a few locations at most
+        for (int i = 1; i < n; i++) {
+            int current = order[i];
+            int j = i - 1;
+            while (j >= 0 && keys[order[j]] > keys[current]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = current;
+        }
+
+        for (int i = 0; i < n; i++) {
+            LocationStock location = locations[order[i]];
+            if (location.quantity() >= quantity) {
+                return List.of(new StockAllocation(location.warehouseId(), quantity));
+            }
+        }
+
+        List<StockAllocation> allocations = new ArrayList<>(n);
+        int remaining = quantity;
+        for (int i = 0; i < n && remaining > 0; i++) {
+            LocationStock location = locations[order[i]];
+            int take = Math.min(remaining, location.quantity());
+            if (take > 0) {
+                allocations.add(new StockAllocation(location.warehouseId(), take));
+                remaining -= take;
+            }
+        }
+        return allocations;
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+}
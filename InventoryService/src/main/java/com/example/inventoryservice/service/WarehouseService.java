@@ -0,0 +1,40 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.CreateWarehouseRequest;
+import com.example.inventoryservice.dto.LocationStockDto;
+import com.example.inventoryservice.dto.StockAllocation;
+import com.example.inventoryservice.dto.WarehouseDto;
+
+import java.util.List;
+
+public interface WarehouseService {
+    
+    WarehouseDto createWarehouse(CreateWarehouseRequest request);
+    
+    List<WarehouseDto> getAllWarehouses();
+    
+    List<LocationStockDto> getLocationStock(String itemId);
+    
+    LocationStockDto setLocationStock(String itemId, String warehouseId, int quantity);
+    
+    /**
+     * Takes units from the item's warehouses, nearest to the destination first when one is
+     * given. Callers must already have taken the same units off the item's total.
+     *
+     * @return where the units came from; empty when the item is not stocked per location
+     */
+    List<StockAllocation> takeStock(String itemId, int quantity, Double latitude, Double longitude);
+    
+    /**
+     * Puts units back at {@code warehouseId}, or at the item's default location when null.
+     * Does nothing for items not stocked per location.
+     */
+    void putStock(String itemId, String warehouseId, int quantity);
+    
+    /**
+     * Drops the item's location rows along with the item itself.
+     */
+    void removeItem(String itemId);
+    
+    void applyDelta(String itemId, int delta);
+}
@@ -0,0 +1,236 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.cache.InventoryStockCache;
+import com.example.inventoryservice.cache.WarehouseStockIndex;
+import com.example.inventoryservice.cache.WarehouseStockIndex.LocationStock;
+import com.example.inventoryservice.dto.CreateWarehouseRequest;
+import com.example.inventoryservice.dto.LocationStockDto;
+import com.example.inventoryservice.dto.StockAllocation;
+import com.example.inventoryservice.dto.WarehouseDto;
+import com.example.inventoryservice.event.StockLevelEventPublisher;
+import com.example.inventoryservice.exception.InsufficientStockException;
+import com.example.inventoryservice.exception.LocationStockException;
+import com.example.inventoryservice.exception.ResourceNotFoundException;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.StockLevel;
+import com.example.inventoryservice.model.StockMovementType;
+import com.example.inventoryservice.model.Warehouse;
+import com.example.inventoryservice.model.WarehouseStock;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.WarehouseRepository;
+import com.example.inventoryservice.repository.WarehouseStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class WarehouseServiceImpl implements WarehouseService {
+
+    private final WarehouseRepository warehouseRepository;
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final JpaInventoryRepository jpaInventoryRepository;
+    private final WarehouseStockIndex warehouseStockIndex;
+    private final WarehouseAllocator warehouseAllocator;
+    private final InventoryStockCache inventoryStockCache;
+    private final StockLedgerService stockLedgerService;
+    private final StockLevelEventPublisher stockLevelEventPublisher;
+
+    @Override
+    public WarehouseDto createWarehouse(CreateWarehouseRequest request) {
+        log.info("Creating warehouse: {}", request.getName());
+
+        Warehouse warehouse = warehouseRepository.save(Warehouse.builder()
+                .name(request.getName())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .build());
+        warehouseStockIndex.addWarehouse(warehouse);
+        log.info("Created warehouse with ID: {}", warehouse.getId());
+
+        return mapToDto(warehouse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WarehouseDto> getAllWarehouses() {
+        log.info("Fetching all warehouses");
+
+        return warehouseRepository.findAll().stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LocationStockDto> getLocationStock(String itemId) {
+        log.info("Fetching location stock for item ID: {}", itemId);
+
+        if (!jpaInventoryRepository.existsById(itemId)) {
+            throw new ResourceNotFoundException("InventoryItem", "id", itemId);
+        }
+
+        return warehouseStockRepository.findByItemId(itemId).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public LocationStockDto setLocationStock(String itemId, String warehouseId, int quantity) {
+        log.info("Setting stock for item ID: {} at warehouse: {} to {}", itemId, warehouseId, quantity);
+
+        // Lock the item first, as the reserve path does, so the total cannot move under us
+        InventoryItem item = jpaInventoryRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new ResourceNotFoundException("InventoryItem", "id", itemId));
+        if (!warehouseRepository.existsById(warehouseId)) {
+            throw new ResourceNotFoundException("Warehouse", "id", warehouseId);
+        }
+
+        // Until the first location row exists the item's units are not placed anywhere; that row
+        // has to take all of them, or setting it would silently write the rest off
+        if (!warehouseStockRepository.existsByItemId(itemId) && quantity < item.getQuantity()) {
+            throw new LocationStockException(String.format(
+                    "Item %s has %d units not yet assigned to a warehouse; its first location must hold at least that many",
+                    itemId, item.getQuantity()));
+        }
+
+        WarehouseStock row = warehouseStockRepository.findByItemIdAndWarehouseId(itemId, warehouseId)
+                .orElseGet(() -> WarehouseStock.builder().itemId(itemId).warehouseId(warehouseId).build());
+        row.setQuantity(quantity);
+        WarehouseStock savedRow = warehouseStockRepository.save(row);
+
+        // The first location row makes the item location-managed: its total becomes the sum
+        int total = warehouseStockRepository.findByItemId(itemId).stream()
+                .mapToInt(WarehouseStock::getQuantity)
+                .sum();
+        StockLevel previousLevel = StockLevel.of(item);
+        int delta = total - item.getQuantity();
+        item.setQuantity(total);
+        jpaInventoryRepository.save(item);
+
+        inventoryStockCache.invalidate(itemId);
+        warehouseStockIndex.refresh(itemId);
+        stockLedgerService.record(itemId, delta, StockMovementType.ADJUSTMENT, "warehouse:" + warehouseId);
+        stockLevelEventPublisher.publishIfChanged(previousLevel, item);
+
+        return mapToDto(savedRow);
+    }
+
+    @Override
+    public List<StockAllocation> takeStock(String itemId, int quantity, Double latitude, Double longitude) {
+        // Whether the item is location-managed comes from the rows; the index only picks locations
+        if (!warehouseStockRepository.existsByItemId(itemId)) {
+            return List.of();
+        }
+        if (!warehouseStockIndex.hasLocations(itemId)) {
+            warehouseStockIndex.reload(itemId);
+        }
+
+        List<StockAllocation> taken = new ArrayList<>();
+        int remaining = takeAllocated(itemId, warehouseStockIndex.locations(itemId), quantity,
+                latitude, longitude, taken);
+        if (remaining > 0) {
+            // The index was stale; decide again from the rows as they are now
+            warehouseStockIndex.reload(itemId);
+            remaining = takeAllocated(itemId, warehouseStockIndex.locations(itemId), remaining,
+                    latitude, longitude, taken);
+        }
+        // Also on rollback, so the in-transaction reloads above do not outlive it
+        warehouseStockIndex.refresh(itemId);
+        if (remaining > 0) {
+            throw new InsufficientStockException(itemId, quantity, quantity - remaining);
+        }
+
+        return taken;
+    }
+
+    @Override
+    public void putStock(String itemId, String warehouseId, int quantity) {
+        if (!warehouseStockRepository.existsByItemId(itemId)) {
+            return;
+        }
+        if (warehouseId == null && !warehouseStockIndex.hasLocations(itemId)) {
+            warehouseStockIndex.reload(itemId);
+        }
+
+        String target = warehouseId != null ? warehouseId : defaultLocation(itemId);
+        if (warehouseStockRepository.incrementStock(itemId, target, quantity) == 0) {
+            warehouseStockRepository.save(WarehouseStock.builder()
+                    .itemId(itemId)
+                    .warehouseId(target)
+                    .quantity(quantity)
+                    .build());
+        }
+        warehouseStockIndex.refresh(itemId);
+    }
+
+    @Override
+    public void removeItem(String itemId) {
+        warehouseStockRepository.deleteByItemId(itemId);
+        warehouseStockIndex.refresh(itemId);
+    }
+
+    @Override
+    public void applyDelta(String itemId, int delta) {
+        if (delta < 0) {
+            takeStock(itemId, -delta, null, null);
+        } else if (delta > 0) {
+            putStock(itemId, null, delta);
+        }
+    }
+
+    private int takeAllocated(String itemId, LocationStock[] locations, int quantity,
+                              Double latitude, Double longitude, List<StockAllocation> taken) {
+        int remaining = quantity;
+        for (StockAllocation allocation : warehouseAllocator.allocate(locations, quantity, latitude, longitude)) {
+            if (warehouseStockRepository.decrementStockIfAvailable(
+                    itemId, allocation.getWarehouseId(), allocation.getQuantity()) > 0) {
+                taken.add(allocation);
+                remaining -= allocation.getQuantity();
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Restocks without a location land at the item's best-stocked warehouse.
+     */
+    private String defaultLocation(String itemId) {
+        LocationStock best = null;
+        for (LocationStock location : warehouseStockIndex.locations(itemId)) {
+            if (best == null || location.quantity() > best.quantity()) {
+                best = location;
+            }
+        }
+        if (best == null) {
+            throw new ResourceNotFoundException("WarehouseStock", "itemId", itemId);
+        }
+        return best.warehouseId();
+    }
+
+    private WarehouseDto mapToDto(Warehouse warehouse) {
+        return WarehouseDto.builder()
+                .id(warehouse.getId())
+                .name(warehouse.getName())
+                .latitude(warehouse.getLatitude())
+                .longitude(warehouse.getLongitude())
+                .createdAt(warehouse.getCreatedAt())
+                .build();
+    }
+
+    private LocationStockDto mapToDto(WarehouseStock row) {
+        return LocationStockDto.builder()
+                .itemId(row.getItemId())
+                .warehouseId(row.getWarehouseId())
+                .quantity(row.getQuantity())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.inventoryservice.benchmark;
+
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.repository.InMemoryInventoryRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the indexed {@link InMemoryInventoryRepository} queries with the full-map scans
+ * they replaced. Run {@link #main} from the IDE, or after {@code mvn test-compile} with the
+ * test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryInventoryRepositoryBenchmark {
+
+    private static final int CATEGORIES = 100;
+
+    @Param({"10000", "100000", "1000000"})
+    private int catalogSize;
+
+    private InMemoryInventoryRepository indexed;
+    private Map<String, InventoryItem> scanned;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        indexed = new InMemoryInventoryRepository();
+        scanned = new ConcurrentHashMap<>();
+        for (int i = 0; i < catalogSize; i++) {
+            // ~1% of the catalog is low on stock and ~0.1% is out of stock
+            int quantity = i % 1000 == 0 ? 0 : (i % 100 == 0 ? 5 : 500);
+            InventoryItem item = InventoryItem.builder()
+                    .id("item-" + i)
+                    .name("Item " + i)
+                    .category("Category-" + (i % CATEGORIES))
+                    .quantity(quantity)
+                    .price(BigDecimal.TEN)
+                    .minimumStockLevel(10)
+                    .build();
+            indexed.save(item);
+            scanned.put(item.getId(), item);
+        }
+    }
+
+    @Benchmark
+    public List<InventoryItem> findByCategoryIndexed() {
+        return indexed.findByCategory("category-42");
+    }
+
+    @Benchmark
+    public List<InventoryItem> findByCategoryScan() {
+        return scanned.values().stream()
+                .filter(item -> "category-42".equalsIgnoreCase(item.getCategory()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<InventoryItem> findLowStockIndexed() {
+        return indexed.findLowStockItems();
+    }
+
+    @Benchmark
+    public List<InventoryItem> findLowStockScan() {
+        return scanned.values().stream()
+                .filter(InventoryItem::isLowStock)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<InventoryItem> findOutOfStockIndexed() {
+        return indexed.findOutOfStockItems();
+    }
+
+    @Benchmark
+    public List<InventoryItem> findOutOfStockScan() {
+        return scanned.values().stream()
+                .filter(InventoryItem::isOutOfStock)
+                .collect(Collectors.toList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InMemoryInventoryRepositoryBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
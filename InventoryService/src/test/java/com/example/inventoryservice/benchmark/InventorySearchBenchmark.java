@@ -0,0 +1,123 @@
+package com.example.inventoryservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures search latency against catalog size for the old {@code LIKE '%kw%'} scan and the
+ * FULLTEXT query used by {@code JpaInventoryRepository.fullTextSearch}.
+ *
+ * Needs a running MySQL; point it at a scratch schema with {@code -Dbench.jdbc.url},
+ * {@code -Dbench.jdbc.user} and {@code -Dbench.jdbc.password}. The benchmark creates and
+ * drops its own {@code inventory_items_bench} table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventorySearchBenchmark {
+
+    private static final String[] WORDS = {
+            "wireless", "mouse", "keyboard", "monitor", "cable", "charger", "laptop", "stand",
+            "headphones", "speaker", "adapter", "webcam", "router", "drive", "camera", "battery"
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    private int catalogSize;
+
+    private Connection connection;
+    private PreparedStatement likeQuery;
+    private PreparedStatement fullTextQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/inventory_bench"),
+                System.getProperty("bench.jdbc.user", "root"),
+                System.getProperty("bench.jdbc.password", "root"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS inventory_items_bench");
+            statement.execute("CREATE TABLE inventory_items_bench (" +
+                    "id VARCHAR(36) PRIMARY KEY, name VARCHAR(255) NOT NULL, description VARCHAR(1000), " +
+                    "FULLTEXT INDEX ft_bench_name_description (name, description))");
+        }
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO inventory_items_bench (id, name, description) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < catalogSize; i++) {
+                insert.setString(1, "item-" + i);
+                insert.setString(2, WORDS[i % WORDS.length] + " " + WORDS[(i / 7) % WORDS.length] + " " + i);
+                insert.setString(3, "Model " + i + " " + WORDS[(i / 13) % WORDS.length] + " accessory");
+                insert.addBatch();
+                if (i % 5000 == 4999) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+
+        likeQuery = connection.prepareStatement(
+                "SELECT id FROM inventory_items_bench " +
+                        "WHERE LOWER(name) LIKE ? OR LOWER(description) LIKE ? LIMIT 20");
+        fullTextQuery = connection.prepareStatement(
+                "SELECT id FROM inventory_items_bench " +
+                        "WHERE MATCH(name, description) AGAINST (? IN BOOLEAN MODE) " +
+                        "ORDER BY MATCH(name, description) AGAINST (? IN BOOLEAN MODE) DESC LIMIT 20");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS inventory_items_bench");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void likeScan(Blackhole blackhole) throws SQLException {
+        likeQuery.setString(1, "%webcam stand%");
+        likeQuery.setString(2, "%webcam stand%");
+        drain(likeQuery, blackhole);
+    }
+
+    @Benchmark
+    public void fullTextIndex(Blackhole blackhole) throws SQLException {
+        fullTextQuery.setString(1, "+webcam* +stand*");
+        fullTextQuery.setString(2, "+webcam* +stand*");
+        drain(fullTextQuery, blackhole);
+    }
+
+    private void drain(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getString(1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InventorySearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.inventoryservice.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import com.example.inventoryservice.logging.LogSampling;
+import com.example.inventoryservice.logging.SamplingTurboFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the per-request log lines on the availability and stock paths, comparing the
+ * old setup (synchronous appender flushed on every event, every line logged) with the prod
+ * profile (async appender over a batched appender, sampled lines).
+ *
+ * Appenders write to a temp file so that real I/O is part of the measurement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n";
+
+    @Param({"sync", "asyncSampled"})
+    private String mode;
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private File logFile;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        logFile = File.createTempFile("request-logging-bench", ".log");
+        loggerContext = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setFile(logFile.getAbsolutePath());
+        fileAppender.setEncoder(encoder);
+        fileAppender.setImmediateFlush("sync".equals(mode));
+        fileAppender.start();
+
+        logger = loggerContext.getLogger("com.example.inventoryservice.service.InventoryServiceImpl");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+
+        if ("sync".equals(mode)) {
+            logger.addAppender(fileAppender);
+        } else {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setDiscardingThreshold(819);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            logger.addAppender(asyncAppender);
+
+            SamplingTurboFilter filter = new SamplingTurboFilter(100);
+            filter.setContext(loggerContext);
+            filter.start();
+            loggerContext.addTurboFilter(filter);
+        }
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        loggerContext.stop();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void checkAvailabilityLogLine() {
+        int sku = ThreadLocalRandom.current().nextInt(10_000);
+        logger.info(LogSampling.SAMPLED, "Checking availability for item ID: {}, quantity: {}", "item-" + sku, 2);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RequestLoggingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
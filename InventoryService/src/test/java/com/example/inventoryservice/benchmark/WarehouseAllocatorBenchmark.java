@@ -0,0 +1,84 @@
+package com.example.inventoryservice.benchmark;
+
+import com.example.inventoryservice.cache.WarehouseStockIndex.LocationStock;
+import com.example.inventoryservice.dto.StockAllocation;
+import com.example.inventoryservice.service.WarehouseAllocator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one allocation decision per order line as the reservation path makes it: an index
+ * lookup by SKU followed by {@link WarehouseAllocator#allocate}. The target is well under a
+ * millisecond per line even with many locations per SKU.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseAllocatorBenchmark {
+
+    private static final int SKUS = 100_000;
+
+    @Param({"2", "8", "32"})
+    private int locationsPerSku;
+
+    private final WarehouseAllocator allocator = new WarehouseAllocator();
+    private Map<String, LocationStock[]> index;
+    private String[] skus;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new HashMap<>(SKUS * 2);
+        skus = new String[SKUS];
+        for (int i = 0; i < SKUS; i++) {
+            LocationStock[] locations = new LocationStock[locationsPerSku];
+            for (int w = 0; w < locationsPerSku; w++) {
+                // Warehouses scattered over Europe, each holding 0-49 units
+                locations[w] = new LocationStock("wh-" + w,
+                        36 + random.nextDouble() * 24, -9 + random.nextDouble() * 33, random.nextInt(50));
+            }
+            skus[i] = "sku-" + i;
+            index.put(skus[i], locations);
+        }
+    }
+
+    @Benchmark
+    public List<StockAllocation> singleLocationLine() {
+        return allocator.allocate(index.get(nextSku()), 5, 52.52, 13.40);
+    }
+
+    @Benchmark
+    public List<StockAllocation> splitLine() {
+        return allocator.allocate(index.get(nextSku()), 60, 52.52, 13.40);
+    }
+
+    @Benchmark
+    public List<StockAllocation> lineWithoutDestination() {
+        return allocator.allocate(index.get(nextSku()), 5, null, null);
+    }
+
+    private String nextSku() {
+        next = (next + 7919) % SKUS;
+        return skus[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(WarehouseAllocatorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
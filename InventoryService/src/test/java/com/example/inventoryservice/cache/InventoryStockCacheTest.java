@@ -0,0 +1,92 @@
+package com.example.inventoryservice.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryStockCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private InventoryStockCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new InventoryStockCache(meterRegistry, 4, 8, 60_000);
+    }
+
+    @Test
+    void getQuantity_AfterPut_ShouldHit() {
+        cache.put("item-1", 42, cache.generation());
+
+        assertEquals(42, cache.getQuantity("item-1"));
+        assertEquals(1.0, meterRegistry.counter("inventory.stock.cache.hits").count());
+    }
+
+    @Test
+    void getQuantity_WithUnknownItem_ShouldMiss() {
+        assertNull(cache.getQuantity("item-1"));
+        assertEquals(1.0, meterRegistry.counter("inventory.stock.cache.misses").count());
+    }
+
+    @Test
+    void invalidate_ShouldRemoveEntry() {
+        cache.put("item-1", 42, cache.generation());
+
+        cache.invalidate("item-1");
+
+        assertNull(cache.getQuantity("item-1"));
+    }
+
+    @Test
+    void put_AfterInvalidateSinceRead_ShouldNotCacheStaleQuantity() {
+        // Reader misses and reads 42 while a writer's transaction is still open
+        long generation = cache.generation();
+        assertNull(cache.getQuantity("item-1"));
+
+        // Writer commits 40 and invalidates before the reader gets to cache its value
+        cache.invalidate("item-1");
+        cache.put("item-1", 42, generation);
+
+        assertNull(cache.getQuantity("item-1"));
+        cache.put("item-1", 40, cache.generation());
+        assertEquals(40, cache.getQuantity("item-1"));
+    }
+
+    @Test
+    void put_AfterInvalidationWasForgotten_ShouldStillRejectOlderRead() {
+        long generation = cache.generation();
+        cache.invalidate("item-1");
+
+        // Invalidations of other keys push item-1 out of the shard's bounded history
+        for (int i = 0; i < 100; i++) {
+            cache.invalidate("other-" + i);
+        }
+        cache.put("item-1", 42, generation);
+
+        assertNull(cache.getQuantity("item-1"));
+    }
+
+    @Test
+    void put_BeyondCapacity_ShouldEvictLeastRecentlyUsed() {
+        for (int i = 0; i < 100; i++) {
+            cache.put("item-" + i, i, cache.generation());
+        }
+
+        assertTrue(cache.size() <= 8);
+        assertTrue(meterRegistry.counter("inventory.stock.cache.evictions").count() > 0);
+    }
+
+    @Test
+    void getQuantity_AfterTtl_ShouldExpire() throws InterruptedException {
+        InventoryStockCache shortLived = new InventoryStockCache(new SimpleMeterRegistry(), 1, 8, 1);
+        shortLived.put("item-1", 42, shortLived.generation());
+
+        Thread.sleep(5);
+
+        assertNull(shortLived.getQuantity("item-1"));
+    }
+}
@@ -2,6 +2,9 @@ package com.example.inventoryservice.controller;
 
 import com.example.inventoryservice.dto.*;
 import com.example.inventoryservice.service.InventoryService;
+import com.example.inventoryservice.service.StockImportService;
+import com.example.inventoryservice.service.StockLedgerService;
+import com.example.inventoryservice.service.WarehouseService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,9 +14,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,6 +32,15 @@ class InventoryControllerTest {
     @Mock
     private InventoryService inventoryService;
 
+    @Mock
+    private StockImportService stockImportService;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private WarehouseService warehouseService;
+
     @InjectMocks
     private InventoryController inventoryController;
 
@@ -210,6 +225,42 @@ class InventoryControllerTest {
         verify(inventoryService, times(1)).checkAvailability("item-123", 10);
     }
 
+    @Test
+    void checkBulkAvailability_ReturnsFlagPerProduct() {
+        List<AvailabilityCheckItem> items = List.of(
+                AvailabilityCheckItem.builder().productId("item-123").quantity(10).build(),
+                AvailabilityCheckItem.builder().productId("item-456").quantity(5).build());
+        BulkAvailabilityRequest request = BulkAvailabilityRequest.builder().items(items).build();
+
+        when(inventoryService.checkAvailability(items))
+                .thenReturn(Map.of("item-123", true, "item-456", false));
+
+        ResponseEntity<ApiResponse<Map<String, Boolean>>> response =
+                inventoryController.checkBulkAvailability(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().getData().get("item-123"));
+        assertFalse(response.getBody().getData().get("item-456"));
+        verify(inventoryService, times(1)).checkAvailability(items);
+    }
+
+    @Test
+    void getItemsPage_ReturnsCursorPage() {
+        CursorPage<InventoryItemDto> page = CursorPage.<InventoryItemDto>builder()
+                .items(List.of(itemDto))
+                .nextCursor("next")
+                .hasNext(true)
+                .build();
+        when(inventoryService.getItemsPage(null, 50)).thenReturn(page);
+
+        ResponseEntity<ApiResponse<CursorPage<InventoryItemDto>>> response =
+                inventoryController.getItemsPage(null, 50);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("next", response.getBody().getData().getNextCursor());
+        verify(inventoryService, times(1)).getItemsPage(null, 50);
+    }
+
     @Test
     void getTotalItemCount_ReturnsCount() {
         when(inventoryService.getTotalItemCount()).thenReturn(42L);
@@ -221,4 +272,21 @@ class InventoryControllerTest {
         assertEquals(42L, response.getBody().getData());
         verify(inventoryService, times(1)).getTotalItemCount();
     }
+
+    @Test
+    void importCsvAdjustments_ReturnsImportSummary() {
+        InputStream body = new ByteArrayInputStream("item-1,5\n".getBytes());
+        StockAdjustmentResult result = StockAdjustmentResult.builder()
+                .totalRows(1)
+                .applied(1)
+                .build();
+        when(stockImportService.importCsv(body)).thenReturn(result);
+
+        ResponseEntity<ApiResponse<StockAdjustmentResult>> response =
+                inventoryController.importCsvAdjustments(body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getData().getApplied());
+        verify(stockImportService, times(1)).importCsv(body);
+    }
 }
@@ -0,0 +1,102 @@
+package com.example.inventoryservice.controller;
+
+import com.example.inventoryservice.dto.ApiResponse;
+import com.example.inventoryservice.dto.ReservationLineDto;
+import com.example.inventoryservice.dto.ReserveStockRequest;
+import com.example.inventoryservice.dto.StockReservationDto;
+import com.example.inventoryservice.model.ReservationStatus;
+import com.example.inventoryservice.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationControllerTest {
+
+    @Mock
+    private ReservationService reservationService;
+
+    @InjectMocks
+    private ReservationController reservationController;
+
+    private StockReservationDto reservationDto;
+
+    @BeforeEach
+    void setUp() {
+        reservationDto = StockReservationDto.builder()
+                .id("res-123")
+                .orderId("order-123")
+                .status(ReservationStatus.HELD)
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .items(List.of(ReservationLineDto.builder().productId("item-1").quantity(2).build()))
+                .build();
+    }
+
+    @Test
+    void reserveStock_ReturnsCreatedResponse() {
+        ReserveStockRequest request = ReserveStockRequest.builder()
+                .orderId("order-123")
+                .items(List.of(ReservationLineDto.builder().productId("item-1").quantity(2).build()))
+                .build();
+
+        when(reservationService.reserveStock(request)).thenReturn(reservationDto);
+
+        ResponseEntity<ApiResponse<StockReservationDto>> response =
+                reservationController.reserveStock(request);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals("Stock reserved successfully", response.getBody().getMessage());
+        assertEquals("res-123", response.getBody().getData().getId());
+        verify(reservationService, times(1)).reserveStock(request);
+    }
+
+    @Test
+    void confirmReservation_ReturnsConfirmedReservation() {
+        reservationDto.setStatus(ReservationStatus.CONFIRMED);
+        when(reservationService.confirmReservation("res-123")).thenReturn(reservationDto);
+
+        ResponseEntity<ApiResponse<StockReservationDto>> response =
+                reservationController.confirmReservation("res-123");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ReservationStatus.CONFIRMED, response.getBody().getData().getStatus());
+        verify(reservationService, times(1)).confirmReservation("res-123");
+    }
+
+    @Test
+    void releaseReservation_ReturnsReleasedReservation() {
+        reservationDto.setStatus(ReservationStatus.RELEASED);
+        when(reservationService.releaseReservation("res-123")).thenReturn(reservationDto);
+
+        ResponseEntity<ApiResponse<StockReservationDto>> response =
+                reservationController.releaseReservation("res-123");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ReservationStatus.RELEASED, response.getBody().getData().getStatus());
+        verify(reservationService, times(1)).releaseReservation("res-123");
+    }
+
+    @Test
+    void returnReservation_ReturnsReturnedReservation() {
+        reservationDto.setStatus(ReservationStatus.RETURNED);
+        when(reservationService.returnReservation("res-123")).thenReturn(reservationDto);
+
+        ResponseEntity<ApiResponse<StockReservationDto>> response =
+                reservationController.returnReservation("res-123");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ReservationStatus.RETURNED, response.getBody().getData().getStatus());
+        verify(reservationService, times(1)).returnReservation("res-123");
+    }
+}
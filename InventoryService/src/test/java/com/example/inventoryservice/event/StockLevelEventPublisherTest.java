@@ -0,0 +1,95 @@
+package com.example.inventoryservice.event;
+
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.StockLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLevelEventPublisherTest {
+
+    private static final String TOPIC = "inventory-stock-level-events";
+
+    @Mock
+    private KafkaTemplate<String, StockLevelEvent> kafkaTemplate;
+
+    @InjectMocks
+    private StockLevelEventPublisher stockLevelEventPublisher;
+
+    private InventoryItem item;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockLevelEventPublisher, "stockLevelEventsTopic", TOPIC);
+
+        item = InventoryItem.builder()
+            .id("item-123")
+            .name("Test Item")
+            .category("Electronics")
+            .quantity(4)
+            .minimumStockLevel(10)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publishIfChanged_WhenLevelCrossed_ShouldSendKeyedEvent() {
+        // Arrange
+        ArgumentCaptor<StockLevelEvent> captor = ArgumentCaptor.forClass(StockLevelEvent.class);
+
+        // Act
+        stockLevelEventPublisher.publishIfChanged(StockLevel.IN_STOCK, item);
+
+        // Assert
+        verify(kafkaTemplate, times(1)).send(eq(TOPIC), eq("item-123"), captor.capture());
+        StockLevelEvent event = captor.getValue();
+        assertEquals(StockLevel.IN_STOCK, event.getPreviousLevel());
+        assertEquals(StockLevel.LOW_STOCK, event.getLevel());
+        assertEquals(4, event.getQuantity());
+    }
+
+    @Test
+    void publishIfChanged_WhenLevelUnchanged_ShouldNotSend() {
+        // Act
+        stockLevelEventPublisher.publishIfChanged(StockLevel.LOW_STOCK, item);
+
+        // Assert
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(StockLevelEvent.class));
+    }
+
+    @Test
+    void publishIfChanged_InsideTransaction_ShouldWaitForCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        stockLevelEventPublisher.publishIfChanged(StockLevel.IN_STOCK, item);
+
+        // Assert
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(StockLevelEvent.class));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(kafkaTemplate, times(1)).send(eq(TOPIC), eq("item-123"), any(StockLevelEvent.class));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.inventoryservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SamplingTurboFilterTest {
+
+    private LoggerContext loggerContext;
+    private SamplingTurboFilter filter;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        loggerContext = new LoggerContext();
+        filter = new SamplingTurboFilter(5);
+        filter.setContext(loggerContext);
+        filter.start();
+        loggerContext.addTurboFilter(filter);
+
+        appender = new ListAppender<>();
+        appender.setContext(loggerContext);
+        appender.start();
+
+        logger = loggerContext.getLogger("com.example.inventoryservice.test");
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        loggerContext.stop();
+    }
+
+    @Test
+    void decide_WithSampledMarker_ShouldKeepOneInN() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            logger.info(LogSampling.SAMPLED, "Checking availability for item ID: {}", "item-" + i);
+        }
+        logger.info("Unsampled line");
+
+        // Assert
+        assertEquals(3, appender.list.size());
+        assertEquals("item-0", appender.list.get(0).getArgumentArray()[0]);
+        assertEquals("item-5", appender.list.get(1).getArgumentArray()[0]);
+    }
+
+    @Test
+    void decide_WithFocusedSku_ShouldLogEveryLevel() {
+        // Arrange
+        filter.getFocusedSkus().add("item-123");
+
+        // Act
+        logger.debug("Cache miss for item ID: {}", "item-123");
+        logger.debug("Cache miss for item ID: {}", "item-456");
+        for (int i = 0; i < 3; i++) {
+            logger.info(LogSampling.SAMPLED, "Reducing stock for item ID: {}", "item-123");
+        }
+
+        // Assert
+        assertEquals(4, appender.list.size());
+        assertTrue(appender.list.stream().allMatch(event -> "item-123".equals(event.getArgumentArray()[0])));
+    }
+
+    @Test
+    void decide_WithFocusedTraceId_ShouldLogEverythingOnThatTrace() {
+        // Arrange
+        filter.getFocusedTraceIds().add("trace-1");
+
+        // Act
+        MDC.put("traceId", "trace-1");
+        logger.debug("Inside the focused trace");
+        MDC.put("traceId", "trace-2");
+        logger.debug("Inside another trace");
+
+        // Assert
+        assertEquals(1, appender.list.size());
+        assertEquals("Inside the focused trace", appender.list.get(0).getMessage());
+    }
+
+    @Test
+    void stop_ShouldDetachFromContext() {
+        // Act
+        filter.stop();
+
+        // Assert
+        assertFalse(loggerContext.getTurboFilterList().contains(filter));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.inventoryservice.repository;
+
+import com.example.inventoryservice.model.InventoryItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryInventoryRepositoryTest {
+
+    private InMemoryInventoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryInventoryRepository();
+    }
+
+    @Test
+    void findByCategory_ShouldMatchIgnoringCase() {
+        repository.save(item("item-1", "Electronics", 100));
+        repository.save(item("item-2", "ELECTRONICS", 100));
+        repository.save(item("item-3", "Books", 100));
+
+        List<InventoryItem> result = repository.findByCategory("electronics");
+
+        assertEquals(2, result.size());
+        assertTrue(repository.findByCategory("Toys").isEmpty());
+    }
+
+    @Test
+    void findByCategory_WithNullCategory_ShouldReturnEmptyList() {
+        repository.save(item("item-1", "Electronics", 100));
+        repository.save(item("item-2", null, 100));
+
+        assertTrue(repository.findByCategory(null).isEmpty());
+    }
+
+    @Test
+    void save_WithChangedCategory_ShouldMoveItemBetweenIndexes() {
+        InventoryItem item = item("item-1", "Electronics", 100);
+        repository.save(item);
+
+        item.setCategory("Books");
+        repository.save(item);
+
+        assertTrue(repository.findByCategory("Electronics").isEmpty());
+        assertEquals(1, repository.findByCategory("books").size());
+    }
+
+    @Test
+    void save_WithChangedQuantity_ShouldUpdateStockIndexes() {
+        InventoryItem item = item("item-1", "Electronics", 0);
+        repository.save(item);
+
+        assertEquals(1, repository.findLowStockItems().size());
+        assertEquals(1, repository.findOutOfStockItems().size());
+
+        item.setQuantity(5);
+        repository.save(item);
+
+        assertEquals(1, repository.findLowStockItems().size());
+        assertTrue(repository.findOutOfStockItems().isEmpty());
+
+        item.setQuantity(50);
+        repository.save(item);
+
+        assertTrue(repository.findLowStockItems().isEmpty());
+    }
+
+    @Test
+    void deleteById_ShouldRemoveFromAllIndexes() {
+        repository.save(item("item-1", "Electronics", 0));
+
+        repository.deleteById("item-1");
+
+        assertTrue(repository.findByCategory("Electronics").isEmpty());
+        assertTrue(repository.findLowStockItems().isEmpty());
+        assertTrue(repository.findOutOfStockItems().isEmpty());
+        assertEquals(0, repository.count());
+    }
+
+    private InventoryItem item(String id, String category, int quantity) {
+        return InventoryItem.builder()
+                .id(id)
+                .name("Item " + id)
+                .category(category)
+                .quantity(quantity)
+                .price(BigDecimal.TEN)
+                .minimumStockLevel(10)
+                .build();
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.cache.InventoryStockCache;
+import com.example.inventoryservice.dto.StockAdjustmentResult;
+import com.example.inventoryservice.dto.StockUpdateRequest;
+import com.example.inventoryservice.event.StockLevelEventPublisher;
+import com.example.inventoryservice.exception.InsufficientStockException;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single SKU from many threads against an embedded database to verify
+ * that the guarded decrement in {@link InventoryServiceImpl#reduceStock} never oversells
+ * and that versioned read-modify-writes never lose an update.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "inventory.optimistic-retry.max-attempts=50",
+        "inventory.import.chunk-size=20"
+})
+@Import({InventoryServiceImpl.class, InventoryStockCache.class, OptimisticLockRetrier.class, StockLedgerServiceImpl.class,
+        StockImportServiceImpl.class, StockAdjustmentChunkProcessor.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventoryServiceConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 50;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+
+    @Autowired
+    private InventoryServiceImpl inventoryService;
+
+    @Autowired
+    private StockImportServiceImpl stockImportService;
+
+    @Autowired
+    private JpaInventoryRepository jpaInventoryRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private StockLevelEventPublisher stockLevelEventPublisher;
+
+    @MockBean
+    private WarehouseService warehouseService;
+
+    @AfterEach
+    void tearDown() {
+        jpaInventoryRepository.deleteAll();
+    }
+
+    @Test
+    void reduceStock_UnderConcurrentLoad_ShouldNeverGoNegative() throws Exception {
+        // Arrange
+        InventoryItem item = jpaInventoryRepository.save(InventoryItem.builder()
+                .name("Flash Sale Item")
+                .category("Electronics")
+                .quantity(INITIAL_STOCK)
+                .price(BigDecimal.valueOf(9.99))
+                .minimumStockLevel(5)
+                .build());
+        String itemId = item.getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        inventoryService.reduceStock(itemId, StockUpdateRequest.builder().quantity(1).build());
+                        succeeded.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        int remaining = jpaInventoryRepository.findById(itemId).orElseThrow().getQuantity();
+        assertEquals(0, remaining);
+        assertEquals(INITIAL_STOCK, succeeded.get());
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - INITIAL_STOCK, rejected.get());
+    }
+
+    @Test
+    void addStock_UnderConcurrentLoad_ShouldNotLoseUpdates() throws Exception {
+        // Arrange
+        InventoryItem item = jpaInventoryRepository.save(InventoryItem.builder()
+                .name("Restocked Item")
+                .category("Electronics")
+                .quantity(INITIAL_STOCK)
+                .price(BigDecimal.valueOf(9.99))
+                .minimumStockLevel(5)
+                .build());
+        String itemId = item.getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger abandoned = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        inventoryService.addStock(itemId, StockUpdateRequest.builder().quantity(1).build());
+                        succeeded.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        abandoned.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        int remaining = jpaInventoryRepository.findById(itemId).orElseThrow().getQuantity();
+        assertEquals(INITIAL_STOCK + succeeded.get(), remaining);
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, succeeded.get() + abandoned.get());
+        double conflicts = meterRegistry.find("inventory.stock.optimistic.conflicts")
+                .counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+        assertTrue(succeeded.get() > 0);
+        assertTrue(conflicts >= abandoned.get());
+    }
+
+    @Test
+    void addStock_RetriedWithSameReference_ShouldApplyOnce() throws Exception {
+        // Arrange
+        String itemId = jpaInventoryRepository.save(InventoryItem.builder()
+                .name("Returned Item")
+                .category("Electronics")
+                .quantity(INITIAL_STOCK)
+                .price(BigDecimal.valueOf(9.99))
+                .minimumStockLevel(5)
+                .build()).getId();
+        StockUpdateRequest request = StockUpdateRequest.builder()
+                .quantity(5)
+                .reference("order-item:line-1")
+                .build();
+
+        // Act: the first response is lost, then the caller's retries race each other
+        inventoryService.addStock(itemId, request);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                inventoryService.addStock(itemId, request);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(INITIAL_STOCK + 5, jpaInventoryRepository.findById(itemId).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void importCsv_WhileStockIsBeingSold_ShouldApplyEveryRowAndKeepEverySale() throws Exception {
+        // Arrange
+        String hotId = jpaInventoryRepository.save(InventoryItem.builder()
+                .name("Best Seller")
+                .category("Electronics")
+                .quantity(INITIAL_STOCK)
+                .price(BigDecimal.valueOf(9.99))
+                .minimumStockLevel(5)
+                .build()).getId();
+        String quietId = jpaInventoryRepository.save(InventoryItem.builder()
+                .name("Slow Mover")
+                .category("Electronics")
+                .quantity(INITIAL_STOCK)
+                .price(BigDecimal.valueOf(9.99))
+                .minimumStockLevel(5)
+                .build()).getId();
+        int importRows = 200;
+        StringBuilder csv = new StringBuilder("productId,delta,reason\n");
+        for (int i = 0; i < importRows; i++) {
+            csv.append(i % 2 == 0 ? hotId : quietId).append(",1,recount\n");
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger sold = new AtomicInteger();
+
+        // Act: one unit sold at a time for as long as the import runs
+        Future<?> sales = executor.submit(() -> {
+            start.await();
+            for (int i = 0; i < INITIAL_STOCK; i++) {
+                inventoryService.reduceStock(hotId, StockUpdateRequest.builder().quantity(1).build());
+                sold.incrementAndGet();
+            }
+            return null;
+        });
+        start.countDown();
+        StockAdjustmentResult result = stockImportService.importCsv(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        sales.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        assertEquals(importRows, result.getApplied());
+        assertEquals(0, result.getFailed());
+        assertEquals(INITIAL_STOCK, sold.get());
+        assertEquals(importRows / 2, jpaInventoryRepository.findById(hotId).orElseThrow().getQuantity());
+        assertEquals(INITIAL_STOCK + importRows / 2, jpaInventoryRepository.findById(quietId).orElseThrow().getQuantity());
+    }
+}
@@ -1,28 +1,47 @@
 package com.example.inventoryservice.service;
 
+import com.example.inventoryservice.cache.InventoryStockCache;
+import com.example.inventoryservice.dto.AvailabilityCheckItem;
 import com.example.inventoryservice.dto.CreateInventoryItemRequest;
+import com.example.inventoryservice.dto.CursorPage;
 import com.example.inventoryservice.dto.InventoryItemDto;
 import com.example.inventoryservice.dto.StockUpdateRequest;
 import com.example.inventoryservice.dto.UpdateInventoryItemRequest;
+import com.example.inventoryservice.event.StockLevelEventPublisher;
 import com.example.inventoryservice.exception.InsufficientStockException;
+import com.example.inventoryservice.exception.InvalidCursorException;
 import com.example.inventoryservice.exception.ResourceNotFoundException;
 import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.StockLevel;
+import com.example.inventoryservice.model.StockMovementType;
 import com.example.inventoryservice.repository.JpaInventoryRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +50,24 @@ class InventoryServiceTest {
     @Mock
     private JpaInventoryRepository jpaInventoryRepository;
 
+    @Mock
+    private InventoryStockCache inventoryStockCache;
+
+    @Mock
+    private StockLevelEventPublisher stockLevelEventPublisher;
+
+    @Mock
+    private OptimisticLockRetrier optimisticLockRetrier;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private WarehouseService warehouseService;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private InventoryServiceImpl inventoryService;
 
@@ -39,6 +76,11 @@ class InventoryServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Mockito answers 0 for Integer returns, which would look like a cache hit
+        lenient().when(inventoryStockCache.getQuantity(anyString())).thenReturn(null);
+        lenient().when(optimisticLockRetrier.execute(anyString(), any()))
+            .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
         testItem = InventoryItem.builder()
             .id("item-123")
             .name("Test Item")
@@ -116,6 +158,64 @@ class InventoryServiceTest {
         verify(jpaInventoryRepository, times(1)).findAll();
     }
 
+    @Test
+    void getItemsPage_WithMoreRowsThanSize_ShouldReturnNextCursor() {
+        // Arrange
+        List<InventoryItem> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(InventoryItem.builder()
+                .id("item-" + i)
+                .name("Item " + i)
+                .category("Electronics")
+                .quantity(10)
+                .price(BigDecimal.ONE)
+                .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0, i))
+                .build());
+        }
+        when(jpaInventoryRepository.findFirstPage(any())).thenReturn(rows);
+
+        // Act
+        CursorPage<InventoryItemDto> firstPage = inventoryService.getItemsPage(null, 2);
+
+        // Assert
+        assertEquals(2, firstPage.getItems().size());
+        assertTrue(firstPage.isHasNext());
+        assertNotNull(firstPage.getNextCursor());
+
+        // Act - follow the cursor
+        when(jpaInventoryRepository.findPageAfter(eq(LocalDateTime.of(2024, 1, 1, 0, 0, 1)), eq("item-1"), any()))
+            .thenReturn(rows.subList(2, 3));
+        CursorPage<InventoryItemDto> secondPage = inventoryService.getItemsPage(firstPage.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(1, secondPage.getItems().size());
+        assertFalse(secondPage.isHasNext());
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void getItemsPage_WithMalformedCursor_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () ->
+            inventoryService.getItemsPage("not-a-cursor", 10)
+        );
+    }
+
+    @Test
+    void exportItems_ShouldStreamAndDetachEachItem() {
+        // Arrange
+        when(jpaInventoryRepository.streamAll()).thenReturn(Stream.of(testItem));
+        List<InventoryItemDto> exported = new ArrayList<>();
+
+        // Act
+        inventoryService.exportItems(exported::add);
+
+        // Assert
+        assertEquals(1, exported.size());
+        verify(entityManager, times(1)).detach(testItem);
+        verify(jpaInventoryRepository, never()).findAll();
+    }
+
     @Test
     void getItemsByCategory_WithValidCategory_ShouldReturnItems() {
         // Arrange
@@ -160,16 +260,16 @@ class InventoryServiceTest {
             .quantity(20)
             .build();
 
+        when(jpaInventoryRepository.decrementStockIfAvailable(itemId, 20)).thenReturn(1);
         when(jpaInventoryRepository.findById(itemId)).thenReturn(Optional.of(testItem));
-        when(jpaInventoryRepository.save(any(InventoryItem.class))).thenReturn(testItem);
 
         // Act
         InventoryItemDto result = inventoryService.reduceStock(itemId, stockRequest);
 
         // Assert
         assertNotNull(result);
-        verify(jpaInventoryRepository, times(1)).findById(itemId);
-        verify(jpaInventoryRepository, times(1)).save(any(InventoryItem.class));
+        verify(jpaInventoryRepository, times(1)).decrementStockIfAvailable(itemId, 20);
+        verify(jpaInventoryRepository, never()).save(any(InventoryItem.class));
     }
 
     @Test
@@ -180,6 +280,7 @@ class InventoryServiceTest {
             .quantity(200)
             .build();
 
+        when(jpaInventoryRepository.decrementStockIfAvailable(itemId, 200)).thenReturn(0);
         when(jpaInventoryRepository.findById(itemId)).thenReturn(Optional.of(testItem));
 
         // Act & Assert
@@ -190,6 +291,63 @@ class InventoryServiceTest {
         verify(jpaInventoryRepository, never()).save(any(InventoryItem.class));
     }
 
+    @Test
+    void reduceStock_CrossingMinimumLevel_ShouldPublishTransition() {
+        // Arrange
+        String itemId = "item-123";
+        testItem.setQuantity(5);
+        StockUpdateRequest stockRequest = StockUpdateRequest.builder()
+            .quantity(20)
+            .build();
+
+        when(jpaInventoryRepository.decrementStockIfAvailable(itemId, 20)).thenReturn(1);
+        when(jpaInventoryRepository.findById(itemId)).thenReturn(Optional.of(testItem));
+
+        // Act
+        inventoryService.reduceStock(itemId, stockRequest);
+
+        // Assert
+        verify(stockLevelEventPublisher, times(1)).publishIfChanged(StockLevel.IN_STOCK, testItem);
+        verify(stockLedgerService, times(1)).record(itemId, -20, StockMovementType.SALE, null);
+    }
+
+    @Test
+    void addStock_FromOutOfStock_ShouldPassPreviousLevel() {
+        // Arrange
+        String itemId = "item-123";
+        testItem.setQuantity(0);
+        StockUpdateRequest stockRequest = StockUpdateRequest.builder()
+            .quantity(50)
+            .build();
+
+        when(jpaInventoryRepository.findById(itemId)).thenReturn(Optional.of(testItem));
+        when(jpaInventoryRepository.save(any(InventoryItem.class))).thenReturn(testItem);
+
+        // Act
+        inventoryService.addStock(itemId, stockRequest);
+
+        // Assert
+        verify(stockLevelEventPublisher, times(1)).publishIfChanged(StockLevel.OUT_OF_STOCK, testItem);
+        verify(stockLedgerService, times(1)).record(itemId, 50, StockMovementType.RESTOCK, null);
+    }
+
+    @Test
+    void reduceStock_WithUnknownItem_ShouldThrowNotFound() {
+        // Arrange
+        String itemId = "missing-item";
+        StockUpdateRequest stockRequest = StockUpdateRequest.builder()
+            .quantity(1)
+            .build();
+
+        when(jpaInventoryRepository.decrementStockIfAvailable(itemId, 1)).thenReturn(0);
+        when(jpaInventoryRepository.findById(itemId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () ->
+            inventoryService.reduceStock(itemId, stockRequest)
+        );
+    }
+
     @Test
     void updateItem_WithValidRequest_ShouldUpdateItem() {
         // Arrange
@@ -224,6 +382,7 @@ class InventoryServiceTest {
         // Assert
         verify(jpaInventoryRepository, times(1)).existsById(itemId);
         verify(jpaInventoryRepository, times(1)).deleteById(itemId);
+        verify(warehouseService, times(1)).removeItem(itemId);
     }
 
     @Test
@@ -256,6 +415,82 @@ class InventoryServiceTest {
         verify(jpaInventoryRepository, times(1)).findById(itemId);
     }
 
+    @Test
+    void checkAvailability_WithCachedQuantity_ShouldNotHitDatabase() {
+        // Arrange
+        String itemId = "item-123";
+        when(inventoryStockCache.getQuantity(itemId)).thenReturn(5);
+
+        // Act
+        boolean result = inventoryService.checkAvailability(itemId, 10);
+
+        // Assert
+        assertFalse(result);
+        verify(jpaInventoryRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void checkAvailability_WithCacheMiss_ShouldPopulateCache() {
+        // Arrange
+        String itemId = "item-123";
+        when(jpaInventoryRepository.findById(itemId)).thenReturn(Optional.of(testItem));
+
+        // Act
+        inventoryService.checkAvailability(itemId, 10);
+
+        // Assert
+        verify(inventoryStockCache, times(1)).put(eq(itemId), eq(100), anyLong());
+    }
+
+    @Test
+    void reduceStock_ShouldInvalidateCachedQuantity() {
+        // Arrange
+        String itemId = "item-123";
+        when(jpaInventoryRepository.decrementStockIfAvailable(itemId, 1)).thenReturn(1);
+        when(jpaInventoryRepository.findById(itemId)).thenReturn(Optional.of(testItem));
+
+        // Act
+        inventoryService.reduceStock(itemId, StockUpdateRequest.builder().quantity(1).build());
+
+        // Assert
+        verify(inventoryStockCache, times(1)).invalidate(itemId);
+    }
+
+    @Test
+    void checkAvailability_WithMultipleItems_ShouldUseSingleLookup() {
+        // Arrange
+        List<AvailabilityCheckItem> items = Arrays.asList(
+            AvailabilityCheckItem.builder().productId("item-123").quantity(60).build(),
+            AvailabilityCheckItem.builder().productId("item-123").quantity(60).build(),
+            AvailabilityCheckItem.builder().productId("missing-item").quantity(1).build());
+        when(jpaInventoryRepository.findAllById(anyCollection())).thenReturn(Arrays.asList(testItem));
+
+        // Act
+        Map<String, Boolean> result = inventoryService.checkAvailability(items);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertFalse(result.get("item-123"));
+        assertFalse(result.get("missing-item"));
+        verify(jpaInventoryRepository, times(1)).findAllById(anyCollection());
+        verify(jpaInventoryRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void checkAvailability_WithMultipleItemsInStock_ShouldReturnTrue() {
+        // Arrange
+        List<AvailabilityCheckItem> items = Arrays.asList(
+            AvailabilityCheckItem.builder().productId("item-123").quantity(40).build(),
+            AvailabilityCheckItem.builder().productId("item-123").quantity(60).build());
+        when(jpaInventoryRepository.findAllById(anyCollection())).thenReturn(Arrays.asList(testItem));
+
+        // Act
+        Map<String, Boolean> result = inventoryService.checkAvailability(items);
+
+        // Assert
+        assertTrue(result.get("item-123"));
+    }
+
     @Test
     void getLowStockItems_ShouldReturnItemsBelowMinimum() {
         // Arrange
@@ -276,7 +511,7 @@ class InventoryServiceTest {
         // Arrange
         String keyword = "Test";
         List<InventoryItem> items = Arrays.asList(testItem);
-        when(jpaInventoryRepository.searchByNameOrDescription(keyword)).thenReturn(items);
+        when(jpaInventoryRepository.searchByNameOrDescription(eq(keyword), any(Pageable.class))).thenReturn(items);
 
         // Act
         List<InventoryItemDto> result = inventoryService.searchItems(keyword);
@@ -284,6 +519,41 @@ class InventoryServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(jpaInventoryRepository, times(1)).searchByNameOrDescription(keyword);
+        verify(jpaInventoryRepository, times(1)).searchByNameOrDescription(eq(keyword), any(Pageable.class));
+    }
+
+    @Test
+    void searchItems_WithFullTextEnabled_ShouldUseRankedIndexQuery() {
+        // Arrange
+        ReflectionTestUtils.setField(inventoryService, "fullTextEnabled", true);
+        when(jpaInventoryRepository.fullTextSearch("+wireless* +mouse*", 10)).thenReturn(Arrays.asList(testItem));
+
+        // Act
+        List<InventoryItemDto> result = inventoryService.searchItems("Wireless mouse", 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(jpaInventoryRepository, never()).searchByNameOrDescription(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void searchItems_WithOnlyShortTerms_ShouldFallBackToLikeQuery() {
+        // Arrange
+        ReflectionTestUtils.setField(inventoryService, "fullTextEnabled", true);
+        when(jpaInventoryRepository.searchByNameOrDescription(eq("tv"), any(Pageable.class))).thenReturn(Arrays.asList(testItem));
+
+        // Act
+        List<InventoryItemDto> result = inventoryService.searchItems("tv", 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        verify(jpaInventoryRepository, never()).fullTextSearch(anyString(), anyInt());
+    }
+
+    @Test
+    void toFullTextQuery_ShouldStripOperatorsAndShortTerms() {
+        assertEquals("+usb* +cable*", InventoryServiceImpl.toFullTextQuery("USB-C cable\"; --"));
+        assertEquals("+curved* +monitor*", InventoryServiceImpl.toFullTextQuery("4k curved +monitor* (a)"));
+        assertNull(InventoryServiceImpl.toFullTextQuery("a b"));
     }
 }
@@ -0,0 +1,86 @@
+package com.example.inventoryservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticLockRetrierTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticLockRetrier optimisticLockRetrier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        optimisticLockRetrier = new OptimisticLockRetrier(transactionManager, meterRegistry, 3, 0, 0);
+    }
+
+    @Test
+    void execute_AfterTransientConflicts_ShouldRetryAndCountConflicts() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = optimisticLockRetrier.execute("item-123", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("InventoryItem", "item-123");
+            }
+            return "done";
+        });
+
+        // Assert
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.get("inventory.stock.optimistic.conflicts")
+                .tag("outcome", "retried").counter().count());
+        assertEquals(0.0, meterRegistry.get("inventory.stock.optimistic.conflicts")
+                .tag("outcome", "exhausted").counter().count());
+    }
+
+    @Test
+    void execute_WhenEveryAttemptConflicts_ShouldGiveUp() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+            optimisticLockRetrier.execute("item-123", () -> {
+                attempts.incrementAndGet();
+                throw new ObjectOptimisticLockingFailureException("InventoryItem", "item-123");
+            })
+        );
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.get("inventory.stock.optimistic.conflicts")
+                .tag("outcome", "retried").counter().count());
+        assertEquals(1.0, meterRegistry.get("inventory.stock.optimistic.conflicts")
+                .tag("outcome", "exhausted").counter().count());
+    }
+
+    @Test
+    void execute_WithOtherFailure_ShouldNotRetry() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () ->
+            optimisticLockRetrier.execute("item-123", () -> {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("boom");
+            })
+        );
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,348 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.cache.InventoryStockCache;
+import com.example.inventoryservice.dto.ReservationLineDto;
+import com.example.inventoryservice.dto.ReserveStockRequest;
+import com.example.inventoryservice.dto.StockReservationDto;
+import com.example.inventoryservice.event.StockLevelEventPublisher;
+import com.example.inventoryservice.exception.InsufficientStockException;
+import com.example.inventoryservice.exception.ReservationStateException;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.ReservationLine;
+import com.example.inventoryservice.model.ReservationStatus;
+import com.example.inventoryservice.model.StockLevel;
+import com.example.inventoryservice.model.StockMovementType;
+import com.example.inventoryservice.model.StockReservation;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+    @Mock
+    private JpaInventoryRepository jpaInventoryRepository;
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private InventoryStockCache inventoryStockCache;
+
+    @Mock
+    private StockLevelEventPublisher stockLevelEventPublisher;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private WarehouseService warehouseService;
+
+    @InjectMocks
+    private ReservationServiceImpl reservationService;
+
+    private StockReservation heldReservation;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reservationService, "defaultTtlSeconds", 900L);
+
+        heldReservation = StockReservation.builder()
+            .id("res-123")
+            .orderId("order-123")
+            .status(ReservationStatus.HELD)
+            .expiresAt(LocalDateTime.now().plusMinutes(10))
+            .lines(Arrays.asList(
+                ReservationLine.builder().productId("item-1").quantity(2).build(),
+                ReservationLine.builder().productId("item-2").quantity(3).build()))
+            .build();
+    }
+
+    @Test
+    void reserveStock_WithAvailableStock_ShouldHoldEveryLine() {
+        // Arrange
+        ReserveStockRequest request = ReserveStockRequest.builder()
+            .orderId("order-123")
+            .items(Arrays.asList(
+                ReservationLineDto.builder().productId("item-2").quantity(3).build(),
+                ReservationLineDto.builder().productId("item-1").quantity(2).build()))
+            .build();
+
+        InventoryItem item2 = InventoryItem.builder().id("item-2").quantity(4).minimumStockLevel(5).build();
+
+        // item-1 stays in stock; item-2 drops to its minimum and is read back for the event
+        when(jpaInventoryRepository.decrementStockIfStaysInStock("item-1", 2)).thenReturn(1);
+        when(jpaInventoryRepository.decrementStockIfStaysInStock("item-2", 3)).thenReturn(0);
+        when(jpaInventoryRepository.decrementStockIfAvailable("item-2", 3)).thenReturn(1);
+        when(jpaInventoryRepository.findById("item-2")).thenReturn(Optional.of(item2));
+        when(stockReservationRepository.saveAndFlush(any(StockReservation.class))).thenAnswer(invocation -> {
+            StockReservation saved = invocation.getArgument(0);
+            saved.setId("res-123");
+            return saved;
+        });
+
+        // Act
+        StockReservationDto result = reservationService.reserveStock(request);
+
+        // Assert
+        assertEquals("res-123", result.getId());
+        assertEquals(ReservationStatus.HELD, result.getStatus());
+        assertEquals(2, result.getItems().size());
+        assertTrue(result.getExpiresAt().isAfter(LocalDateTime.now()));
+        verify(jpaInventoryRepository, never()).decrementStockIfAvailable("item-1", 2);
+        verify(jpaInventoryRepository, never()).findById("item-1");
+        verify(jpaInventoryRepository, times(1)).decrementStockIfAvailable("item-2", 3);
+        verify(stockLevelEventPublisher, times(1)).publishIfChanged(any(), any());
+        verify(stockLevelEventPublisher).publishIfChanged(StockLevel.IN_STOCK, item2);
+        verify(stockLedgerService).record("item-1", -2, StockMovementType.RESERVED, "res-123");
+        verify(stockLedgerService).record("item-2", -3, StockMovementType.RESERVED, "res-123");
+    }
+
+    @Test
+    void reserveStock_WithInsufficientStock_ShouldThrowAndNotPersist() {
+        // Arrange
+        ReserveStockRequest request = ReserveStockRequest.builder()
+            .items(Arrays.asList(
+                ReservationLineDto.builder().productId("item-1").quantity(2).build(),
+                ReservationLineDto.builder().productId("item-2").quantity(300).build()))
+            .build();
+        InventoryItem item2 = InventoryItem.builder()
+            .id("item-2")
+            .quantity(5)
+            .price(BigDecimal.ONE)
+            .build();
+
+        when(jpaInventoryRepository.decrementStockIfStaysInStock("item-1", 2)).thenReturn(1);
+        when(jpaInventoryRepository.decrementStockIfStaysInStock("item-2", 300)).thenReturn(0);
+        when(jpaInventoryRepository.decrementStockIfAvailable("item-2", 300)).thenReturn(0);
+        when(jpaInventoryRepository.findById("item-2")).thenReturn(Optional.of(item2));
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class, () ->
+            reservationService.reserveStock(request)
+        );
+        verify(stockReservationRepository, never()).saveAndFlush(any(StockReservation.class));
+    }
+
+    @Test
+    void reserveStock_WhenOrderAlreadyHoldsStock_ShouldReturnExistingHold() {
+        // Arrange
+        ReserveStockRequest request = ReserveStockRequest.builder()
+            .orderId("order-123")
+            .items(Arrays.asList(
+                ReservationLineDto.builder().productId("item-1").quantity(2).build(),
+                ReservationLineDto.builder().productId("item-2").quantity(3).build()))
+            .build();
+        when(stockReservationRepository.findByOrderId("order-123")).thenReturn(Optional.of(heldReservation));
+
+        // Act
+        StockReservationDto result = reservationService.reserveStock(request);
+
+        // Assert
+        assertEquals("res-123", result.getId());
+        assertEquals(ReservationStatus.HELD, result.getStatus());
+        verifyNoInteractions(jpaInventoryRepository, warehouseService, stockLedgerService);
+        verify(stockReservationRepository, never()).saveAndFlush(any(StockReservation.class));
+    }
+
+    @Test
+    void reserveStock_WhenConcurrentReserveForSameOrderWins_ShouldThrowException() {
+        // Arrange
+        ReserveStockRequest request = ReserveStockRequest.builder()
+            .orderId("order-123")
+            .items(List.of(ReservationLineDto.builder().productId("item-1").quantity(2).build()))
+            .build();
+        when(jpaInventoryRepository.decrementStockIfStaysInStock("item-1", 2)).thenReturn(1);
+        when(stockReservationRepository.saveAndFlush(any(StockReservation.class)))
+            .thenThrow(new DataIntegrityViolationException("uk_stock_reservations_order"));
+
+        // Act & Assert
+        assertThrows(ReservationStateException.class, () ->
+            reservationService.reserveStock(request)
+        );
+        verifyNoInteractions(stockLedgerService);
+    }
+
+    @Test
+    void reserveStock_WhenOrderReservationWasReleased_ShouldThrowException() {
+        // Arrange
+        heldReservation.setStatus(ReservationStatus.RELEASED);
+        ReserveStockRequest request = ReserveStockRequest.builder()
+            .orderId("order-123")
+            .items(List.of(ReservationLineDto.builder().productId("item-1").quantity(2).build()))
+            .build();
+        when(stockReservationRepository.findByOrderId("order-123")).thenReturn(Optional.of(heldReservation));
+
+        // Act & Assert
+        assertThrows(ReservationStateException.class, () ->
+            reservationService.reserveStock(request)
+        );
+        verifyNoInteractions(jpaInventoryRepository);
+    }
+
+    @Test
+    void confirmReservation_WithHeldReservation_ShouldConfirm() {
+        // Arrange
+        when(stockReservationRepository.findById("res-123")).thenReturn(Optional.of(heldReservation));
+        when(stockReservationRepository.transitionStatus("res-123", ReservationStatus.HELD, ReservationStatus.CONFIRMED))
+            .thenReturn(1);
+
+        // Act
+        StockReservationDto result = reservationService.confirmReservation("res-123");
+
+        // Assert
+        assertEquals(ReservationStatus.CONFIRMED, result.getStatus());
+        verify(jpaInventoryRepository, never()).incrementStock(anyString(), anyInt());
+    }
+
+    @Test
+    void confirmReservation_WhenAlreadyConfirmed_ShouldReturnConfirmed() {
+        // Arrange
+        heldReservation.setStatus(ReservationStatus.CONFIRMED);
+        heldReservation.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(stockReservationRepository.findById("res-123")).thenReturn(Optional.of(heldReservation));
+
+        // Act
+        StockReservationDto result = reservationService.confirmReservation("res-123");
+
+        // Assert
+        assertEquals(ReservationStatus.CONFIRMED, result.getStatus());
+        verify(stockReservationRepository, never()).transitionStatus(anyString(), any(), any());
+    }
+
+    @Test
+    void confirmReservation_WithExpiredHold_ShouldThrowException() {
+        // Arrange
+        heldReservation.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(stockReservationRepository.findById("res-123")).thenReturn(Optional.of(heldReservation));
+
+        // Act & Assert
+        assertThrows(ReservationStateException.class, () ->
+            reservationService.confirmReservation("res-123")
+        );
+        verify(stockReservationRepository, never()).transitionStatus(anyString(), any(), any());
+    }
+
+    @Test
+    void releaseReservation_WithHeldReservation_ShouldReturnStock() {
+        // Arrange
+        when(stockReservationRepository.findById("res-123")).thenReturn(Optional.of(heldReservation));
+        when(stockReservationRepository.transitionStatus("res-123", ReservationStatus.HELD, ReservationStatus.RELEASED))
+            .thenReturn(1);
+
+        // Act
+        StockReservationDto result = reservationService.releaseReservation("res-123");
+
+        // Assert
+        assertEquals(ReservationStatus.RELEASED, result.getStatus());
+        verify(jpaInventoryRepository, times(1)).incrementStock("item-1", 2);
+        verify(jpaInventoryRepository, times(1)).incrementStock("item-2", 3);
+        verify(stockLedgerService).record("item-1", 2, StockMovementType.RESERVATION_RETURNED, "res-123");
+    }
+
+    @Test
+    void releaseReservation_WithConfirmedReservation_ShouldThrowException() {
+        // Arrange
+        heldReservation.setStatus(ReservationStatus.CONFIRMED);
+        when(stockReservationRepository.findById("res-123")).thenReturn(Optional.of(heldReservation));
+        when(stockReservationRepository.transitionStatus("res-123", ReservationStatus.HELD, ReservationStatus.RELEASED))
+            .thenReturn(0);
+
+        // Act & Assert
+        assertThrows(ReservationStateException.class, () ->
+            reservationService.releaseReservation("res-123")
+        );
+        verify(jpaInventoryRepository, never()).incrementStock(anyString(), anyInt());
+    }
+
+    @Test
+    void returnReservation_WithConfirmedReservation_ShouldPutStockBackWhereItWasTaken() {
+        // Arrange
+        heldReservation.setStatus(ReservationStatus.CONFIRMED);
+        heldReservation.setLines(Arrays.asList(
+            ReservationLine.builder().productId("item-1").quantity(2).warehouseId("wh-east").build(),
+            ReservationLine.builder().productId("item-1").quantity(1).warehouseId("wh-west").build()));
+        when(stockReservationRepository.findById("res-123")).thenReturn(Optional.of(heldReservation));
+        when(stockReservationRepository.transitionStatus("res-123", ReservationStatus.CONFIRMED, ReservationStatus.RETURNED))
+            .thenReturn(1);
+
+        // Act
+        StockReservationDto result = reservationService.returnReservation("res-123");
+
+        // Assert
+        assertEquals(ReservationStatus.RETURNED, result.getStatus());
+        verify(warehouseService).putStock("item-1", "wh-east", 2);
+        verify(warehouseService).putStock("item-1", "wh-west", 1);
+        verify(jpaInventoryRepository, times(1)).incrementStock("item-1", 2);
+        verify(jpaInventoryRepository, times(1)).incrementStock("item-1", 1);
+    }
+
+    @Test
+    void returnReservation_WhenAlreadyReturned_ShouldNotReturnStockAgain() {
+        // Arrange
+        heldReservation.setStatus(ReservationStatus.RETURNED);
+        when(stockReservationRepository.findById("res-123")).thenReturn(Optional.of(heldReservation));
+
+        // Act
+        StockReservationDto result = reservationService.returnReservation("res-123");
+
+        // Assert
+        assertEquals(ReservationStatus.RETURNED, result.getStatus());
+        verify(stockReservationRepository, never()).transitionStatus(anyString(), any(), any());
+        verify(jpaInventoryRepository, never()).incrementStock(anyString(), anyInt());
+    }
+
+    @Test
+    void returnReservation_WithHeldReservation_ShouldThrowException() {
+        // Arrange
+        when(stockReservationRepository.findById("res-123")).thenReturn(Optional.of(heldReservation));
+        when(stockReservationRepository.transitionStatus("res-123", ReservationStatus.CONFIRMED, ReservationStatus.RETURNED))
+            .thenReturn(0);
+
+        // Act & Assert
+        assertThrows(ReservationStateException.class, () ->
+            reservationService.returnReservation("res-123")
+        );
+        verify(warehouseService, never()).putStock(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void expireReservations_ShouldReturnStockForExpiredHolds() {
+        // Arrange
+        when(stockReservationRepository.findIdsByStatusAndExpiresAtBefore(
+                eq(ReservationStatus.HELD), any(LocalDateTime.class), any(Pageable.class)))
+            .thenReturn(List.of("res-123"));
+        when(stockReservationRepository.findById("res-123")).thenReturn(Optional.of(heldReservation));
+        when(stockReservationRepository.transitionStatus("res-123", ReservationStatus.HELD, ReservationStatus.EXPIRED))
+            .thenReturn(1);
+
+        // Act
+        int expired = reservationService.expireReservations(50);
+
+        // Assert
+        assertEquals(1, expired);
+        verify(jpaInventoryRepository, times(1)).incrementStock("item-1", 2);
+        verify(jpaInventoryRepository, times(1)).incrementStock("item-2", 3);
+    }
+}
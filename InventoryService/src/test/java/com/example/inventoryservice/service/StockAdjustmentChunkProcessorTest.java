@@ -0,0 +1,103 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.cache.InventoryStockCache;
+import com.example.inventoryservice.dto.StockAdjustment;
+import com.example.inventoryservice.dto.StockAdjustmentFailure;
+import com.example.inventoryservice.event.StockLevelEventPublisher;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.StockLevel;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockAdjustmentChunkProcessorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JpaInventoryRepository jpaInventoryRepository;
+
+    @Mock
+    private InventoryStockCache inventoryStockCache;
+
+    @Mock
+    private StockLevelEventPublisher stockLevelEventPublisher;
+
+    @Mock
+    private StockLedgerService stockLedgerService;
+
+    @Mock
+    private WarehouseService warehouseService;
+
+    @InjectMocks
+    private StockAdjustmentChunkProcessor stockAdjustmentChunkProcessor;
+
+    @Test
+    void apply_ShouldUpdateKnownItemsAndReportTheRest() {
+        // Arrange: quantities as the guarded batch left them
+        InventoryItem first = InventoryItem.builder().id("item-1").quantity(13).build();
+        InventoryItem second = InventoryItem.builder().id("item-2").quantity(3).build();
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0, 0, 1});
+        when(jpaInventoryRepository.findAllById(List.of("item-1", "item-2", "missing")))
+                .thenReturn(List.of(first, second));
+
+        List<StockAdjustment> chunk = List.of(
+                adjustment(1, "item-1", 5),
+                adjustment(2, "item-2", -4),
+                adjustment(3, "missing", 1),
+                adjustment(4, "item-1", -2));
+
+        // Act
+        List<StockAdjustmentFailure> failures = stockAdjustmentChunkProcessor.apply(chunk);
+
+        // Assert
+        assertEquals(2, failures.size());
+        assertEquals(2L, failures.get(0).getLineNumber());
+        assertTrue(failures.get(0).getMessage().contains("negative"));
+        assertEquals("missing", failures.get(1).getProductId());
+        assertTrue(failures.get(0).getMessage().contains("current: 3"));
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        verify(jpaInventoryRepository, times(1)).findAllById(anyCollection());
+        verify(jpaInventoryRepository, never()).saveAll(anyList());
+        verify(warehouseService).applyDelta("item-1", 3);
+        verify(warehouseService, never()).applyDelta(eq("item-2"), anyInt());
+        verify(inventoryStockCache).invalidate("item-1");
+        verify(inventoryStockCache, never()).invalidate("item-2");
+        verify(stockLevelEventPublisher).publishIfChanged(StockLevel.IN_STOCK, first);
+    }
+
+    @Test
+    void apply_WhenDriverReportsNoRowCounts_ShouldFailTheChunk() {
+        // Arrange
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+        List<StockAdjustment> chunk = List.of(adjustment(1, "item-1", 5), adjustment(2, "item-2", -4));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> stockAdjustmentChunkProcessor.apply(chunk));
+        verify(stockLedgerService, never()).record(anyString(), anyInt(), any(), any());
+        verify(warehouseService, never()).applyDelta(anyString(), anyInt());
+    }
+
+    private static StockAdjustment adjustment(long lineNumber, String productId, int delta) {
+        return StockAdjustment.builder().lineNumber(lineNumber).productId(productId).delta(delta).build();
+    }
+}
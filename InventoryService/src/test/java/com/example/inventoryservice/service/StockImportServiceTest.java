@@ -0,0 +1,148 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.StockAdjustment;
+import com.example.inventoryservice.dto.StockAdjustmentFailure;
+import com.example.inventoryservice.dto.StockAdjustmentResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockImportServiceTest {
+
+    @Mock
+    private StockAdjustmentChunkProcessor stockAdjustmentChunkProcessor;
+
+    @InjectMocks
+    private StockImportServiceImpl stockImportService;
+
+    private final List<List<StockAdjustment>> appliedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockImportService, "chunkSize", 2);
+    }
+
+    @Test
+    void importCsv_ShouldSkipHeaderAndApplyRowsInChunks() {
+        // Arrange
+        recordChunks();
+        InputStream input = stream("productId,delta,reason\nitem-1,5,recount\nitem-2,-3\n\nitem-3,10,delivery\n");
+
+        // Act
+        StockAdjustmentResult result = stockImportService.importCsv(input);
+
+        // Assert
+        assertEquals(3, result.getTotalRows());
+        assertEquals(3, result.getApplied());
+        assertEquals(0, result.getFailed());
+        assertEquals(2, appliedChunks.size());
+        assertEquals(List.of("item-1", "item-2"), productIds(appliedChunks.get(0)));
+        assertEquals(List.of("item-3"), productIds(appliedChunks.get(1)));
+        assertEquals(-3, appliedChunks.get(0).get(1).getDelta().intValue());
+        assertEquals("delivery", appliedChunks.get(1).get(0).getReason());
+    }
+
+    @Test
+    void importCsv_WithMalformedLines_ShouldReportThemAndContinue() {
+        // Arrange
+        recordChunks();
+        InputStream input = stream("item-1,5\nitem-2,lots\nonly-one-column\nitem-3,-1\n");
+
+        // Act
+        StockAdjustmentResult result = stockImportService.importCsv(input);
+
+        // Assert
+        assertEquals(4, result.getTotalRows());
+        assertEquals(2, result.getApplied());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(2L, 3L), result.getFailures().stream()
+                .map(StockAdjustmentFailure::getLineNumber)
+                .toList());
+        assertEquals(List.of("item-1", "item-3"), productIds(appliedChunks.get(0)));
+    }
+
+    @Test
+    void importJsonLines_ShouldParseEachLine() {
+        // Arrange
+        recordChunks();
+        InputStream input = stream("{\"productId\":\"item-1\",\"delta\":4}\n"
+                + "{\"productId\":\"item-2\",\"delta\":-2,\"reason\":\"damaged\"}\n"
+                + "{\"productId\":\"item-3\"}\n");
+
+        // Act
+        StockAdjustmentResult result = stockImportService.importJsonLines(input);
+
+        // Assert
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getApplied());
+        assertEquals(1, result.getFailed());
+        assertEquals(3L, result.getFailures().get(0).getLineNumber());
+        assertEquals("damaged", appliedChunks.get(0).get(1).getReason());
+    }
+
+    @Test
+    void importCsv_WhenProcessorRejectsRows_ShouldCountThemAsFailed() {
+        // Arrange
+        when(stockAdjustmentChunkProcessor.apply(anyList())).thenReturn(List.of(
+                StockAdjustmentFailure.builder().lineNumber(2).productId("item-2").message("InventoryItem not found").build()));
+
+        // Act
+        StockAdjustmentResult result = stockImportService.importCsv(stream("item-1,1\nitem-2,1\n"));
+
+        // Assert
+        assertEquals(2, result.getTotalRows());
+        assertEquals(1, result.getApplied());
+        assertEquals(1, result.getFailed());
+        assertEquals("item-2", result.getFailures().get(0).getProductId());
+    }
+
+    @Test
+    void importCsv_WhenChunkRollsBack_ShouldFailItsRowsAndKeepGoing() {
+        // Arrange
+        when(stockAdjustmentChunkProcessor.apply(anyList()))
+                .thenThrow(new IllegalStateException("deadlock"))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        StockAdjustmentResult result = stockImportService.importCsv(stream("item-1,1\nitem-2,1\nitem-3,1\n"));
+
+        // Assert
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getApplied());
+        assertEquals(2, result.getFailed());
+        assertTrue(result.getFailures().get(0).getMessage().contains("deadlock"));
+        verify(stockAdjustmentChunkProcessor, times(2)).apply(anyList());
+    }
+
+    private void recordChunks() {
+        when(stockAdjustmentChunkProcessor.apply(anyList())).thenAnswer(invocation -> {
+            // The service reuses its chunk buffer, so keep a copy
+            appliedChunks.add(new ArrayList<>(invocation.<List<StockAdjustment>>getArgument(0)));
+            return Collections.emptyList();
+        });
+    }
+
+    private static List<String> productIds(List<StockAdjustment> chunk) {
+        return chunk.stream().map(StockAdjustment::getProductId).toList();
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.dto.StockMovementDto;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.StockMovementType;
+import com.example.inventoryservice.model.StockSnapshot;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.StockMovementRepository;
+import com.example.inventoryservice.repository.StockSnapshotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "inventory.ledger.compaction-lag-seconds=-1"
+})
+@Import(StockLedgerServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockLedgerServiceTest {
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private JpaInventoryRepository jpaInventoryRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private StockSnapshotRepository stockSnapshotRepository;
+
+    private String itemId;
+
+    @BeforeEach
+    void setUp() {
+        itemId = jpaInventoryRepository.save(InventoryItem.builder()
+                .name("Ledger Item")
+                .category("Electronics")
+                .quantity(40)
+                .price(BigDecimal.TEN)
+                .minimumStockLevel(5)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockMovementRepository.deleteAll();
+        stockSnapshotRepository.deleteAll();
+        jpaInventoryRepository.deleteAll();
+    }
+
+    @Test
+    void record_ShouldAppendMovementsNewestFirst() {
+        // Arrange
+        stockLedgerService.record(itemId, 40, StockMovementType.CREATED, null);
+        stockLedgerService.record(itemId, -3, StockMovementType.SALE, null);
+        stockLedgerService.record(itemId, 0, StockMovementType.ADJUSTMENT, null);
+
+        // Act
+        List<StockMovementDto> movements = stockLedgerService.getMovements(itemId, 10);
+
+        // Assert
+        assertEquals(2, movements.size());
+        assertEquals(2, stockMovementRepository.count());
+        assertTrue(movements.stream().anyMatch(m -> m.getType() == StockMovementType.SALE && m.getDelta() == -3));
+    }
+
+    @Test
+    void recordOnce_WithKeyAlreadyRecorded_ShouldBeRejectedByTheDatabase() {
+        // Arrange
+        stockLedgerService.recordOnce(itemId, 5, StockMovementType.RESTOCK, "order-item:line-1");
+        stockLedgerService.record(itemId, 2, StockMovementType.IMPORT, "recount");
+        stockLedgerService.record(itemId, 1, StockMovementType.IMPORT, "recount");
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () ->
+                stockLedgerService.recordOnce(itemId, 5, StockMovementType.RESTOCK, "order-item:line-1"));
+        assertTrue(stockLedgerService.isRecorded(itemId, "order-item:line-1"));
+        assertFalse(stockLedgerService.isRecorded(itemId, "recount"));
+        assertEquals(3, stockMovementRepository.count());
+    }
+
+    @Test
+    void compact_ShouldFoldMovementsIntoSnapshotOnce() {
+        // Arrange
+        InventoryItem item = jpaInventoryRepository.findById(itemId).orElseThrow();
+        item.setQuantity(35);
+        jpaInventoryRepository.save(item);
+        stockLedgerService.record(itemId, 40, StockMovementType.CREATED, null);
+        stockLedgerService.record(itemId, -5, StockMovementType.SALE, null);
+
+        // Act
+        int first = stockLedgerService.compact(100);
+        int again = stockLedgerService.compact(100);
+        stockLedgerService.record(itemId, 2, StockMovementType.RESTOCK, null);
+        int afterRestock = stockLedgerService.compact(100);
+
+        // Assert
+        assertEquals(2, first);
+        assertEquals(0, again);
+        assertEquals(1, afterRestock);
+        StockSnapshot snapshot = stockSnapshotRepository.findById(itemId).orElseThrow();
+        assertEquals(37, snapshot.getQuantity());
+        assertEquals(3, stockMovementRepository.count());
+    }
+
+    @Test
+    void compact_ForItemPredatingTheLedger_ShouldDeriveOpeningBalance() {
+        // Arrange
+        InventoryItem item = jpaInventoryRepository.findById(itemId).orElseThrow();
+        item.setQuantity(34);
+        jpaInventoryRepository.save(item);
+        stockLedgerService.record(itemId, -6, StockMovementType.SALE, null);
+
+        // Act
+        stockLedgerService.compact(100);
+
+        // Assert
+        assertEquals(34, stockSnapshotRepository.findById(itemId).orElseThrow().getQuantity());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.cache.WarehouseStockIndex.LocationStock;
+import com.example.inventoryservice.dto.StockAllocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarehouseAllocatorTest {
+
+    private static final double BERLIN_LAT = 52.52;
+    private static final double BERLIN_LON = 13.40;
+
+    private final WarehouseAllocator allocator = new WarehouseAllocator();
+
+    private final LocationStock potsdam = new LocationStock("potsdam", 52.39, 13.06, 4);
+    private final LocationStock hamburg = new LocationStock("hamburg", 53.55, 9.99, 20);
+    private final LocationStock munich = new LocationStock("munich", 48.14, 11.58, 50);
+
+    @Test
+    void allocate_ShouldPickNearestLocationThatCoversWholeLine() {
+        // Act
+        List<StockAllocation> allocations = allocator.allocate(
+                new LocationStock[]{munich, hamburg, potsdam}, 10, BERLIN_LAT, BERLIN_LON);
+
+        // Assert
+        assertEquals(List.of(new StockAllocation("hamburg", 10)), allocations);
+    }
+
+    @Test
+    void allocate_WhenNoSingleLocationCovers_ShouldSplitNearestFirst() {
+        // Act
+        List<StockAllocation> allocations = allocator.allocate(
+                new LocationStock[]{munich, hamburg, potsdam}, 60, BERLIN_LAT, BERLIN_LON);
+
+        // Assert
+        assertEquals(List.of(
+                new StockAllocation("potsdam", 4),
+                new StockAllocation("hamburg", 20),
+                new StockAllocation("munich", 36)), allocations);
+    }
+
+    @Test
+    void allocate_WithoutDestination_ShouldPreferBestStockedLocation() {
+        // Act
+        List<StockAllocation> allocations = allocator.allocate(
+                new LocationStock[]{potsdam, hamburg, munich}, 10, null, null);
+
+        // Assert
+        assertEquals(List.of(new StockAllocation("munich", 10)), allocations);
+    }
+
+    @Test
+    void allocate_WhenLocationsCannotCover_ShouldReturnShortTotal() {
+        // Act
+        List<StockAllocation> allocations = allocator.allocate(
+                new LocationStock[]{potsdam, hamburg}, 30, BERLIN_LAT, BERLIN_LON);
+
+        // Assert
+        assertEquals(24, allocations.stream().mapToInt(StockAllocation::getQuantity).sum());
+    }
+
+    @Test
+    void distanceKm_ShouldMatchKnownCityDistance() {
+        // Berlin to Munich is roughly 504 km as the crow flies
+        double distance = WarehouseAllocator.distanceKm(BERLIN_LAT, BERLIN_LON, 48.14, 11.58);
+
+        assertEquals(504, distance, 5);
+    }
+}
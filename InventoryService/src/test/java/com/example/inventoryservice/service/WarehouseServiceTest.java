@@ -0,0 +1,226 @@
+package com.example.inventoryservice.service;
+
+import com.example.inventoryservice.cache.InventoryStockCache;
+import com.example.inventoryservice.cache.WarehouseStockIndex;
+import com.example.inventoryservice.dto.CreateWarehouseRequest;
+import com.example.inventoryservice.dto.StockAllocation;
+import com.example.inventoryservice.event.StockLevelEventPublisher;
+import com.example.inventoryservice.exception.InsufficientStockException;
+import com.example.inventoryservice.exception.LocationStockException;
+import com.example.inventoryservice.model.InventoryItem;
+import com.example.inventoryservice.model.WarehouseStock;
+import com.example.inventoryservice.repository.JpaInventoryRepository;
+import com.example.inventoryservice.repository.StockMovementRepository;
+import com.example.inventoryservice.repository.WarehouseRepository;
+import com.example.inventoryservice.repository.WarehouseStockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({WarehouseServiceImpl.class, WarehouseStockIndex.class, WarehouseAllocator.class,
+        InventoryStockCache.class, StockLedgerServiceImpl.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WarehouseServiceTest {
+
+    private static final double BERLIN_LAT = 52.52;
+    private static final double BERLIN_LON = 13.40;
+
+    @Autowired
+    private WarehouseService warehouseService;
+
+    @Autowired
+    private JpaInventoryRepository jpaInventoryRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private WarehouseStockRepository warehouseStockRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @MockBean
+    private StockLevelEventPublisher stockLevelEventPublisher;
+
+    private String itemId;
+    private String potsdamId;
+    private String munichId;
+
+    @BeforeEach
+    void setUp() {
+        itemId = jpaInventoryRepository.save(InventoryItem.builder()
+                .name("Located Item")
+                .category("Electronics")
+                .quantity(0)
+                .price(BigDecimal.TEN)
+                .minimumStockLevel(5)
+                .build()).getId();
+        potsdamId = warehouseService.createWarehouse(new CreateWarehouseRequest("Potsdam", 52.39, 13.06)).getId();
+        munichId = warehouseService.createWarehouse(new CreateWarehouseRequest("Munich", 48.14, 11.58)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        warehouseStockRepository.deleteAll();
+        warehouseRepository.deleteAll();
+        stockMovementRepository.deleteAll();
+        jpaInventoryRepository.deleteAll();
+    }
+
+    @Test
+    void setLocationStock_ShouldKeepItemTotalEqualToSumOfLocations() {
+        // Act
+        warehouseService.setLocationStock(itemId, potsdamId, 4);
+        warehouseService.setLocationStock(itemId, munichId, 30);
+        warehouseService.setLocationStock(itemId, munichId, 26);
+
+        // Assert
+        assertEquals(30, jpaInventoryRepository.findById(itemId).orElseThrow().getQuantity().intValue());
+        assertEquals(2, warehouseService.getLocationStock(itemId).size());
+    }
+
+    @Test
+    void setLocationStock_FirstLocationBelowUnplacedStock_ShouldRejectAndKeepTotal() {
+        // Arrange
+        InventoryItem item = jpaInventoryRepository.findById(itemId).orElseThrow();
+        item.setQuantity(100);
+        jpaInventoryRepository.save(item);
+
+        // Act & Assert
+        assertThrows(LocationStockException.class, () ->
+                warehouseService.setLocationStock(itemId, potsdamId, 10));
+        assertEquals(100, jpaInventoryRepository.findById(itemId).orElseThrow().getQuantity().intValue());
+        assertTrue(warehouseService.getLocationStock(itemId).isEmpty());
+
+        // Once all units are placed, later locations can be set freely
+        warehouseService.setLocationStock(itemId, potsdamId, 100);
+        warehouseService.setLocationStock(itemId, munichId, 10);
+        assertEquals(110, jpaInventoryRepository.findById(itemId).orElseThrow().getQuantity().intValue());
+    }
+
+    @Test
+    void removeItem_ShouldDeleteLocationRows() {
+        // Arrange
+        warehouseService.setLocationStock(itemId, potsdamId, 4);
+        warehouseService.setLocationStock(itemId, munichId, 8);
+
+        // Act
+        warehouseService.removeItem(itemId);
+
+        // Assert
+        assertFalse(warehouseStockRepository.existsByItemId(itemId));
+        assertTrue(warehouseService.takeStock(itemId, 1, null, null).isEmpty());
+    }
+
+    @Test
+    void takeStock_WhenNoLocationCoversLine_ShouldSplitNearestFirst() {
+        // Arrange
+        warehouseService.setLocationStock(itemId, potsdamId, 4);
+        warehouseService.setLocationStock(itemId, munichId, 8);
+
+        // Act
+        List<StockAllocation> allocations = warehouseService.takeStock(itemId, 10, BERLIN_LAT, BERLIN_LON);
+
+        // Assert
+        assertEquals(List.of(new StockAllocation(potsdamId, 4), new StockAllocation(munichId, 6)), allocations);
+        assertEquals(0, locationQuantity(potsdamId));
+        assertEquals(2, locationQuantity(munichId));
+    }
+
+    @Test
+    void takeStock_WithStaleIndex_ShouldReallocateFromCurrentRows() {
+        // Arrange
+        warehouseService.setLocationStock(itemId, potsdamId, 10);
+        warehouseService.setLocationStock(itemId, munichId, 10);
+        // Another instance drains Potsdam; this instance's index still thinks it holds 10
+        WarehouseStock potsdam = warehouseStockRepository.findByItemIdAndWarehouseId(itemId, potsdamId).orElseThrow();
+        potsdam.setQuantity(0);
+        warehouseStockRepository.save(potsdam);
+
+        // Act
+        List<StockAllocation> allocations = warehouseService.takeStock(itemId, 5, BERLIN_LAT, BERLIN_LON);
+
+        // Assert
+        assertEquals(List.of(new StockAllocation(munichId, 5)), allocations);
+        assertEquals(5, locationQuantity(munichId));
+    }
+
+    @Test
+    void takeStock_WithLocationsTheIndexHasNotSeen_ShouldStillAllocate() {
+        // Arrange: another instance stocked the item per location; this index has no entry for it
+        warehouseStockRepository.save(WarehouseStock.builder().itemId(itemId).warehouseId(munichId).quantity(8).build());
+
+        // Act
+        List<StockAllocation> allocations = warehouseService.takeStock(itemId, 3, BERLIN_LAT, BERLIN_LON);
+
+        // Assert
+        assertEquals(List.of(new StockAllocation(munichId, 3)), allocations);
+        assertEquals(5, locationQuantity(munichId));
+    }
+
+    @Test
+    void takeStock_WhenLocationsCannotCover_ShouldThrowAndLeaveRowsUntouched() {
+        // Arrange
+        warehouseService.setLocationStock(itemId, potsdamId, 4);
+
+        // Act & Assert
+        assertThrows(InsufficientStockException.class,
+                () -> warehouseService.takeStock(itemId, 5, BERLIN_LAT, BERLIN_LON));
+        assertEquals(4, locationQuantity(potsdamId));
+    }
+
+    @Test
+    void takeStock_ForItemWithoutLocations_ShouldReturnNoAllocations() {
+        // Act
+        List<StockAllocation> allocations = warehouseService.takeStock(itemId, 5, null, null);
+
+        // Assert
+        assertTrue(allocations.isEmpty());
+    }
+
+    @Test
+    void putStock_WithoutWarehouse_ShouldRestockBestStockedLocation() {
+        // Arrange
+        warehouseService.setLocationStock(itemId, potsdamId, 4);
+        warehouseService.setLocationStock(itemId, munichId, 30);
+
+        // Act
+        warehouseService.putStock(itemId, null, 5);
+
+        // Assert
+        assertEquals(4, locationQuantity(potsdamId));
+        assertEquals(35, locationQuantity(munichId));
+    }
+
+    @Test
+    void putStock_WithLocationsTheIndexHasNotSeen_ShouldRestockThem() {
+        // Arrange
+        warehouseStockRepository.save(WarehouseStock.builder().itemId(itemId).warehouseId(potsdamId).quantity(4).build());
+
+        // Act
+        warehouseService.putStock(itemId, null, 5);
+
+        // Assert
+        assertEquals(9, locationQuantity(potsdamId));
+    }
+
+    private int locationQuantity(String warehouseId) {
+        return warehouseStockRepository.findByItemIdAndWarehouseId(itemId, warehouseId)
+                .orElseThrow()
+                .getQuantity();
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.orderservice.client;
+
+import java.util.List;
+
+public record AvailabilityRequest(List<StockLine> items) {
+}
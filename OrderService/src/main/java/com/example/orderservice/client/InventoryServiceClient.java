@@ -1,88 +1,149 @@
 package com.example.orderservice.client;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
 
+/**
+ * Requests are typed records and responses are streamed through readers resolved once here,
+ * so a call builds no intermediate maps and calls whose body is ignored skip decoding it.
+ */
 @Slf4j
 @Component
 public class InventoryServiceClient {
     
     private final RestTemplate restTemplate;
     private final String inventoryServiceUrl;
+    private final ObjectReader bulkAvailabilityReader;
+    private final ObjectReader reservationReader;
     
     public InventoryServiceClient(RestTemplate restTemplate,
+                                   ObjectMapper objectMapper,
                                    @Value("${inventory.service.url}") String inventoryServiceUrl) {
         this.restTemplate = restTemplate;
         this.inventoryServiceUrl = inventoryServiceUrl;
+        this.bulkAvailabilityReader = objectMapper.readerFor(new TypeReference<RemoteResponse<Map<String, Boolean>>>() { });
+        this.reservationReader = objectMapper.readerFor(new TypeReference<RemoteResponse<ReservationSummary>>() { });
     }
     
-    @CircuitBreaker(name = "inventoryService", fallbackMethod = "checkAvailabilityFallback")
+    /**
+     * Checks several products in one round trip. Products missing from the
+     * returned map should be treated as unavailable.
+     */
+    @CircuitBreaker(name = "inventoryService", fallbackMethod = "checkBulkAvailabilityFallback")
     @Retry(name = "inventoryService")
-    public boolean checkAvailability(String productId, int quantity) {
+    public Map<String, Boolean> checkBulkAvailability(Map<String, Integer> quantitiesByProduct) {
         try {
-            String url = String.format("%s/api/v1/inventory/%s/availability?quantity=%d", 
-                    inventoryServiceUrl, productId, quantity);
+            String url = String.format("%s/api/v1/inventory/availability", inventoryServiceUrl);
             
-            log.info("Checking inventory availability for product: {}, quantity: {}", productId, quantity);
+            log.info("Checking inventory availability for {} products", quantitiesByProduct.size());
             
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+            AvailabilityRequest request = new AvailabilityRequest(StockLine.of(quantitiesByProduct));
+            RemoteResponse<Map<String, Boolean>> response =
+                    exchange(url, HttpMethod.POST, request, HttpStatus.OK, bulkAvailabilityReader);
             
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> body = response.getBody();
-                Object data = body.get("data");
-                return data != null && (Boolean) data;
-            }
-            
-            return false;
+            return response != null && response.data() != null ? response.data() : Collections.emptyMap();
         } catch (Exception e) {
-            log.error("Error checking inventory availability: ", e);
-            return false;
+            log.error("Error checking bulk inventory availability: ", e);
+            return Collections.emptyMap();
         }
     }
     
-    @CircuitBreaker(name = "inventoryService", fallbackMethod = "reduceStockFallback")
+    /**
+     * Atomically holds stock for every line of an order. Safe to retry: InventoryService keeps
+     * one reservation per order and answers a repeat with the hold it already placed.
+     *
+     * @return the reservation ID, or {@code null} if any line could not be reserved
+     */
+    @CircuitBreaker(name = "inventoryService", fallbackMethod = "reserveStockFallback")
     @Retry(name = "inventoryService")
-    public boolean reduceStock(String productId, int quantity) {
+    public String reserveStock(String orderId, Map<String, Integer> quantitiesByProduct) {
         try {
-            String url = String.format("%s/api/v1/inventory/%s/stock/reduce", 
-                    inventoryServiceUrl, productId);
+            String url = String.format("%s/api/v1/inventory/reservations", inventoryServiceUrl);
             
-            log.info("Reducing stock for product: {}, quantity: {}", productId, quantity);
+            log.info("Reserving stock for order: {}, products: {}", orderId, quantitiesByProduct.size());
+            
+            ReserveStockRequest request = new ReserveStockRequest(orderId, StockLine.of(quantitiesByProduct));
+            RemoteResponse<ReservationSummary> response =
+                    exchange(url, HttpMethod.POST, request, HttpStatus.CREATED, reservationReader);
+            
+            return response != null && response.data() != null ? response.data().id() : null;
+        } catch (Exception e) {
+            log.error("Error reserving stock: ", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Confirms a held reservation. Safe to retry: InventoryService answers a confirm of an
+     * already confirmed reservation with the reservation itself.
+     */
+    @CircuitBreaker(name = "inventoryService", fallbackMethod = "reservationActionFallback")
+    @Retry(name = "inventoryService")
+    public boolean confirmReservation(String reservationId) {
+        return postReservationAction(reservationId, "confirm");
+    }
+    
+    @CircuitBreaker(name = "inventoryService", fallbackMethod = "reservationActionFallback")
+    @Retry(name = "inventoryService")
+    public boolean releaseReservation(String reservationId) {
+        return postReservationAction(reservationId, "release");
+    }
+    
+    /**
+     * Gives a confirmed reservation's stock back to the warehouses it was taken from. Safe to
+     * retry: InventoryService answers a return of an already returned reservation with the
+     * reservation itself.
+     */
+    @CircuitBreaker(name = "inventoryService", fallbackMethod = "reservationActionFallback")
+    @Retry(name = "inventoryService")
+    public boolean returnReservation(String reservationId) {
+        return postReservationAction(reservationId, "return");
+    }
+    
+    private boolean postReservationAction(String reservationId, String action) {
+        try {
+            String url = String.format("%s/api/v1/inventory/reservations/%s/%s", 
+                    inventoryServiceUrl, reservationId, action);
             
-            Map<String, Integer> request = new HashMap<>();
-            request.put("quantity", quantity);
+            log.info("Sending {} for stock reservation: {}", action, reservationId);
             
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
+            ResponseEntity<Void> response = restTemplate.postForEntity(url, null, Void.class);
             
             return response.getStatusCode() == HttpStatus.OK;
         } catch (Exception e) {
-            log.error("Error reducing stock: ", e);
+            log.error("Error sending {} for stock reservation: ", action, e);
             return false;
         }
     }
     
+    /**
+     * Gives units back to a product. Safe to retry: InventoryService applies the add once per
+     * {@code reference}, so a retry after a lost response does not restore the units twice.
+     */
     @CircuitBreaker(name = "inventoryService", fallbackMethod = "restoreStockFallback")
     @Retry(name = "inventoryService")
-    public boolean restoreStock(String productId, int quantity) {
+    public boolean restoreStock(String productId, int quantity, String reference) {
         try {
             String url = String.format("%s/api/v1/inventory/%s/stock/add", 
                     inventoryServiceUrl, productId);
             
-            log.info("Restoring stock for product: {}, quantity: {}", productId, quantity);
-            
-            Map<String, Integer> request = new HashMap<>();
-            request.put("quantity", quantity);
+            log.info("Restoring stock for product: {}, quantity: {}, reference: {}", productId, quantity, reference);
             
-            ResponseEntity<Map> response = restTemplate.postForEntity(url, request, Map.class);
+            ResponseEntity<Void> response = restTemplate.postForEntity(url,
+                    new StockQuantityRequest(quantity, reference), Void.class);
             
             return response.getStatusCode() == HttpStatus.OK;
         } catch (Exception e) {
@@ -91,19 +152,35 @@ public class InventoryServiceClient {
         }
     }
 
-    private boolean checkAvailabilityFallback(String productId, int quantity, Throwable throwable) {
-        log.warn("Fallback: unable to check inventory availability for product: {}, quantity: {}",
-                productId, quantity, throwable);
-        return false;
+    /**
+     * Sends {@code request} and decodes the body with {@code reader} straight off the stream.
+     *
+     * @return the decoded body, or {@code null} if the status is not {@code expected}
+     */
+    private <T> T exchange(String url, HttpMethod method, Object request, HttpStatus expected, ObjectReader reader) {
+        return restTemplate.execute(url, method, restTemplate.httpEntityCallback(request, RemoteResponse.class),
+                response -> response.getStatusCode() == expected ? reader.readValue(response.getBody()) : null);
     }
 
-    private boolean reduceStockFallback(String productId, int quantity, Throwable throwable) {
-        log.warn("Fallback: unable to reduce stock for product: {}, quantity: {}",
-                productId, quantity, throwable);
+    private Map<String, Boolean> checkBulkAvailabilityFallback(Map<String, Integer> quantitiesByProduct,
+                                                               Throwable throwable) {
+        log.warn("Fallback: unable to check inventory availability for {} products",
+                quantitiesByProduct.size(), throwable);
+        return Collections.emptyMap();
+    }
+
+    private String reserveStockFallback(String orderId, Map<String, Integer> quantitiesByProduct,
+                                        Throwable throwable) {
+        log.warn("Fallback: unable to reserve stock for order: {}", orderId, throwable);
+        return null;
+    }
+
+    private boolean reservationActionFallback(String reservationId, Throwable throwable) {
+        log.warn("Fallback: unable to update stock reservation: {}", reservationId, throwable);
         return false;
     }
 
-    private boolean restoreStockFallback(String productId, int quantity, Throwable throwable) {
+    private boolean restoreStockFallback(String productId, int quantity, String reference, Throwable throwable) {
         log.warn("Fallback: unable to restore stock for product: {}, quantity: {}",
                 productId, quantity, throwable);
         return false;
@@ -0,0 +1,10 @@
+package com.example.orderservice.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * The part of a created stock reservation this service needs.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ReservationSummary(String id) {
+}
@@ -0,0 +1,7 @@
+package com.example.orderservice.client;
+
+/**
+ * @param reference the caller's key for the change; InventoryService applies a referenced add once
+ */
+public record StockQuantityRequest(int quantity, String reference) {
+}
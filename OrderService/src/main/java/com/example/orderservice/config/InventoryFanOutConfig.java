@@ -0,0 +1,35 @@
+package com.example.orderservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class InventoryFanOutConfig {
+    
+    /**
+     * Bounded pool for concurrent inventory calls. When it is saturated further calls are
+     * rejected rather than run on the caller's thread, where they would escape the fan-out
+     * deadline; the fan-out reports them as unfinished and the saga retries later.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor inventoryFanOutExecutor(
+            @Value("${order.inventory-fanout.pool-size:16}") int poolSize,
+            @Value("${order.inventory-fanout.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("inventory-fanout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        // Carry the trace context onto the pool threads
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.orderservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class OrderSagaConfig {
+    
+    /**
+     * Workers that advance order sagas off the request thread. A full queue rejects the task
+     * rather than running it on the caller; the saga is persisted, so the recovery scan picks
+     * it up instead.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor orderSagaExecutor(
+            @Value("${app.saga.worker.pool-size:8}") int poolSize,
+            @Value("${app.saga.worker.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-saga-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        // Unfinished sagas resume elsewhere once their lease expires
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
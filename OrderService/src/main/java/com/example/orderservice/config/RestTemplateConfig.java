@@ -1,21 +1,143 @@
 package com.example.orderservice.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
 
+/**
+ * Outbound calls use the JDK client unless {@code app.http.client.pooled=true}. It already keeps
+ * up to 5 idle connections per host alive, and it was as fast as or faster than the pooled
+ * client in {@code InventoryClientPoolingBenchmark} at the fan-out and saga concurrency. Turn
+ * on the pool for its per-host connection cap, pool-wait timeout and pool metrics.
+ */
 @Configuration
 public class RestTemplateConfig {
-    
+
+    /**
+     * Pinned to the JDK client: with HttpClient 5 on the classpath the builder would pick it
+     * up on its own.
+     */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    @ConditionalOnProperty(name = "app.http.client.pooled", havingValue = "false", matchIfMissing = true)
+    public RestTemplate restTemplate(
+            RestTemplateBuilder builder,
+            @Value("${app.http.client.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${app.http.client.read-timeout-ms:5000}") long readTimeoutMs) {
         return builder
-                .setConnectTimeout(Duration.ofSeconds(5))
-                .setReadTimeout(Duration.ofSeconds(5))
+                .requestFactory(SimpleClientHttpRequestFactory.class)
+                .setConnectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .setReadTimeout(Duration.ofMillis(readTimeoutMs))
                 .build();
     }
-}
 
+    /**
+     * Shared connection pool for outbound calls. The per-route limit caps connections to any
+     * one host (the Inventory Service, in practice) so a slow dependency cannot take the
+     * whole pool; sized above the fan-out and saga worker pools combined. LAX concurrency
+     * locks per route rather than the whole pool, and LIFO reuse keeps the warmest connections
+     * busy so idle ones age out.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.http.client.pooled", havingValue = "true")
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(
+            @Value("${app.http.client.max-connections:100}") int maxConnections,
+            @Value("${app.http.client.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${app.http.client.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${app.http.client.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${app.http.client.validate-after-inactivity-ms:2000}") long validateAfterInactivityMs,
+            @Value("${app.http.client.time-to-live-ms:300000}") long timeToLiveMs) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.LAX)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        // Re-check a connection that sat idle, in case the server closed it meanwhile
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLiveMs))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Keeps connections alive between calls for at most {@code keep-alive-ms}, or less if the
+     * server says so. That must stay under the server's own idle timeout (20 s on Tomcat), or
+     * a request can be sent down a socket the server is closing.
+     *
+     * Cookies, auth caching, compression, redirects and HttpClient's own retries are off:
+     * inter-service calls use none of them, Resilience4j does the retrying, and each one adds
+     * work to every request.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.http.client.pooled", havingValue = "true")
+    public CloseableHttpClient httpClient(
+            PoolingHttpClientConnectionManager httpClientConnectionManager,
+            @Value("${app.http.client.read-timeout-ms:5000}") long readTimeoutMs,
+            @Value("${app.http.client.pool-wait-ms:2000}") long poolWaitMs,
+            @Value("${app.http.client.keep-alive-ms:15000}") long keepAliveMs) {
+        TimeValue maxKeepAlive = TimeValue.ofMilliseconds(keepAliveMs);
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+            TimeValue advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return advertised.compareTo(maxKeepAlive) < 0 ? advertised : maxKeepAlive;
+        };
+
+        return HttpClients.custom()
+                .setConnectionManager(httpClientConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Fail fast when the pool is exhausted instead of queueing callers indefinitely
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .disableCookieManagement()
+                .disableAuthCaching()
+                .disableContentCompression()
+                .disableRedirectHandling()
+                .disableAutomaticRetries()
+                .evictExpiredConnections()
+                .evictIdleConnections(maxKeepAlive)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.http.client.pooled", havingValue = "true")
+    public RestTemplate pooledRestTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    /**
+     * Exports leased, available and pending connection counts as
+     * {@code httpcomponents.httpclient.pool.*}; pending above zero means callers are waiting
+     * for a connection.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.http.client.pooled", havingValue = "true")
+    public MeterBinder httpClientPoolMetrics(PoolingHttpClientConnectionManager httpClientConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(httpClientConnectionManager, "outbound");
+    }
+}
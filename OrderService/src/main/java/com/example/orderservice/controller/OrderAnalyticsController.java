@@ -0,0 +1,36 @@
+package com.example.orderservice.controller;
+
+import com.example.orderservice.dto.ApiResponse;
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+import com.example.orderservice.service.OrderAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/orders/analytics")
+@RequiredArgsConstructor
+public class OrderAnalyticsController {
+    
+    private final OrderAnalyticsService orderAnalyticsService;
+    
+    @GetMapping("/daily")
+    public ResponseEntity<ApiResponse<OrderAnalyticsResponse>> getDailyAnalytics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "10") int topProducts) {
+        log.info("REST request to get order analytics from {} to {}", from, to);
+        
+        OrderAnalyticsResponse analytics = orderAnalyticsService.getDailyAnalytics(from, to, topProducts);
+        
+        return ResponseEntity.ok(ApiResponse.success(analytics));
+    }
+}
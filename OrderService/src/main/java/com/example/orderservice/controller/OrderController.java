@@ -2,9 +2,12 @@ package com.example.orderservice.controller;
 
 import com.example.orderservice.dto.ApiResponse;
 import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.CursorPage;
 import com.example.orderservice.dto.OrderResponse;
 import com.example.orderservice.dto.UpdateOrderStatusRequest;
+import com.example.orderservice.dto.UserOrderSummaryResponse;
 import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.service.IdempotentOrderCreator;
 import com.example.orderservice.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,8 +16,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -22,43 +23,57 @@ import java.util.List;
 public class OrderController {
     
     private final OrderService orderService;
+    private final IdempotentOrderCreator idempotentOrderCreator;
     
     @PostMapping
     public ResponseEntity<ApiResponse<OrderResponse>> createOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody CreateOrderRequest request) {
-        log.info("REST request to create order for user: {}", request.getUserId());
+        log.info("REST request to create order for user: {}. Idempotency-Key: {}", request.getUserId(), idempotencyKey);
         
-        OrderResponse orderResponse = orderService.createOrder(request);
+        // Retries carrying the same key get the original order back instead of a duplicate
+        OrderResponse orderResponse = idempotencyKey != null
+                ? idempotentOrderCreator.createOrder(idempotencyKey, request)
+                : orderService.createOrder(request);
         
+        // Stock is secured asynchronously; the order moves from PENDING to CONFIRMED or CANCELLED
         return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Order created successfully", orderResponse));
+                .status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Order accepted", orderResponse));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<OrderResponse>> getOrderById(@PathVariable String id) {
-        log.info("REST request to get order by ID: {}", id);
+    public ResponseEntity<ApiResponse<OrderResponse>> getOrderById(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        log.info("REST request to get order by ID: {}. Include archived: {}", id, includeArchived);
         
-        OrderResponse orderResponse = orderService.getOrderById(id);
+        OrderResponse orderResponse = orderService.getOrderById(id, includeArchived);
         
         return ResponseEntity.ok(ApiResponse.success(orderResponse));
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByUserId(
-            @PathVariable String userId) {
-        log.info("REST request to get orders for user: {}", userId);
+    public ResponseEntity<ApiResponse<CursorPage<OrderResponse>>> getOrdersByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        log.info("REST request to get orders for user: {}. Cursor: {}, size: {}, include archived: {}",
+                userId, cursor, size, includeArchived);
         
-        List<OrderResponse> orders = orderService.getOrdersByUserId(userId);
+        CursorPage<OrderResponse> orders = orderService.getOrdersByUserId(userId, cursor, size, includeArchived);
         
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
     
     @GetMapping
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getAllOrders() {
-        log.info("REST request to get all orders");
+    public ResponseEntity<ApiResponse<CursorPage<OrderResponse>>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("REST request to get all orders. Cursor: {}, size: {}", cursor, size);
         
-        List<OrderResponse> orders = orderService.getAllOrders();
+        CursorPage<OrderResponse> orders = orderService.getAllOrders(cursor, size);
         
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
@@ -84,11 +99,13 @@ public class OrderController {
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> getOrdersByStatus(
-            @PathVariable OrderStatus status) {
-        log.info("REST request to get orders with status: {}", status);
+    public ResponseEntity<ApiResponse<CursorPage<OrderResponse>>> getOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("REST request to get orders with status: {}. Cursor: {}, size: {}", status, cursor, size);
         
-        List<OrderResponse> orders = orderService.getOrdersByStatus(status);
+        CursorPage<OrderResponse> orders = orderService.getOrdersByStatus(status, cursor, size);
         
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
@@ -101,5 +118,13 @@ public class OrderController {
         
         return ResponseEntity.ok(ApiResponse.success(count));
     }
+    
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<ApiResponse<UserOrderSummaryResponse>> getOrderSummaryByUserId(@PathVariable String userId) {
+        log.info("REST request to get order summary for user: {}", userId);
+        
+        UserOrderSummaryResponse summary = orderService.getOrderSummaryByUserId(userId);
+        
+        return ResponseEntity.ok(ApiResponse.success(summary));
+    }
 }
-
@@ -0,0 +1,24 @@
+package com.example.orderservice.dto;
+
+import com.example.orderservice.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyOrderStats {
+    
+    private LocalDate date;
+    private long orderCount;
+    // Totals of orders not cancelled
+    private BigDecimal revenue;
+    private Map<OrderStatus, StatusTotals> byStatus;
+}
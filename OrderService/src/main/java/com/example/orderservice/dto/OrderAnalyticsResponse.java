@@ -0,0 +1,29 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Order counts and revenue for a range of order dates, per day and in total, with the
+ * best-selling products over the range. Read from the daily rollups, which trail the orders
+ * themselves by however long their events take to reach the projection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderAnalyticsResponse {
+    
+    private LocalDate from;
+    private LocalDate to;
+    private long orderCount;
+    private BigDecimal revenue;
+    private List<DailyOrderStats> days;
+    private List<ProductSales> topProducts;
+}
@@ -0,0 +1,38 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * An order item read straight from a projection query, tagged with its order so a page of
+ * rows can be grouped back onto their {@link OrderResponse}s.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderItemRow {
+    
+    private String orderId;
+    private String id;
+    private String productId;
+    private String productName;
+    private Integer quantity;
+    private BigDecimal price;
+    private BigDecimal subtotal;
+    
+    public OrderItemDto toDto() {
+        return OrderItemDto.builder()
+                .id(id)
+                .productId(productId)
+                .productName(productName)
+                .quantity(quantity)
+                .price(price)
+                .subtotal(subtotal)
+                .build();
+    }
+}
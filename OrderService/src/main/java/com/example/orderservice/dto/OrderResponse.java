@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -27,5 +28,16 @@ public class OrderResponse {
     private List<OrderItemDto> items;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    
+    /**
+     * Header row for the constructor-expression queries in {@code OrderRepository}; items are
+     * attached from a separate projection afterwards.
+     */
+    public OrderResponse(String id, String userId, LocalDateTime orderDate, OrderStatus status,
+                         BigDecimal totalAmount, String shippingAddress, String paymentMethod, String notes,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, userId, orderDate, status, totalAmount, shippingAddress, paymentMethod, notes,
+                new ArrayList<>(), createdAt, updatedAt);
+    }
 }
 
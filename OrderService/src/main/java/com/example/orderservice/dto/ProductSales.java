@@ -0,0 +1,20 @@
+package com.example.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSales {
+    
+    private String productId;
+    private String productName;
+    private Long quantity;
+    private BigDecimal totalAmount;
+}
@@ -0,0 +1,26 @@
+package com.example.orderservice.dto;
+
+import com.example.orderservice.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * A user's orders counted and totalled by status, read from the summary projection. Trails
+ * the orders themselves by however long their events take to reach the projection.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserOrderSummaryResponse {
+    
+    private String userId;
+    private long orderCount;
+    private BigDecimal totalAmount;
+    private Map<OrderStatus, StatusTotals> byStatus;
+}
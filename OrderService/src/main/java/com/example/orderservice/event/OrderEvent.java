@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -16,15 +17,22 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class OrderEvent {
 
+	private String eventType;
+	// Outbox position, stamped by the relay; increases with every event for the same order
+	private Long sequence;
 	private String id;
 	private String userId;
 	private BigDecimal totalAmount;
 	private OrderStatus status;
+	// Null on ORDER_CREATED
+	private OrderStatus previousStatus;
 	private LocalDateTime orderDate;
 	private String paymentMethod;
 	private String shippingAddress;
 	private LocalDateTime createdAt;
 	private LocalDateTime updatedAt;
+	// Items never change after creation; carried on every event for the product rollups
+	private List<OrderEventItem> items;
 
 	public static OrderEvent from(Order order) {
 		return OrderEvent.builder()
@@ -37,6 +45,7 @@ public class OrderEvent {
 				.shippingAddress(order.getShippingAddress())
 				.createdAt(order.getCreatedAt())
 				.updatedAt(order.getUpdatedAt())
+				.items(order.getOrderItems().stream().map(OrderEventItem::from).toList())
 				.build();
 	}
 }
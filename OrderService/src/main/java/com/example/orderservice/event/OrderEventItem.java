@@ -0,0 +1,30 @@
+package com.example.orderservice.event;
+
+import com.example.orderservice.model.OrderItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventItem {
+
+	private String productId;
+	private String productName;
+	private Integer quantity;
+	private BigDecimal subtotal;
+
+	public static OrderEventItem from(OrderItem item) {
+		return OrderEventItem.builder()
+				.productId(item.getProductId())
+				.productName(item.getProductName())
+				.quantity(item.getQuantity())
+				.subtotal(item.getSubtotal())
+				.build();
+	}
+}
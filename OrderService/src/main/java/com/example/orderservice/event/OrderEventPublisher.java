@@ -1,29 +1,62 @@
 package com.example.orderservice.event;
 
 import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Queues order events in the outbox as part of the caller's transaction, so an event exists
+ * if and only if the order change commits. {@link OrderOutboxRelay} delivers them to Kafka.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderEventPublisher {
 
-	private final KafkaTemplate<String, OrderEvent> kafkaTemplate;
+	public static final String ORDER_CREATED = "ORDER_CREATED";
+	public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final ObjectMapper objectMapper;
 
 	@Value("${app.kafka.order-events-topic:order-events}")
 	private String orderEventsTopic;
 
+	@Transactional(propagation = Propagation.MANDATORY)
 	public void publishOrderCreated(Order order) {
+		enqueue(order.getId(), ORDER_CREATED, OrderEvent.from(order));
+		log.info("Queued order-created event for orderId={}", order.getId());
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void publishStatusChanged(Order order, OrderStatus previousStatus) {
+		OrderEvent event = OrderEvent.from(order);
+		event.setPreviousStatus(previousStatus);
+		enqueue(order.getId(), ORDER_STATUS_CHANGED, event);
+		log.info("Queued status-change event for orderId={}: {} -> {}", order.getId(), previousStatus, order.getStatus());
+	}
+
+	private void enqueue(String orderId, String eventType, OrderEvent event) {
+		event.setEventType(eventType);
 		try {
-			OrderEvent event = OrderEvent.from(order);
-			kafkaTemplate.send(orderEventsTopic, order.getId(), event);
-			log.info("Published order-created event for orderId={}", order.getId());
-		} catch (Exception ex) {
-			log.error("Failed to publish order-created event for orderId={}", order.getId(), ex);
+			outboxEventRepository.save(OutboxEvent.builder()
+					.aggregateId(orderId)
+					.eventType(eventType)
+					.topic(orderEventsTopic)
+					.payload(objectMapper.writeValueAsString(event))
+					.build());
+		} catch (JsonProcessingException ex) {
+			// Fail the order rather than commit it without its event
+			throw new IllegalStateException("Unable to serialize " + eventType + " event for orderId=" + orderId, ex);
 		}
 	}
 }
@@ -0,0 +1,153 @@
+package com.example.orderservice.event;
+
+import com.example.orderservice.model.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox to Kafka in batches.
+ *
+ * Events of different keys are sent together and awaited as a whole, so one broker round trip
+ * covers many events. Events of the same key are sent one after another, each once the previous
+ * one is acknowledged, so after a failure the key's later events are never sent ahead of it and
+ * the retry delivers them in their original order. An event is deleted only once acknowledged.
+ * Delivery is at least once; consumers see a duplicate rather than a gap.
+ */
+@Slf4j
+@Component
+public class OrderOutboxRelay {
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final KafkaTemplate<String, OrderEvent> kafkaTemplate;
+	private final ObjectMapper objectMapper;
+	private final long sendTimeoutMs;
+	private final Counter published;
+	private final Counter failed;
+	private final AtomicLong pending = new AtomicLong();
+	private final AtomicLong lagMillis = new AtomicLong();
+
+	public OrderOutboxRelay(OutboxEventRepository outboxEventRepository,
+							KafkaTemplate<String, OrderEvent> kafkaTemplate,
+							ObjectMapper objectMapper,
+							MeterRegistry meterRegistry,
+							@Value("${app.outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.kafkaTemplate = kafkaTemplate;
+		this.objectMapper = objectMapper;
+		this.sendTimeoutMs = sendTimeoutMs;
+
+		this.published = Counter.builder("order.outbox.published")
+				.description("Outbox events acknowledged by Kafka")
+				.register(meterRegistry);
+		this.failed = Counter.builder("order.outbox.failures")
+				.description("Outbox sends that failed or timed out and will be retried")
+				.register(meterRegistry);
+		Gauge.builder("order.outbox.pending", pending, AtomicLong::get)
+				.description("Events waiting in the outbox after the last relay run")
+				.register(meterRegistry);
+		Gauge.builder("order.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+				.description("Age in seconds of the oldest event still in the outbox")
+				.baseUnit("seconds")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * @return the number of events delivered and removed from the outbox
+	 */
+	// Read committed keeps the row locks from turning into gap locks that would block new orders
+	@Transactional(isolation = Isolation.READ_COMMITTED)
+	public int relay(int batchSize) {
+		List<OutboxEvent> batch = outboxEventRepository.findBatchForUpdate(PageRequest.of(0, batchSize));
+
+		// Per key in ID order, as the batch is
+		Map<String, Deque<OutboxEvent>> queues = new LinkedHashMap<>();
+		for (OutboxEvent event : batch) {
+			queues.computeIfAbsent(event.getAggregateId(), key -> new ArrayDeque<>()).add(event);
+		}
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+		List<OutboxEvent> delivered = new ArrayList<>(batch.size());
+		while (!queues.isEmpty()) {
+			// Each round sends the next event of every key, so a key's event only goes out once the
+			// one before it is acknowledged
+			List<OutboxEvent> round = new ArrayList<>(queues.size());
+			List<CompletableFuture<SendResult<String, OrderEvent>>> sends = new ArrayList<>(queues.size());
+			for (Deque<OutboxEvent> queue : queues.values()) {
+				OutboxEvent event = queue.poll();
+				round.add(event);
+				sends.add(send(event));
+			}
+
+			for (int i = 0; i < round.size(); i++) {
+				OutboxEvent event = round.get(i);
+				try {
+					sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+					delivered.add(event);
+					if (queues.get(event.getAggregateId()).isEmpty()) {
+						queues.remove(event.getAggregateId());
+					}
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					queues.clear();
+					break;
+				} catch (Exception ex) {
+					// The key's later events stay unsent and queued for the retry
+					queues.remove(event.getAggregateId());
+					failed.increment();
+					log.warn("Failed to relay {} event id={} for orderId={}; will retry",
+							event.getEventType(), event.getId(), event.getAggregateId(), ex);
+				}
+			}
+		}
+
+		outboxEventRepository.deleteAllInBatch(delivered);
+		published.increment(delivered.size());
+		updateLag();
+
+		if (!delivered.isEmpty()) {
+			log.debug("Relayed {} outbox events", delivered.size());
+		}
+		return delivered.size();
+	}
+
+	private CompletableFuture<SendResult<String, OrderEvent>> send(OutboxEvent event) {
+		try {
+			OrderEvent payload = objectMapper.readValue(event.getPayload(), OrderEvent.class);
+			// Lets consumers drop duplicates and stale re-sends of an order's events
+			payload.setSequence(event.getId());
+			return kafkaTemplate.send(event.getTopic(), event.getAggregateId(), payload);
+		} catch (Exception ex) {
+			// Serialization errors and producer timeouts (max.block.ms) surface here
+			return CompletableFuture.failedFuture(ex);
+		}
+	}
+
+	private void updateLag() {
+		LocalDateTime oldest = outboxEventRepository.findOldestCreatedAt();
+		pending.set(outboxEventRepository.count());
+		lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+	}
+}
@@ -0,0 +1,30 @@
+package com.example.orderservice.event;
+
+import com.example.orderservice.service.OrderSummaryProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds this service's own order events back into the per-user summary tables. Records are
+ * keyed by order ID, so one order's events arrive in outbox order on a single partition; a
+ * failed record is retried by the container's error handler before it is skipped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderSummaryProjector {
+
+	private final OrderSummaryProjection orderSummaryProjection;
+
+	@KafkaListener(
+			topics = "${app.kafka.order-events-topic}",
+			groupId = "${app.order-summary.group-id:order-summary-projection}",
+			autoStartup = "${app.order-summary.enabled:true}")
+	public void onOrderEvent(OrderEvent event) {
+		if (orderSummaryProjection.apply(event)) {
+			log.debug("Projected {} for orderId={} at sequence {}", event.getEventType(), event.getId(), event.getSequence());
+		}
+	}
+}
@@ -0,0 +1,8 @@
+package com.example.orderservice.exception;
+
+public class IdempotencyKeyInFlightException extends RuntimeException {
+    
+    public IdempotencyKeyInFlightException(String key) {
+        super(String.format("A request with Idempotency-Key '%s' is still in progress", key));
+    }
+}
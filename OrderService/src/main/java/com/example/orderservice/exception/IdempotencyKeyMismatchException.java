@@ -0,0 +1,8 @@
+package com.example.orderservice.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    
+    public IdempotencyKeyMismatchException(String key) {
+        super(String.format("Idempotency-Key '%s' was already used with a different request", key));
+    }
+}
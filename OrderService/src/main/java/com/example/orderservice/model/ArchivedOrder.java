@@ -0,0 +1,62 @@
+package com.example.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A closed order moved out of {@code orders} by {@code OrderArchiver}. Rows keep their
+ * original ID and timestamps and are never updated; they are only read when a caller asks
+ * for archived orders.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_user_id_order_date", columnList = "user_id, order_date"),
+        @Index(name = "idx_orders_archive_order_date", columnList = "order_date")
+})
+public class ArchivedOrder {
+    
+    @Id
+    @Column(name = "id", nullable = false, length = 36)
+    private String id;
+    
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Column(name = "order_date", nullable = false)
+    private LocalDateTime orderDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+    
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "shipping_address", nullable = false, length = 500)
+    private String shippingAddress;
+    
+    @Column(name = "payment_method", length = 50)
+    private String paymentMethod;
+    
+    @Column(name = "notes", length = 1000)
+    private String notes;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,53 @@
+package com.example.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An item of an {@link ArchivedOrder}. Holds the order ID as a plain column rather than an
+ * association, since archived items are only ever read as projection rows.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Immutable
+@Table(name = "order_items_archive", indexes = {
+        @Index(name = "idx_order_items_archive_order_id", columnList = "order_id")
+})
+public class ArchivedOrderItem {
+    
+    @Id
+    @Column(name = "id", nullable = false, length = 36)
+    private String id;
+    
+    @Column(name = "order_id", nullable = false, length = 36)
+    private String orderId;
+    
+    @Column(name = "product_id", nullable = false)
+    private String productId;
+    
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+    
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+    
+    @Column(name = "price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+    
+    @Column(name = "subtotal", nullable = false, precision = 10, scale = 2)
+    private BigDecimal subtotal;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
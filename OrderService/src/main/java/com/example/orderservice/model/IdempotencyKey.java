@@ -0,0 +1,66 @@
+package com.example.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A client-supplied {@code Idempotency-Key} on order creation. The row is claimed before the
+ * order is built and gets its {@code orderId} in the same transaction that saves the order, so
+ * a key either maps to exactly one committed order or to nothing.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "order_idempotency_keys", indexes = {
+        @Index(name = "idx_order_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class IdempotencyKey implements Persistable<String> {
+    
+    @Id
+    @Column(name = "idempotency_key", nullable = false)
+    private String key;
+    
+    // SHA-256 of the request body; reusing a key for a different request is rejected
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+    
+    // Identifies the claiming attempt, so one whose lease ran out cannot complete or free a newer claim
+    @Column(name = "claim_token", nullable = false, length = 36)
+    private String claimToken;
+    
+    // Null while the claiming request is still running
+    @Column(name = "order_id", length = 36)
+    private String orderId;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Claims must INSERT, never merge onto a row another request holds
+    @Transient
+    private boolean stored;
+    
+    @Override
+    public String getId() {
+        return key;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
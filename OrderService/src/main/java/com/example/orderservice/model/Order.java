@@ -14,7 +14,12 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_date", columnList = "order_date"),
+        @Index(name = "idx_orders_user_id_order_date", columnList = "user_id, order_date"),
+        @Index(name = "idx_orders_status_order_date", columnList = "status, order_date"),
+        @Index(name = "idx_orders_status_updated_at", columnList = "status, updated_at")
+})
 public class Order extends BaseModel {
     
     @Column(name = "user_id", nullable = false)
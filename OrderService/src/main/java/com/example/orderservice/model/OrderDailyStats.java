@@ -0,0 +1,58 @@
+package com.example.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Orders placed on one day that are now in one status, and their total. Maintained from
+ * order events alongside {@link UserOrderSummary}, so analytics read one row per day and
+ * status instead of every order.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(OrderDailyStatsId.class)
+@Table(name = "order_daily_stats")
+public class OrderDailyStats implements Persistable<OrderDailyStatsId> {
+    
+    @Id
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OrderStatus status;
+    
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+    
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Transient
+    private boolean stored;
+    
+    @Override
+    public OrderDailyStatsId getId() {
+        return new OrderDailyStatsId(statDate, status);
+    }
+    
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
@@ -32,5 +32,9 @@ public class OrderItem extends BaseModel {
     
     @Column(name = "subtotal", nullable = false, precision = 10, scale = 2)
     private BigDecimal subtotal;
+    
+    // Set once a cancellation has given this line's stock back, so a retry skips it
+    @Column(name = "stock_restored", nullable = false)
+    private boolean stockRestored;
 }
 
@@ -0,0 +1,46 @@
+package com.example.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable progress of the inventory side effects for one order. A worker holds the saga
+ * while {@code lockedUntil} is in the future and renews it after every step, so a saga whose
+ * worker died is picked up again once the lease runs out.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "order_sagas", indexes = {
+        @Index(name = "idx_order_sagas_step_next_attempt_at", columnList = "step, next_attempt_at")
+})
+public class OrderSaga extends BaseModel {
+    
+    @Column(name = "order_id", nullable = false, unique = true, length = 36)
+    private String orderId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "step", nullable = false, length = 30)
+    private SagaStep step;
+    
+    @Column(name = "reservation_id", length = 36)
+    private String reservationId;
+    
+    // Failed attempts at the current step
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+    
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
@@ -0,0 +1,58 @@
+package com.example.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+
+/**
+ * What {@code user_order_summaries} currently counts an order as, and the last event applied
+ * for it. A status change moves the order out of this bucket rather than trusting the event's
+ * previous status, and events at or below {@code sequence} are redeliveries.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "order_summary_states")
+public class OrderSummaryState implements Persistable<String> {
+    
+    @Id
+    @Column(name = "order_id", nullable = false, length = 36)
+    private String orderId;
+    
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OrderStatus status;
+    
+    @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "sequence", nullable = false)
+    private long sequence;
+    
+    @Transient
+    private boolean stored;
+    
+    @Override
+    public String getId() {
+        return orderId;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event waiting to be relayed to Kafka, written in the same transaction as the change it
+ * describes. Rows are relayed in ID order and deleted once the broker has acknowledged them.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "order_outbox")
+public class OutboxEvent {
+    
+    // Sequential rather than a UUID so the relay can drain in insertion order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // Kafka record key; events sharing it are delivered in order
+    @Column(name = "aggregate_id", nullable = false, length = 36)
+    private String aggregateId;
+    
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+    
+    @Column(name = "topic", nullable = false)
+    private String topic;
+    
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
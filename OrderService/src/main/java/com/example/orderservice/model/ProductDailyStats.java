@@ -0,0 +1,64 @@
+package com.example.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Units and revenue of one product across orders placed on one day that are now in one
+ * status. The product-level counterpart of {@link OrderDailyStats}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(ProductDailyStatsId.class)
+@Table(name = "product_daily_stats")
+public class ProductDailyStats implements Persistable<ProductDailyStatsId> {
+    
+    @Id
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OrderStatus status;
+    
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private String productId;
+    
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+    
+    @Column(name = "quantity", nullable = false)
+    private long quantity;
+    
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Transient
+    private boolean stored;
+    
+    @Override
+    public ProductDailyStatsId getId() {
+        return new ProductDailyStatsId(statDate, status, productId);
+    }
+    
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.orderservice.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Where an order saga stands. Forward steps move an order from PENDING to CONFIRMED;
+ * compensating steps undo whatever inventory side effects had happened and leave it CANCELLED.
+ */
+public enum SagaStep {
+    CHECK_AVAILABILITY,
+    RESERVE_STOCK,
+    CONFIRM_RESERVATION,
+    RELEASE_RESERVATION,
+    RESTORE_STOCK,
+    COMPLETED,
+    COMPENSATED,
+    // Compensation kept failing; needs an operator
+    FAILED;
+    
+    public static final Set<SagaStep> ACTIVE = EnumSet.of(
+            CHECK_AVAILABILITY, RESERVE_STOCK, CONFIRM_RESERVATION, RELEASE_RESERVATION, RESTORE_STOCK);
+    
+    public boolean isTerminal() {
+        return !ACTIVE.contains(this);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.orderservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+
+/**
+ * How many of a user's orders are in one status and what they add up to. Maintained from
+ * order events by {@code OrderSummaryProjection}, so it trails the orders table by the outbox
+ * relay interval.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@IdClass(UserOrderSummaryId.class)
+@Table(name = "user_order_summaries")
+public class UserOrderSummary implements Persistable<UserOrderSummaryId> {
+    
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OrderStatus status;
+    
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+    
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+    
+    // Reached only when the UPDATE found no row, so INSERT rather than merge
+    @Transient
+    private boolean stored;
+    
+    @Override
+    public UserOrderSummaryId getId() {
+        return new UserOrderSummaryId(userId, status);
+    }
+    
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.orderservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOrderSummaryId implements Serializable {
+    
+    private String userId;
+    private OrderStatus status;
+}
@@ -0,0 +1,27 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.dto.OrderItemRow;
+import com.example.orderservice.model.ArchivedOrderItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderItemRepository extends JpaRepository<ArchivedOrderItem, String> {
+    
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive (id, order_id, product_id, product_name, quantity, price, " +
+            "subtotal, created_at, updated_at) " +
+            "SELECT id, order_id, product_id, product_name, quantity, price, subtotal, created_at, updated_at " +
+            "FROM order_items WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int copyFromOrderItems(@Param("orderIds") Collection<String> orderIds);
+    
+    @Query("SELECT new com.example.orderservice.dto.OrderItemRow(i.orderId, i.id, i.productId, i.productName, " +
+            "i.quantity, i.price, i.subtotal) FROM ArchivedOrderItem i WHERE i.orderId IN :orderIds")
+    List<OrderItemRow> findRowsByOrderIdIn(@Param("orderIds") Collection<String> orderIds);
+}
@@ -0,0 +1,60 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.model.ArchivedOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The cold store. Reads project straight into {@code OrderResponse}, like the hot-path reads
+ * in {@link OrderRepository}; with no item collection to fetch, the keyset queries can return
+ * whole rows under a LIMIT.
+ */
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, String> {
+    
+    // Copies orders row for row; the caller deletes them from the hot table in the same transaction
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, user_id, order_date, status, total_amount, shipping_address, " +
+            "payment_method, notes, created_at, updated_at, archived_at) " +
+            "SELECT id, user_id, order_date, status, total_amount, shipping_address, payment_method, notes, " +
+            "created_at, updated_at, :archivedAt FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromOrders(@Param("ids") Collection<String> ids, @Param("archivedAt") LocalDateTime archivedAt);
+    
+    @Query("SELECT new com.example.orderservice.dto.OrderResponse(o.id, o.userId, o.orderDate, o.status, " +
+            "o.totalAmount, o.shippingAddress, o.paymentMethod, o.notes, o.createdAt, o.updatedAt) " +
+            "FROM ArchivedOrder o WHERE o.id = :id")
+    Optional<OrderResponse> findResponseById(@Param("id") String id);
+    
+    @Query("SELECT new com.example.orderservice.dto.OrderResponse(o.id, o.userId, o.orderDate, o.status, " +
+            "o.totalAmount, o.shippingAddress, o.paymentMethod, o.notes, o.createdAt, o.updatedAt) " +
+            "FROM ArchivedOrder o WHERE o.id IN :ids")
+    List<OrderResponse> findResponsesByIdIn(@Param("ids") Collection<String> ids);
+    
+    @Query("SELECT o.id FROM ArchivedOrder o WHERE o.id > :after " +
+            "AND NOT EXISTS (SELECT s.orderId FROM OrderSummaryState s WHERE s.orderId = o.id) ORDER BY o.id")
+    List<String> findUnprojectedIdsAfter(@Param("after") String after, Pageable pageable);
+    
+    @Query("SELECT new com.example.orderservice.dto.OrderResponse(o.id, o.userId, o.orderDate, o.status, " +
+            "o.totalAmount, o.shippingAddress, o.paymentMethod, o.notes, o.createdAt, o.updatedAt) " +
+            "FROM ArchivedOrder o WHERE o.userId = :userId ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderResponse> findFirstPageByUserId(@Param("userId") String userId, Pageable pageable);
+    
+    @Query("SELECT new com.example.orderservice.dto.OrderResponse(o.id, o.userId, o.orderDate, o.status, " +
+            "o.totalAmount, o.shippingAddress, o.paymentMethod, o.notes, o.createdAt, o.updatedAt) " +
+            "FROM ArchivedOrder o WHERE o.userId = :userId AND o.orderDate <= :orderDate " +
+            "AND (o.orderDate < :orderDate OR o.id < :id) ORDER BY o.orderDate DESC, o.id DESC")
+    List<OrderResponse> findPageByUserIdAfter(@Param("userId") String userId,
+                                              @Param("orderDate") LocalDateTime orderDate,
+                                              @Param("id") String id,
+                                              Pageable pageable);
+}
@@ -0,0 +1,43 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+    
+    /**
+     * Drops the key if it has expired, or if its claim was never completed and has outlived
+     * the lease, so a crashed request does not block retries until the TTL.
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND (k.expiresAt < :now " +
+            "OR (k.orderId IS NULL AND k.createdAt < :leaseCutoff))")
+    int deleteIfStale(@Param("key") String key,
+                      @Param("now") LocalDateTime now,
+                      @Param("leaseCutoff") LocalDateTime leaseCutoff);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.orderId = :orderId " +
+            "WHERE k.key = :key AND k.claimToken = :claimToken AND k.orderId IS NULL")
+    int complete(@Param("key") String key, @Param("claimToken") String claimToken, @Param("orderId") String orderId);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND k.claimToken = :claimToken AND k.orderId IS NULL")
+    int release(@Param("key") String key, @Param("claimToken") String claimToken);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,45 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.model.OrderDailyStats;
+import com.example.orderservice.model.OrderDailyStatsId;
+import com.example.orderservice.model.OrderStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface OrderDailyStatsRepository extends JpaRepository<OrderDailyStats, OrderDailyStatsId> {
+    
+    // A primary-key range scan: at most one row per status for each day
+    List<OrderDailyStats> findByStatDateBetween(LocalDate from, LocalDate to);
+    
+    /**
+     * Takes an order out of a day's bucket; adding one goes through {@link #add}.
+     *
+     * @return 0 if the day has no row for this status
+     */
+    @Modifying
+    @Query("UPDATE OrderDailyStats d SET d.orderCount = d.orderCount + :count, " +
+            "d.totalAmount = d.totalAmount + :amount WHERE d.statDate = :statDate AND d.status = :status")
+    int adjust(@Param("statDate") LocalDate statDate,
+               @Param("status") OrderStatus status,
+               @Param("count") long count,
+               @Param("amount") BigDecimal amount);
+    
+    // Consumers on different partitions open the same day and status; the upsert lets both land
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_stats (stat_date, status, order_count, total_amount) " +
+            "VALUES (:statDate, :status, :count, :amount) ON DUPLICATE KEY UPDATE " +
+            "order_count = order_count + VALUES(order_count), total_amount = total_amount + VALUES(total_amount)",
+            nativeQuery = true)
+    void add(@Param("statDate") LocalDate statDate,
+             @Param("status") String status,
+             @Param("count") long count,
+             @Param("amount") BigDecimal amount);
+}
@@ -1,9 +1,14 @@
 package com.example.orderservice.repository;
 
+import com.example.orderservice.dto.OrderItemRow;
 import com.example.orderservice.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,5 +17,13 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, String> {
     List<OrderItem> findByOrderId(String orderId);
     
     List<OrderItem> findByProductId(String productId);
+    
+    // Reads the order_id foreign key directly; no join to orders and no managed entities
+    @Query("SELECT new com.example.orderservice.dto.OrderItemRow(i.order.id, i.id, i.productId, i.productName, " +
+            "i.quantity, i.price, i.subtotal) FROM OrderItem i WHERE i.order.id IN :orderIds")
+    List<OrderItemRow> findRowsByOrderIdIn(@Param("orderIds") Collection<String> orderIds);
+    
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<String> orderIds);
 }
-
@@ -1,26 +1,125 @@
 package com.example.orderservice.repository;
 
+import com.example.orderservice.dto.OrderResponse;
 import com.example.orderservice.model.Order;
 import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.SagaStep;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Listing reads a page of IDs with a keyset query, then maps them straight into
+ * {@code OrderResponse} with {@link #findResponsesByIdIn} and
+ * {@code OrderItemRepository.findRowsByOrderIdIn}: three statements per page however many
+ * orders it holds. {@link #findById} loads {@code orderItems} in the same statement for the
+ * write paths that return the changed order.
+ */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
     
-    List<Order> findByUserId(String userId);
+    @Override
+    @EntityGraph(attributePaths = "orderItems")
+    Optional<Order> findById(String id);
     
-    List<Order> findByUserIdOrderByOrderDateDesc(String userId);
+    /*
+     * Read-path projections: rows go straight into OrderResponse without entering the
+     * persistence context, so reads skip dirty-checking snapshots and proxies. Items come
+     * from OrderItemRepository.findRowsByOrderIdIn.
+     */
     
-    List<Order> findByStatus(OrderStatus status);
+    @Query("SELECT new com.example.orderservice.dto.OrderResponse(o.id, o.userId, o.orderDate, o.status, " +
+            "o.totalAmount, o.shippingAddress, o.paymentMethod, o.notes, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.id = :id")
+    Optional<OrderResponse> findResponseById(@Param("id") String id);
     
-    List<Order> findByOrderDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    @Query("SELECT new com.example.orderservice.dto.OrderResponse(o.id, o.userId, o.orderDate, o.status, " +
+            "o.totalAmount, o.shippingAddress, o.paymentMethod, o.notes, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.id IN :ids")
+    List<OrderResponse> findResponsesByIdIn(@Param("ids") Collection<String> ids);
     
-    List<Order> findByUserIdAndStatus(String userId, OrderStatus status);
+    /*
+     * Keyset pages, newest first, on (orderDate, id). Each walks an index on the filter
+     * column plus order_date (InnoDB appends the id), so a deep page costs the same as the
+     * first; the redundant {@code orderDate <= :orderDate} bound lets the optimizer seek
+     * straight to the cursor instead of filtering from the top. They return IDs only;
+     * fetching items alongside a LIMIT would make Hibernate paginate in memory.
+     */
     
-    long countByUserId(String userId);
+    @Query("SELECT o.id FROM Order o ORDER BY o.orderDate DESC, o.id DESC")
+    List<String> findFirstPageIds(Pageable pageable);
+    
+    @Query("SELECT o.id FROM Order o WHERE o.orderDate <= :orderDate " +
+            "AND (o.orderDate < :orderDate OR o.id < :id) ORDER BY o.orderDate DESC, o.id DESC")
+    List<String> findPageIdsAfter(@Param("orderDate") LocalDateTime orderDate,
+                                  @Param("id") String id,
+                                  Pageable pageable);
+    
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status ORDER BY o.orderDate DESC, o.id DESC")
+    List<String> findFirstPageIdsByStatus(@Param("status") OrderStatus status, Pageable pageable);
+    
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.orderDate <= :orderDate " +
+            "AND (o.orderDate < :orderDate OR o.id < :id) ORDER BY o.orderDate DESC, o.id DESC")
+    List<String> findPageIdsByStatusAfter(@Param("status") OrderStatus status,
+                                          @Param("orderDate") LocalDateTime orderDate,
+                                          @Param("id") String id,
+                                          Pageable pageable);
+    
+    @Query("SELECT o.id FROM Order o WHERE o.userId = :userId ORDER BY o.orderDate DESC, o.id DESC")
+    List<String> findFirstPageIdsByUserId(@Param("userId") String userId, Pageable pageable);
+    
+    @Query("SELECT o.id FROM Order o WHERE o.userId = :userId AND o.orderDate <= :orderDate " +
+            "AND (o.orderDate < :orderDate OR o.id < :id) ORDER BY o.orderDate DESC, o.id DESC")
+    List<String> findPageIdsByUserIdAfter(@Param("userId") String userId,
+                                          @Param("orderDate") LocalDateTime orderDate,
+                                          @Param("id") String id,
+                                          Pageable pageable);
+    
+    // Orders the summary projection has never seen, in ID order for the backfill to page through
+    @Query("SELECT o.id FROM Order o WHERE o.id > :after " +
+            "AND NOT EXISTS (SELECT s.orderId FROM OrderSummaryState s WHERE s.orderId = o.id) ORDER BY o.id")
+    List<String> findUnprojectedIdsAfter(@Param("after") String after, Pageable pageable);
+    
+    /**
+     * Locks a batch of closed orders last changed before {@code cutoff} whose saga, if any, has
+     * finished. {@code updatedAt} is when the order closed, unless it was edited afterwards,
+     * which only delays archival. Unordered on purpose: a range scan of {@code idx_orders_status_updated_at} stops at the
+     * limit, where ordering across several statuses would sort the whole backlog.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.updatedAt < :cutoff " +
+            "AND NOT EXISTS (SELECT s.id FROM OrderSaga s WHERE s.orderId = o.id AND s.step IN :activeSteps)")
+    List<String> findArchivableIdsForUpdate(@Param("statuses") Collection<OrderStatus> statuses,
+                                            @Param("cutoff") LocalDateTime cutoff,
+                                            @Param("activeSteps") Collection<SagaStep> activeSteps,
+                                            Pageable pageable);
+    
+    /**
+     * Moves an order to {@code to} only if it is still in {@code from}, so a status written
+     * concurrently is never overwritten. Leaves the persistence context alone; callers holding
+     * the order update it themselves.
+     *
+     * @return 0 when the order has already left {@code from}
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.updatedAt = CURRENT_TIMESTAMP WHERE o.id = :id AND o.status = :from")
+    int transitionStatus(@Param("id") String id,
+                         @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to);
+    
+    // Items go first; bulk deletes skip the cascade
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<String> ids);
 }
-
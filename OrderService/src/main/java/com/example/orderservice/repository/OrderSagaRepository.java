@@ -0,0 +1,61 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.model.OrderSaga;
+import com.example.orderservice.model.SagaStep;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderSagaRepository extends JpaRepository<OrderSaga, String> {
+    
+    // Step transitions and cancellation both lock the saga before touching the order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OrderSaga s WHERE s.id = :id")
+    Optional<OrderSaga> findByIdForUpdate(@Param("id") String id);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OrderSaga s WHERE s.orderId = :orderId")
+    Optional<OrderSaga> findByOrderIdForUpdate(@Param("orderId") String orderId);
+    
+    /**
+     * Takes the lease on an unfinished saga nobody else holds.
+     *
+     * @return 1 if this caller now owns the saga
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.lockedUntil = :leaseUntil WHERE s.id = :id AND s.step IN :active " +
+            "AND (s.lockedUntil IS NULL OR s.lockedUntil < :now)")
+    int claim(@Param("id") String id,
+              @Param("active") Collection<SagaStep> active,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderSaga s SET s.lockedUntil = NULL WHERE s.id = :id")
+    int unlock(@Param("id") String id);
+    
+    @Query("SELECT s.id FROM OrderSaga s WHERE s.step IN :active AND s.nextAttemptAt <= :now " +
+            "AND (s.lockedUntil IS NULL OR s.lockedUntil < :now) ORDER BY s.nextAttemptAt")
+    List<String> findDueIds(@Param("active") Collection<SagaStep> active,
+                            @Param("now") LocalDateTime now,
+                            Pageable pageable);
+    
+    // Only finished sagas belong to archivable orders; nothing reads them afterwards
+    @Modifying
+    @Query("DELETE FROM OrderSaga s WHERE s.orderId IN :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<String> orderIds);
+}
@@ -0,0 +1,20 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.model.OrderSummaryState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OrderSummaryStateRepository extends JpaRepository<OrderSummaryState, String> {
+    
+    // Serializes events for one order if a rebalance briefly hands its partition to two consumers
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OrderSummaryState s WHERE s.orderId = :orderId")
+    Optional<OrderSummaryState> findByOrderIdForUpdate(@Param("orderId") String orderId);
+}
@@ -0,0 +1,59 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.dto.ProductSales;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.ProductDailyStats;
+import com.example.orderservice.model.ProductDailyStatsId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductDailyStatsRepository extends JpaRepository<ProductDailyStats, ProductDailyStatsId> {
+    
+    // Aggregates the rollup, not order_items: rows scanned grow with days times products sold
+    @Query("SELECT new com.example.orderservice.dto.ProductSales(p.productId, MAX(p.productName), " +
+            "SUM(p.quantity), SUM(p.totalAmount)) FROM ProductDailyStats p " +
+            "WHERE p.statDate BETWEEN :from AND :to AND p.status IN :statuses " +
+            "GROUP BY p.productId ORDER BY SUM(p.totalAmount) DESC, p.productId")
+    List<ProductSales> findTopProducts(@Param("from") LocalDate from,
+                                       @Param("to") LocalDate to,
+                                       @Param("statuses") Collection<OrderStatus> statuses,
+                                       Pageable pageable);
+    
+    /**
+     * Takes an order's items out of a day's bucket; adding them goes through {@link #add}.
+     *
+     * @return 0 if the day has no row for this status and product
+     */
+    @Modifying
+    @Query("UPDATE ProductDailyStats p SET p.quantity = p.quantity + :quantity, " +
+            "p.totalAmount = p.totalAmount + :amount " +
+            "WHERE p.statDate = :statDate AND p.status = :status AND p.productId = :productId")
+    int adjust(@Param("statDate") LocalDate statDate,
+               @Param("status") OrderStatus status,
+               @Param("productId") String productId,
+               @Param("quantity") long quantity,
+               @Param("amount") BigDecimal amount);
+    
+    // Keeps the first product name seen for the bucket, as the insert it replaces did
+    @Modifying
+    @Query(value = "INSERT INTO product_daily_stats (stat_date, status, product_id, product_name, quantity, " +
+            "total_amount) VALUES (:statDate, :status, :productId, :productName, :quantity, :amount) " +
+            "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), " +
+            "total_amount = total_amount + VALUES(total_amount)", nativeQuery = true)
+    void add(@Param("statDate") LocalDate statDate,
+             @Param("status") String status,
+             @Param("productId") String productId,
+             @Param("productName") String productName,
+             @Param("quantity") long quantity,
+             @Param("amount") BigDecimal amount);
+}
@@ -0,0 +1,47 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.UserOrderSummary;
+import com.example.orderservice.model.UserOrderSummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface UserOrderSummaryRepository extends JpaRepository<UserOrderSummary, UserOrderSummaryId> {
+    
+    // At most one row per status, read off the primary key
+    List<UserOrderSummary> findByUserId(String userId);
+    
+    @Query("SELECT COALESCE(SUM(s.orderCount), 0) FROM UserOrderSummary s WHERE s.userId = :userId")
+    long sumOrderCountByUserId(@Param("userId") String userId);
+    
+    /**
+     * Takes an order out of a bucket; adding one goes through {@link #add}.
+     *
+     * @return 0 if the user has no row for this status
+     */
+    @Modifying
+    @Query("UPDATE UserOrderSummary s SET s.orderCount = s.orderCount + :count, " +
+            "s.totalAmount = s.totalAmount + :amount WHERE s.userId = :userId AND s.status = :status")
+    int adjust(@Param("userId") String userId,
+               @Param("status") OrderStatus status,
+               @Param("count") long count,
+               @Param("amount") BigDecimal amount);
+    
+    // Inserts the bucket or adds to it in one statement, so two consumers opening it at once cannot collide
+    @Modifying
+    @Query(value = "INSERT INTO user_order_summaries (user_id, status, order_count, total_amount) " +
+            "VALUES (:userId, :status, :count, :amount) ON DUPLICATE KEY UPDATE " +
+            "order_count = order_count + VALUES(order_count), total_amount = total_amount + VALUES(total_amount)",
+            nativeQuery = true)
+    void add(@Param("userId") String userId,
+             @Param("status") String status,
+             @Param("count") long count,
+             @Param("amount") BigDecimal amount);
+}
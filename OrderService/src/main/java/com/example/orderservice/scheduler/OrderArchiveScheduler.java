@@ -0,0 +1,57 @@
+package com.example.orderservice.scheduler;
+
+import com.example.orderservice.service.OrderArchiver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archives orders closed for longer than {@code app.archive.after-days}. Each run works
+ * through full batches with a pause between them, so the job never holds many row locks at
+ * once or floods replicas, and stops after {@code max-batches-per-run} to resume next time.
+ * Off unless {@code app.archive.enabled=true}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+public class OrderArchiveScheduler {
+
+    private final OrderArchiver orderArchiver;
+
+    @Value("${app.archive.after-days:180}")
+    private int afterDays;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.archive.pause-ms:200}")
+    private long pauseMs;
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}")
+    public void archiveClosedOrders() throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        int total = 0;
+        int archived;
+        int batches = 0;
+        do {
+            archived = orderArchiver.archiveBatch(cutoff, batchSize);
+            total += archived;
+            if (archived == batchSize && pauseMs > 0) {
+                Thread.sleep(pauseMs);
+            }
+        } while (archived == batchSize && ++batches < maxBatchesPerRun);
+
+        if (total > 0) {
+            log.info("Archived {} orders closed before {}", total, cutoff);
+        }
+    }
+}
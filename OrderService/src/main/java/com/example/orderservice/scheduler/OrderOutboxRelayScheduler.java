@@ -0,0 +1,39 @@
+package com.example.orderservice.scheduler;
+
+import com.example.orderservice.event.OrderOutboxRelay;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Polls the outbox and keeps relaying full batches until it is drained, one batch per
+ * transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderOutboxRelayScheduler {
+
+    private final OrderOutboxRelay orderOutboxRelay;
+
+    @Value("${app.outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:500}")
+    public void relayOutbox() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = orderOutboxRelay.relay(batchSize);
+            total += relayed;
+        } while (relayed == batchSize);
+
+        if (total > 0) {
+            log.debug("Outbox relay delivered {} events", total);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.orderservice.scheduler;
+
+import com.example.orderservice.model.SagaStep;
+import com.example.orderservice.repository.OrderSagaRepository;
+import com.example.orderservice.service.OrderSagaOrchestrator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hands sagas that are due back to the workers: retries whose backoff has elapsed, sagas the
+ * pool was too busy to take, and sagas left behind by a worker that died or a restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderSagaRecoveryScheduler {
+
+    private final OrderSagaRepository orderSagaRepository;
+    private final OrderSagaOrchestrator orderSagaOrchestrator;
+
+    @Value("${app.saga.recovery.batch-size:100}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.saga.recovery.interval-ms:5000}")
+    public void resumeDueSagas() {
+        List<String> due = orderSagaRepository.findDueIds(SagaStep.ACTIVE, LocalDateTime.now(),
+                PageRequest.of(0, batchSize));
+        due.forEach(orderSagaOrchestrator::submit);
+
+        if (!due.isEmpty()) {
+            log.debug("Resubmitted {} due sagas", due.size());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.orderservice.scheduler;
+
+import com.example.orderservice.service.OrderSummaryBackfill;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link OrderSummaryBackfill} once after startup, off the startup thread. A run that
+ * fails is retried at the next interval; once one completes, later invocations do nothing
+ * until the service restarts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.order-summary.backfill.enabled", havingValue = "true")
+public class OrderSummaryBackfillScheduler {
+
+    private final OrderSummaryBackfill orderSummaryBackfill;
+
+    @Value("${app.order-summary.backfill.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.order-summary.backfill.pause-ms:100}")
+    private long pauseMs;
+
+    private volatile boolean done;
+
+    @Scheduled(initialDelayString = "${app.order-summary.backfill.initial-delay-ms:30000}",
+            fixedDelayString = "${app.order-summary.backfill.interval-ms:600000}")
+    public void backfillOrderSummaries() throws InterruptedException {
+        if (done) {
+            return;
+        }
+        int hot = orderSummaryBackfill.backfillHot(batchSize, pauseMs);
+        int archived = orderSummaryBackfill.backfillArchived(batchSize, pauseMs);
+        done = true;
+
+        if (hot + archived > 0) {
+            log.info("Backfilled order summaries for {} orders and {} archived orders", hot, archived);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.exception.IdempotencyKeyInFlightException;
+import com.example.orderservice.exception.IdempotencyKeyMismatchException;
+import com.example.orderservice.exception.InvalidOrderException;
+import com.example.orderservice.model.IdempotencyKey;
+import com.example.orderservice.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Creates at most one order per {@code Idempotency-Key}.
+ *
+ * The first request claims the key in its own transaction, then creates the order, which
+ * records its ID on the key as it commits. A repeat of a finished request gets the stored
+ * order back. A duplicate that arrives while the first is still running waits for it: on
+ * this instance through the first request's future, across instances by polling the key,
+ * and gives up with a 409 after {@code app.idempotency.wait-ms}. A failed creation frees the
+ * key so the client can retry.
+ */
+@Slf4j
+@Component
+public class IdempotentOrderCreator {
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MS = 50;
+    
+    private final OrderService orderService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final long waitMs;
+    private final Counter replays;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    
+    public IdempotentOrderCreator(OrderService orderService,
+                                  IdempotencyKeyRepository idempotencyKeyRepository,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.idempotency.ttl-hours:24}") long ttlHours,
+                                  @Value("${app.idempotency.lease-ms:30000}") long leaseMs,
+                                  @Value("${app.idempotency.wait-ms:10000}") long waitMs) {
+        this.orderService = orderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lease = Duration.ofMillis(leaseMs);
+        this.waitMs = waitMs;
+        this.replays = Counter.builder("order.idempotency.replays")
+                .description("Order creations answered with the result of an earlier request")
+                .register(meterRegistry);
+    }
+    
+    public OrderResponse createOrder(String key, CreateOrderRequest request) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidOrderException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        
+        String requestHash = hash(request);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return awaitLocal(key, requestHash, running, deadline);
+        }
+        
+        try {
+            OrderResponse response = claimAndCreate(key, requestHash, request, deadline);
+            mine.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.result().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+    
+    private OrderResponse claimAndCreate(String key, String requestHash, CreateOrderRequest request, long deadline) {
+        while (true) {
+            String claimToken = tryClaim(key, requestHash);
+            if (claimToken != null) {
+                return createClaimed(key, claimToken, request);
+            }
+            
+            IdempotencyKey existing = idempotencyKeyRepository.findById(key).orElse(null);
+            if (existing == null) {
+                // Released or purged since the claim attempt
+                continue;
+            }
+            if (!existing.getRequestHash().equals(requestHash)) {
+                throw new IdempotencyKeyMismatchException(key);
+            }
+            if (existing.getOrderId() != null) {
+                log.info("Replaying order {} for Idempotency-Key: {}", existing.getOrderId(), key);
+                replays.increment();
+                return orderService.getOrderById(existing.getOrderId());
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new IdempotencyKeyInFlightException(key);
+            }
+            pause(key);
+        }
+    }
+    
+    /**
+     * @return the token of the new claim, or {@code null} if another request holds the key
+     */
+    private String tryClaim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.deleteIfStale(key, now, now.minus(lease));
+        String claimToken = UUID.randomUUID().toString();
+        try {
+            idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                    .key(key)
+                    .requestHash(requestHash)
+                    .claimToken(claimToken)
+                    .createdAt(now)
+                    .expiresAt(now.plus(ttl))
+                    .build());
+            return claimToken;
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+    
+    private OrderResponse createClaimed(String key, String claimToken, CreateOrderRequest request) {
+        try {
+            return orderService.createOrder(request, key, claimToken);
+        } catch (RuntimeException e) {
+            // Nothing was committed, so let a retry run the request again
+            try {
+                idempotencyKeyRepository.release(key, claimToken);
+            } catch (RuntimeException releaseFailure) {
+                log.warn("Failed to release Idempotency-Key: {}; it frees up after the lease", key, releaseFailure);
+            }
+            throw e;
+        }
+    }
+    
+    private OrderResponse awaitLocal(String key, String requestHash, InFlight running, long deadline) {
+        if (!running.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(key);
+        }
+        
+        try {
+            OrderResponse response = running.result().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            replays.increment();
+            return response;
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInFlightException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInFlightException(key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+    
+    private void pause(String key) {
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInFlightException(key);
+        }
+    }
+    
+    private String hash(CreateOrderRequest request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to fingerprint order request", e);
+        }
+    }
+    
+    private record InFlight(String requestHash, CompletableFuture<OrderResponse> result) {
+    }
+}
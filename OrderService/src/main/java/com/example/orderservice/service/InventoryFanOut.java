@@ -0,0 +1,150 @@
+package com.example.orderservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Runs independent inventory calls concurrently under one overall deadline.
+ *
+ * Each call still goes through the {@code InventoryServiceClient} proxy, so its circuit
+ * breaker, retry and fallback apply per call exactly as they do sequentially. Calls still
+ * running at the deadline are cancelled, and queued ones never start. A call the saturated
+ * executor rejects is not run at all and reports no result, like one cut off by the deadline.
+ */
+@Slf4j
+@Component
+public class InventoryFanOut {
+    
+    private final AsyncTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final long deadlineMs;
+    
+    public InventoryFanOut(@Qualifier("inventoryFanOutExecutor") AsyncTaskExecutor executor,
+                           MeterRegistry meterRegistry,
+                           @Value("${order.inventory-fanout.deadline-ms:3000}") long deadlineMs) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.deadlineMs = deadlineMs;
+    }
+    
+    public long getDeadlineMs() {
+        return deadlineMs;
+    }
+    
+    /**
+     * Applies {@code call} to every input concurrently.
+     *
+     * @return results in input order; an entry is {@code null} when its call had not finished
+     *         by the deadline or was rejected by the executor
+     */
+    public <T, R> List<R> callAll(String operation, List<T> inputs, Function<T, R> call) {
+        if (inputs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        DistributionSummary.builder("order.inventory.fanout.width")
+                .description("Concurrent inventory calls per fan-out")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(inputs.size());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        
+        List<CompletableFuture<R>> results = new ArrayList<>(inputs.size());
+        List<CompletableFuture<R>> submitted = new ArrayList<>(inputs.size());
+        List<Future<?>> tasks = new ArrayList<>(inputs.size());
+        int rejected = 0;
+        for (T input : inputs) {
+            CompletableFuture<R> result = new CompletableFuture<>();
+            results.add(result);
+            try {
+                // A plain task rather than supplyAsync, so cancelling it interrupts a running call
+                tasks.add(executor.submit(() -> {
+                    try {
+                        result.complete(call.apply(input));
+                    } catch (Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+                }));
+                submitted.add(result);
+            } catch (RejectedExecutionException e) {
+                // Running it here would block the caller outside the deadline; leave it unfinished instead
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            Counter.builder("order.inventory.fanout.rejections")
+                    .description("Inventory calls the saturated fan-out executor did not accept")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment(rejected);
+            log.warn("Inventory {} fan-out executor rejected {} of {} calls", operation, rejected, inputs.size());
+        }
+        
+        try {
+            CompletableFuture.allOf(submitted.toArray(new CompletableFuture[0])).get(deadlineMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Settle the unfinished results first so a call that returns after its interrupt cannot fill one in
+            results.forEach(result -> result.cancel(false));
+            tasks.forEach(task -> task.cancel(true));
+            Counter.builder("order.inventory.fanout.timeouts")
+                    .description("Fan-outs cut off by the deadline")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Inventory {} fan-out of {} calls hit the {} ms deadline", operation, inputs.size(), deadlineMs);
+        } catch (InterruptedException e) {
+            tasks.forEach(task -> task.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for inventory " + operation, e);
+        } catch (ExecutionException e) {
+            // One call failed; the rest are no longer needed
+            tasks.forEach(task -> task.cancel(true));
+            throw propagate(e.getCause());
+        } finally {
+            sample.stop(Timer.builder("order.inventory.fanout.latency")
+                    .description("Wall-clock time of an inventory fan-out")
+                    .tag("operation", operation)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        
+        List<R> values = new ArrayList<>(results.size());
+        for (CompletableFuture<R> result : results) {
+            values.add(result.isDone() && !result.isCompletedExceptionally() ? result.join() : null);
+        }
+        return values;
+    }
+    
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+
+import java.time.LocalDate;
+
+public interface OrderAnalyticsService {
+    
+    /**
+     * Counts, revenue and top products for orders placed between {@code from} and {@code to},
+     * both inclusive, read from the daily rollups.
+     */
+    OrderAnalyticsResponse getDailyAnalytics(LocalDate from, LocalDate to, int topProducts);
+}
@@ -0,0 +1,92 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.DailyOrderStats;
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+import com.example.orderservice.dto.ProductSales;
+import com.example.orderservice.dto.StatusTotals;
+import com.example.orderservice.exception.InvalidDateRangeException;
+import com.example.orderservice.model.OrderDailyStats;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.repository.OrderDailyStatsRepository;
+import com.example.orderservice.repository.ProductDailyStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
+    
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int MAX_TOP_PRODUCTS = 100;
+    // Revenue leaves out cancelled orders; their counts still show under byStatus
+    private static final Set<OrderStatus> REVENUE_STATUSES = EnumSet.complementOf(EnumSet.of(OrderStatus.CANCELLED));
+    
+    private final OrderDailyStatsRepository orderDailyStatsRepository;
+    private final ProductDailyStatsRepository productDailyStatsRepository;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public OrderAnalyticsResponse getDailyAnalytics(LocalDate from, LocalDate to, int topProducts) {
+        log.info("Fetching order analytics from {} to {}, top {} products", from, to, topProducts);
+        
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException(String.format("'from' (%s) is after 'to' (%s)", from, to));
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new InvalidDateRangeException(String.format("Date range is limited to %d days", MAX_RANGE_DAYS));
+        }
+        
+        Map<LocalDate, DailyOrderStats> days = new TreeMap<>();
+        for (OrderDailyStats row : orderDailyStatsRepository.findByStatDateBetween(from, to)) {
+            if (row.getOrderCount() == 0) {
+                continue;
+            }
+            DailyOrderStats day = days.computeIfAbsent(row.getStatDate(), date -> DailyOrderStats.builder()
+                    .date(date)
+                    .revenue(BigDecimal.ZERO)
+                    .byStatus(new EnumMap<>(OrderStatus.class))
+                    .build());
+            day.getByStatus().put(row.getStatus(), new StatusTotals(row.getOrderCount(), row.getTotalAmount()));
+            day.setOrderCount(day.getOrderCount() + row.getOrderCount());
+            if (REVENUE_STATUSES.contains(row.getStatus())) {
+                day.setRevenue(day.getRevenue().add(row.getTotalAmount()));
+            }
+        }
+        
+        long orderCount = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (DailyOrderStats day : days.values()) {
+            orderCount += day.getOrderCount();
+            revenue = revenue.add(day.getRevenue());
+        }
+        
+        int limit = Math.max(0, Math.min(topProducts, MAX_TOP_PRODUCTS));
+        List<ProductSales> products = limit == 0
+                ? List.of()
+                : productDailyStatsRepository.findTopProducts(from, to, REVENUE_STATUSES, PageRequest.of(0, limit));
+        
+        return OrderAnalyticsResponse.builder()
+                .from(from)
+                .to(to)
+                .orderCount(orderCount)
+                .revenue(revenue)
+                .days(new ArrayList<>(days.values()))
+                .topProducts(products)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.SagaStep;
+import com.example.orderservice.repository.ArchivedOrderItemRepository;
+import com.example.orderservice.repository.ArchivedOrderRepository;
+import com.example.orderservice.repository.OrderItemRepository;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.OrderSagaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves closed orders out of {@code orders} and {@code order_items} into their archive
+ * tables, one bounded batch per transaction, so the hot tables only hold orders that are
+ * still open or recently closed.
+ *
+ * An order is copied and deleted in the same transaction, so it is always in exactly one
+ * store. Its rows are locked while the batch runs; concurrent archivers on other instances
+ * wait and then see the batch gone. The per-user summary projection is left alone, so
+ * counts and totals still include archived orders.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderArchiver {
+    
+    static final Set<OrderStatus> CLOSED = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderSagaRepository orderSagaRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    
+    /**
+     * @return the number of orders archived; fewer than {@code batchSize} means none are left
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<String> ids = orderRepository.findArchivableIdsForUpdate(
+                CLOSED, cutoff, SagaStep.ACTIVE, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        archivedOrderRepository.copyFromOrders(ids, LocalDateTime.now());
+        int items = archivedOrderItemRepository.copyFromOrderItems(ids);
+        orderItemRepository.deleteByOrderIdIn(ids);
+        orderSagaRepository.deleteByOrderIdIn(ids);
+        int archived = orderRepository.deleteByIdIn(ids);
+        
+        log.debug("Archived {} orders with {} items placed before {}", archived, items, cutoff);
+        return archived;
+    }
+}
@@ -0,0 +1,440 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.client.InventoryServiceClient;
+import com.example.orderservice.event.OrderEventPublisher;
+import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderItem;
+import com.example.orderservice.model.OrderSaga;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.SagaStep;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.OrderSagaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Drives each order's inventory side effects as a persisted saga.
+ *
+ * Forward: check availability, reserve, confirm, then mark the order CONFIRMED. A failure
+ * is retried with exponential backoff; once a forward step runs out of attempts, or the
+ * order is cancelled mid-way, the saga compensates by releasing the hold or restoring the
+ * stock it took and marks the order CANCELLED. Every remote call happens outside a
+ * transaction; its outcome is then recorded in a short one that locks the saga row, which is
+ * also how {@link #onCancelled} serializes with a running saga.
+ */
+@Slf4j
+@Component
+public class OrderSagaOrchestrator {
+    
+    // Products per bulk availability request; larger baskets are checked in concurrent batches
+    private static final int AVAILABILITY_BATCH_SIZE = 50;
+    
+    private final OrderSagaRepository orderSagaRepository;
+    private final OrderRepository orderRepository;
+    private final InventoryServiceClient inventoryServiceClient;
+    private final InventoryFanOut inventoryFanOut;
+    private final OrderEventPublisher orderEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    
+    public OrderSagaOrchestrator(OrderSagaRepository orderSagaRepository,
+                                 OrderRepository orderRepository,
+                                 InventoryServiceClient inventoryServiceClient,
+                                 InventoryFanOut inventoryFanOut,
+                                 OrderEventPublisher orderEventPublisher,
+                                 TransactionTemplate transactionTemplate,
+                                 @Qualifier("orderSagaExecutor") TaskExecutor executor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.saga.retry.max-attempts:5}") int maxAttempts,
+                                 @Value("${app.saga.lease-ms:60000}") long leaseMs,
+                                 @Value("${app.saga.retry.backoff-ms:1000}") long backoffMs,
+                                 @Value("${app.saga.retry.max-backoff-ms:60000}") long maxBackoffMs) {
+        this.orderSagaRepository = orderSagaRepository;
+        this.orderRepository = orderRepository;
+        this.inventoryServiceClient = inventoryServiceClient;
+        this.inventoryFanOut = inventoryFanOut;
+        this.orderEventPublisher = orderEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+    
+    /**
+     * Persists a saga for a newly saved order, in the caller's transaction, and starts it
+     * once that transaction commits.
+     */
+    public OrderSaga begin(Order order) {
+        OrderSaga saga = orderSagaRepository.save(OrderSaga.builder()
+                .orderId(order.getId())
+                .step(SagaStep.CHECK_AVAILABILITY)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        submitAfterCommit(saga.getId());
+        return saga;
+    }
+    
+    /**
+     * Called in the transaction that cancels the order, before its status changes. A finished
+     * saga is turned around to give the stock back; a running one sees the cancellation at its
+     * next step and compensates itself.
+     */
+    public void onCancelled(Order order) {
+        OrderSaga saga = orderSagaRepository.findByOrderIdForUpdate(order.getId()).orElse(null);
+        
+        if (saga == null) {
+            // Orders placed before sagas existed took their stock inline
+            saga = orderSagaRepository.save(OrderSaga.builder()
+                    .orderId(order.getId())
+                    .step(SagaStep.RESTORE_STOCK)
+                    .nextAttemptAt(LocalDateTime.now())
+                    .build());
+        } else if (saga.getStep() == SagaStep.COMPLETED) {
+            saga.setStep(SagaStep.RESTORE_STOCK);
+            saga.setAttempts(0);
+            saga.setNextAttemptAt(LocalDateTime.now());
+        } else if (saga.getStep().isTerminal()) {
+            return;
+        } else {
+            saga.setNextAttemptAt(LocalDateTime.now());
+        }
+        
+        submitAfterCommit(saga.getId());
+    }
+    
+    public void submit(String sagaId) {
+        try {
+            executor.execute(() -> run(sagaId));
+        } catch (TaskRejectedException e) {
+            log.debug("Saga workers busy; saga {} will be picked up by the recovery scan", sagaId);
+        }
+    }
+    
+    /**
+     * Advances the saga until it finishes or has to wait for a retry. Does nothing if another
+     * worker holds it.
+     */
+    public void run(String sagaId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (orderSagaRepository.claim(sagaId, SagaStep.ACTIVE, now, now.plus(lease)) == 0) {
+            return;
+        }
+        
+        try {
+            while (advance(sagaId)) {
+                // Keep going while steps succeed or are due again immediately
+            }
+        } catch (RuntimeException e) {
+            log.error("Saga {} stopped on an unexpected error; it will be retried", sagaId, e);
+        } finally {
+            orderSagaRepository.unlock(sagaId);
+        }
+    }
+    
+    /**
+     * @return whether a step was recorded and the saga may be able to continue right away
+     */
+    private boolean advance(String sagaId) {
+        OrderSaga saga = orderSagaRepository.findById(sagaId).orElse(null);
+        if (saga == null || saga.getStep().isTerminal() || saga.getNextAttemptAt().isAfter(LocalDateTime.now())) {
+            return false;
+        }
+        Order order = orderRepository.findById(saga.getOrderId()).orElse(null);
+        if (order == null) {
+            log.error("Saga {} refers to missing order {}", sagaId, saga.getOrderId());
+            return record(saga, (s, o) -> finish(s, o, SagaStep.FAILED));
+        }
+        
+        return switch (saga.getStep()) {
+            case CHECK_AVAILABILITY -> checkAvailability(saga, order);
+            case RESERVE_STOCK -> reserveStock(saga, order);
+            case CONFIRM_RESERVATION -> confirmReservation(saga);
+            case RELEASE_RESERVATION -> releaseReservation(saga);
+            case RESTORE_STOCK -> restoreStock(saga, order);
+            default -> false;
+        };
+    }
+    
+    private boolean checkAvailability(OrderSaga saga, Order order) {
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            return record(saga, (s, o) -> compensate(s, o, false, "Order cancelled"));
+        }
+        
+        Map<String, Integer> requested = quantities(order);
+        List<Map<String, Integer>> batches = new ArrayList<>();
+        Map<String, Integer> batch = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : requested.entrySet()) {
+            if (batch.size() == AVAILABILITY_BATCH_SIZE) {
+                batches.add(batch);
+                batch = new LinkedHashMap<>();
+            }
+            batch.put(entry.getKey(), entry.getValue());
+        }
+        batches.add(batch);
+        
+        List<Map<String, Boolean>> results = inventoryFanOut.callAll("availability", batches,
+                inventoryServiceClient::checkBulkAvailability);
+        
+        Map<String, Boolean> availability = new HashMap<>();
+        for (Map<String, Boolean> result : results) {
+            if (result == null) {
+                return record(saga, (s, o) -> retryOrCompensate(s, o, false,
+                        "Availability check did not finish within " + inventoryFanOut.getDeadlineMs() + " ms"));
+            }
+            availability.putAll(result);
+        }
+        
+        for (String productId : requested.keySet()) {
+            if (!Boolean.TRUE.equals(availability.get(productId))) {
+                // Not worth retrying; the customer has to change the order
+                return record(saga, (s, o) -> compensate(s, o, false, "Insufficient stock for product " + productId));
+            }
+        }
+        
+        return record(saga, (s, o) -> moveOn(s, o, SagaStep.RESERVE_STOCK));
+    }
+    
+    private boolean reserveStock(OrderSaga saga, Order order) {
+        // InventoryService keeps one reservation per order, so retrying an attempt that timed out gets its hold back
+        String reservationId = inventoryServiceClient.reserveStock(order.getId(), quantities(order));
+        if (reservationId == null) {
+            return record(saga, (s, o) -> retryOrCompensate(s, o, false, "Unable to reserve stock"));
+        }
+        
+        return record(saga, (s, o) -> {
+            s.setReservationId(reservationId);
+            moveOn(s, o, SagaStep.CONFIRM_RESERVATION);
+        });
+    }
+    
+    private boolean confirmReservation(OrderSaga saga) {
+        if (!inventoryServiceClient.confirmReservation(saga.getReservationId())) {
+            return record(saga, (s, o) -> retryOrCompensate(s, o, false,
+                    "Unable to confirm stock reservation " + s.getReservationId()));
+        }
+        
+        return record(saga, (s, o) -> {
+            if (o.getStatus() == OrderStatus.CANCELLED) {
+                compensate(s, o, true, "Order cancelled");
+                return;
+            }
+            if (o.getStatus() == OrderStatus.PENDING) {
+                o.setStatus(OrderStatus.CONFIRMED);
+                orderEventPublisher.publishStatusChanged(o, OrderStatus.PENDING);
+            }
+            finish(s, o, SagaStep.COMPLETED);
+        });
+    }
+    
+    private boolean releaseReservation(OrderSaga saga) {
+        if (!inventoryServiceClient.releaseReservation(saga.getReservationId())) {
+            return record(saga, (s, o) -> retryOrFail(s, "Unable to release stock reservation " + s.getReservationId()));
+        }
+        
+        return record(saga, (s, o) -> finish(s, o, SagaStep.COMPENSATED));
+    }
+    
+    private boolean restoreStock(OrderSaga saga, Order order) {
+        if (saga.getReservationId() != null) {
+            return returnReservation(saga);
+        }
+        
+        // Orders placed before sagas existed have no reservation to return, so each line is added back
+        List<OrderItem> pending = order.getOrderItems().stream()
+                .filter(item -> !item.isStockRestored())
+                .toList();
+        // Keyed by order line, so a restore repeated after a lost response or a deadline is applied once
+        List<Boolean> restored = inventoryFanOut.callAll("restore", pending,
+                item -> inventoryServiceClient.restoreStock(item.getProductId(), item.getQuantity(),
+                        restoreReference(item)));
+        
+        List<String> restoredIds = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i++) {
+            if (Boolean.TRUE.equals(restored.get(i))) {
+                restoredIds.add(pending.get(i).getId());
+            }
+        }
+        
+        return record(saga, (s, o) -> {
+            for (OrderItem item : o.getOrderItems()) {
+                if (restoredIds.contains(item.getId())) {
+                    item.setStockRestored(true);
+                }
+            }
+            if (o.getOrderItems().stream().allMatch(OrderItem::isStockRestored)) {
+                finish(s, o, SagaStep.COMPENSATED);
+            } else {
+                retryOrFail(s, "Stock restore incomplete for " + (pending.size() - restoredIds.size()) + " items");
+            }
+        });
+    }
+    
+    private boolean returnReservation(OrderSaga saga) {
+        // The reservation knows which warehouse each unit came from; a bare add would land them all in one
+        if (!inventoryServiceClient.returnReservation(saga.getReservationId())) {
+            return record(saga, (s, o) -> retryOrFail(s, "Unable to return stock for reservation " + s.getReservationId()));
+        }
+        
+        return record(saga, (s, o) -> {
+            o.getOrderItems().forEach(item -> item.setStockRestored(true));
+            finish(s, o, SagaStep.COMPENSATED);
+        });
+    }
+    
+    /**
+     * Applies a transition to the locked saga and its order in one short transaction.
+     */
+    private boolean record(OrderSaga observed, BiConsumer<OrderSaga, Order> transition) {
+        Boolean recorded = transactionTemplate.execute(status -> {
+            OrderSaga saga = orderSagaRepository.findByIdForUpdate(observed.getId()).orElse(null);
+            if (saga == null || saga.getStep() != observed.getStep()) {
+                return false;
+            }
+            Order order = orderRepository.findById(saga.getOrderId()).orElse(null);
+            transition.accept(saga, order);
+            saga.setLockedUntil(LocalDateTime.now().plus(lease));
+            return true;
+        });
+        return Boolean.TRUE.equals(recorded);
+    }
+    
+    private void moveOn(OrderSaga saga, Order order, SagaStep next) {
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            compensate(saga, order, false, "Order cancelled");
+            return;
+        }
+        saga.setStep(next);
+        saga.setAttempts(0);
+        saga.setNextAttemptAt(LocalDateTime.now());
+    }
+    
+    private void compensate(OrderSaga saga, Order order, boolean stockTaken, String reason) {
+        log.warn("Compensating saga {} for order {}: {}", saga.getId(), saga.getOrderId(), reason);
+        saga.setLastError(truncate(reason));
+        saga.setAttempts(0);
+        saga.setNextAttemptAt(LocalDateTime.now());
+        
+        if (stockTaken) {
+            saga.setStep(SagaStep.RESTORE_STOCK);
+        } else if (saga.getReservationId() != null) {
+            saga.setStep(SagaStep.RELEASE_RESERVATION);
+        } else {
+            finish(saga, order, SagaStep.COMPENSATED);
+        }
+    }
+    
+    private void retryOrCompensate(OrderSaga saga, Order order, boolean stockTaken, String error) {
+        if (saga.getAttempts() + 1 >= maxAttempts) {
+            compensate(saga, order, stockTaken, error);
+            return;
+        }
+        scheduleRetry(saga, error);
+    }
+    
+    private void retryOrFail(OrderSaga saga, String error) {
+        if (saga.getAttempts() + 1 >= maxAttempts) {
+            log.error("Saga {} for order {} gave up at {}: {}", saga.getId(), saga.getOrderId(), saga.getStep(), error);
+            saga.setLastError(truncate(error));
+            saga.setStep(SagaStep.FAILED);
+            count(SagaStep.FAILED);
+            return;
+        }
+        scheduleRetry(saga, error);
+    }
+    
+    private void scheduleRetry(OrderSaga saga, String error) {
+        int attempts = saga.getAttempts() + 1;
+        long delayMs = Math.min(maxBackoffMs, backoffMs << Math.min(attempts - 1, 20));
+        log.warn("Saga {} step {} failed (attempt {}), retrying in {} ms: {}",
+                saga.getId(), saga.getStep(), attempts, delayMs, error);
+        saga.setAttempts(attempts);
+        saga.setLastError(truncate(error));
+        saga.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+        Counter.builder("order.saga.retries")
+                .description("Saga steps scheduled for another attempt")
+                .tag("step", saga.getStep().name())
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    private void finish(OrderSaga saga, Order order, SagaStep outcome) {
+        if (outcome == SagaStep.COMPENSATED && order != null && order.getStatus() != OrderStatus.CANCELLED) {
+            // Only an order still waiting on the saga is cancelled here; one moved on by hand meanwhile is left alone
+            if (orderRepository.transitionStatus(order.getId(), OrderStatus.PENDING, OrderStatus.CANCELLED) == 0) {
+                String error = "Order left PENDING while its saga compensated; not cancelled";
+                log.error("Saga {} for order {}: {}", saga.getId(), saga.getOrderId(), error);
+                saga.setLastError(error);
+                outcome = SagaStep.FAILED;
+            } else {
+                order.setStatus(OrderStatus.CANCELLED);
+                orderEventPublisher.publishStatusChanged(order, OrderStatus.PENDING);
+            }
+        }
+        saga.setStep(outcome);
+        count(outcome);
+        log.info("Saga {} for order {} finished: {}", saga.getId(), saga.getOrderId(), outcome);
+    }
+    
+    private void count(SagaStep outcome) {
+        Counter.builder("order.saga.finished")
+                .description("Sagas that reached a terminal step")
+                .tag("outcome", outcome.name())
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    private void submitAfterCommit(String sagaId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(sagaId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(sagaId);
+            }
+        });
+    }
+    
+    private static String restoreReference(OrderItem item) {
+        return "order-item:" + item.getId();
+    }
+    
+    private static Map<String, Integer> quantities(Order order) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+    
+    private static String truncate(String error) {
+        return error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
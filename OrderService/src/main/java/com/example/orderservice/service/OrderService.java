@@ -1,28 +1,52 @@
 package com.example.orderservice.service;
 
 import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.CursorPage;
 import com.example.orderservice.dto.OrderResponse;
 import com.example.orderservice.dto.UpdateOrderStatusRequest;
+import com.example.orderservice.dto.UserOrderSummaryResponse;
 import com.example.orderservice.model.OrderStatus;
 
-import java.util.List;
-
 public interface OrderService {
     
     OrderResponse createOrder(CreateOrderRequest request);
     
+    /**
+     * Creates the order and, in the same transaction, records it against an idempotency key
+     * the caller has already claimed with {@code claimToken}.
+     */
+    OrderResponse createOrder(CreateOrderRequest request, String idempotencyKey, String claimToken);
+    
     OrderResponse getOrderById(String orderId);
     
-    List<OrderResponse> getOrdersByUserId(String userId);
+    /**
+     * Falls back to the archive when {@code includeArchived} is set and the order is no longer
+     * in the hot tables.
+     */
+    OrderResponse getOrderById(String orderId, boolean includeArchived);
+    
+    CursorPage<OrderResponse> getOrdersByUserId(String userId, String cursor, int size);
     
-    List<OrderResponse> getAllOrders();
+    /**
+     * With {@code includeArchived}, pages through hot and archived orders as one newest-first
+     * listing; cursors work across both.
+     */
+    CursorPage<OrderResponse> getOrdersByUserId(String userId, String cursor, int size, boolean includeArchived);
+    
+    CursorPage<OrderResponse> getAllOrders(String cursor, int size);
     
     OrderResponse updateOrderStatus(String orderId, UpdateOrderStatusRequest request);
     
     void cancelOrder(String orderId);
     
-    List<OrderResponse> getOrdersByStatus(OrderStatus status);
+    CursorPage<OrderResponse> getOrdersByStatus(OrderStatus status, String cursor, int size);
     
+    /**
+     * Read from the per-user summary projection, which is eventually consistent with the
+     * orders table.
+     */
     long getOrderCountByUserId(String userId);
+    
+    UserOrderSummaryResponse getOrderSummaryByUserId(String userId);
 }
 
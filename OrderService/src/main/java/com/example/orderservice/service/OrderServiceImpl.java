@@ -1,24 +1,41 @@
 package com.example.orderservice.service;
 
-import com.example.orderservice.client.InventoryServiceClient;
 import com.example.orderservice.dto.*;
 import com.example.orderservice.event.OrderEventPublisher;
-import com.example.orderservice.exception.InsufficientStockException;
+import com.example.orderservice.exception.IdempotencyKeyInFlightException;
+import com.example.orderservice.exception.InvalidCursorException;
 import com.example.orderservice.exception.InvalidOrderException;
 import com.example.orderservice.exception.OrderNotFoundException;
 import com.example.orderservice.model.Order;
 import com.example.orderservice.model.OrderItem;
 import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.UserOrderSummary;
+import com.example.orderservice.repository.ArchivedOrderItemRepository;
+import com.example.orderservice.repository.ArchivedOrderRepository;
+import com.example.orderservice.repository.IdempotencyKeyRepository;
+import com.example.orderservice.repository.OrderItemRepository;
 import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.UserOrderSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,28 +44,36 @@ import java.util.stream.Collectors;
 public class OrderServiceImpl implements OrderService {
     
     private final OrderRepository orderRepository;
-    private final InventoryServiceClient inventoryServiceClient;
+    private final OrderItemRepository orderItemRepository;
 	    private final OrderEventPublisher orderEventPublisher;
+    private final OrderSagaOrchestrator orderSagaOrchestrator;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final UserOrderSummaryRepository userOrderSummaryRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    
+    private static final int MAX_PAGE_SIZE = 500;
+    // The keyset order of every listing: (orderDate, id) descending
+    private static final Comparator<OrderResponse> NEWEST_FIRST = Comparator
+            .comparing(OrderResponse::getOrderDate)
+            .thenComparing(OrderResponse::getId)
+            .reversed();
     
     @Override
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
+        return createOrder(request, null, null);
+    }
+    
+    @Override
+    @Transactional
+    public OrderResponse createOrder(CreateOrderRequest request, String idempotencyKey, String claimToken) {
         log.info("Creating order for user: {}", request.getUserId());
         
         if (request.getItems() == null || request.getItems().isEmpty()) {
             throw new InvalidOrderException("Order must contain at least one item");
         }
         
-        for (OrderItemRequest item : request.getItems()) {
-            boolean available = inventoryServiceClient.checkAvailability(
-                    item.getProductId(), item.getQuantity());
-            
-            if (!available) {
-                throw new InsufficientStockException(
-                        item.getProductId(), item.getQuantity(), 0);
-            }
-        }
-        
         BigDecimal totalAmount = BigDecimal.ZERO;
         List<OrderItem> orderItems = new ArrayList<>();
         
@@ -85,52 +110,100 @@ public class OrderServiceImpl implements OrderService {
         
 	        Order savedOrder = orderRepository.save(order);
 	        
-        for (OrderItemRequest item : request.getItems()) {
-            boolean reduced = inventoryServiceClient.reduceStock(
-                    item.getProductId(), item.getQuantity());
-            
-            if (!reduced) {
-                log.warn("Failed to reduce stock for product: {}", item.getProductId());
-            }
-	        }
+        // A claim that outlived its lease may have been taken over; only one attempt may commit
+        if (idempotencyKey != null
+                && idempotencyKeyRepository.complete(idempotencyKey, claimToken, savedOrder.getId()) == 0) {
+            throw new IdempotencyKeyInFlightException(idempotencyKey);
+        }
+        
+        // Stock is reserved by the saga after commit; the order stays PENDING until it is held
+        orderSagaOrchestrator.begin(savedOrder);
 
 	        orderEventPublisher.publishOrderCreated(savedOrder);
 	        
-	        log.info("Order created successfully with ID: {}", savedOrder.getId());
+	        log.info("Order accepted with ID: {}", savedOrder.getId());
         
         return mapToOrderResponse(savedOrder);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public OrderResponse getOrderById(String orderId) {
-        log.info("Fetching order with ID: {}", orderId);
+        return getOrderById(orderId, false);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public OrderResponse getOrderById(String orderId, boolean includeArchived) {
+        log.info("Fetching order with ID: {}. Include archived: {}", orderId, includeArchived);
         
-        Order order = orderRepository.findById(orderId)
+        OrderResponse order = orderRepository.findResponseById(orderId).orElse(null);
+        if (order != null) {
+            attachItems(List.of(order));
+            return order;
+        }
+        if (!includeArchived) {
+            throw new OrderNotFoundException(orderId);
+        }
+        
+        order = archivedOrderRepository.findResponseById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
+        attachItems(List.of(order), archivedOrderItemRepository::findRowsByOrderIdIn);
         
-        return mapToOrderResponse(order);
+        return order;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrdersByUserId(String userId, String cursor, int size) {
+        return getOrdersByUserId(userId, cursor, size, false);
     }
     
     @Override
-    public List<OrderResponse> getOrdersByUserId(String userId) {
-        log.info("Fetching orders for user: {}", userId);
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrdersByUserId(String userId, String cursor, int size, boolean includeArchived) {
+        log.info("Fetching orders for user: {} after cursor: {}, size: {}. Include archived: {}",
+                userId, cursor, size, includeArchived);
         
-        List<Order> orders = orderRepository.findByUserIdOrderByOrderDateDesc(userId);
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
         
-        return orders.stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        List<String> ids;
+        List<OrderResponse> archived = List.of();
+        if (cursor == null || cursor.isEmpty()) {
+            ids = orderRepository.findFirstPageIdsByUserId(userId, limit);
+            if (includeArchived) {
+                archived = archivedOrderRepository.findFirstPageByUserId(userId, limit);
+            }
+        } else {
+            String[] position = decodeCursor(cursor);
+            LocalDateTime orderDate = LocalDateTime.parse(position[0]);
+            ids = orderRepository.findPageIdsByUserIdAfter(userId, orderDate, position[1], limit);
+            if (includeArchived) {
+                archived = archivedOrderRepository.findPageByUserIdAfter(userId, orderDate, position[1], limit);
+            }
+        }
+        
+        return includeArchived ? toMergedPage(ids, archived, pageSize) : toPage(ids, pageSize);
     }
     
     @Override
-    public List<OrderResponse> getAllOrders() {
-        log.info("Fetching all orders");
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getAllOrders(String cursor, int size) {
+        log.info("Fetching orders after cursor: {}, size: {}", cursor, size);
         
-        List<Order> orders = orderRepository.findAll();
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
         
-        return orders.stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        List<String> ids;
+        if (cursor == null || cursor.isEmpty()) {
+            ids = orderRepository.findFirstPageIds(limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            ids = orderRepository.findPageIdsAfter(LocalDateTime.parse(position[0]), position[1], limit);
+        }
+        
+        return toPage(ids, pageSize);
     }
     
     @Override
@@ -141,13 +214,27 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
         
-        order.setStatus(request.getStatus());
+        if (order.getStatus() == OrderStatus.CANCELLED && request.getStatus() != OrderStatus.CANCELLED) {
+            throw new InvalidOrderException("Cannot reopen a cancelled order");
+        }
         
         if (request.getNotes() != null && !request.getNotes().isEmpty()) {
             order.setNotes(request.getNotes());
         }
         
+        // Cancelling goes through the saga, which gives the order's stock back
+        if (request.getStatus() == OrderStatus.CANCELLED && order.getStatus() != OrderStatus.CANCELLED) {
+            cancel(order);
+            return mapToOrderResponse(order);
+        }
+        
+        OrderStatus previousStatus = order.getStatus();
+        order.setStatus(request.getStatus());
+        
         Order updatedOrder = orderRepository.save(order);
+        if (previousStatus != updatedOrder.getStatus()) {
+            orderEventPublisher.publishStatusChanged(updatedOrder, previousStatus);
+        }
         
         log.info("Order status updated successfully");
         
@@ -162,45 +249,182 @@ public class OrderServiceImpl implements OrderService {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
         
-        if (order.getStatus() == OrderStatus.DELIVERED) {
-            throw new InvalidOrderException("Cannot cancel a delivered order");
-        }
-        
         if (order.getStatus() == OrderStatus.CANCELLED) {
             throw new InvalidOrderException("Order is already cancelled");
         }
 
-        order.setStatus(OrderStatus.CANCELLED);
-        orderRepository.save(order);
-
-        for (OrderItem item : order.getOrderItems()) {
-            boolean restored = inventoryServiceClient.restoreStock(
-                    item.getProductId(), item.getQuantity());
+        cancel(order);
+    }
 
-            if (!restored) {
-                log.warn("Failed to restore stock for product: {}", item.getProductId());
-            }
+    private void cancel(Order order) {
+        if (order.getStatus() == OrderStatus.DELIVERED) {
+            throw new InvalidOrderException("Cannot cancel a delivered order");
         }
 
-        log.info("Order cancelled successfully");
+        // Locks the saga before the order changes, the same order a saga step takes them in
+        orderSagaOrchestrator.onCancelled(order);
+
+        OrderStatus previousStatus = order.getStatus();
+        order.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(order);
+        orderEventPublisher.publishStatusChanged(order, previousStatus);
+
+        log.info("Order cancelled; stock is returned by its saga");
     }
 
     @Override
-    public List<OrderResponse> getOrdersByStatus(OrderStatus status) {
-        log.info("Fetching orders with status: {}", status);
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrdersByStatus(OrderStatus status, String cursor, int size) {
+        log.info("Fetching orders with status: {} after cursor: {}, size: {}", status, cursor, size);
 
-        List<Order> orders = orderRepository.findByStatus(status);
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
 
-        return orders.stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        List<String> ids;
+        if (cursor == null || cursor.isEmpty()) {
+            ids = orderRepository.findFirstPageIdsByStatus(status, limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            ids = orderRepository.findPageIdsByStatusAfter(status, LocalDateTime.parse(position[0]), position[1], limit);
+        }
+
+        return toPage(ids, pageSize);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long getOrderCountByUserId(String userId) {
         log.info("Counting orders for user: {}", userId);
 
-        return orderRepository.countByUserId(userId);
+        return userOrderSummaryRepository.sumOrderCountByUserId(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserOrderSummaryResponse getOrderSummaryByUserId(String userId) {
+        log.info("Fetching order summary for user: {}", userId);
+
+        Map<OrderStatus, StatusTotals> byStatus = new EnumMap<>(OrderStatus.class);
+        long orderCount = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (UserOrderSummary summary : userOrderSummaryRepository.findByUserId(userId)) {
+            if (summary.getOrderCount() == 0) {
+                continue;
+            }
+            byStatus.put(summary.getStatus(), new StatusTotals(summary.getOrderCount(), summary.getTotalAmount()));
+            orderCount += summary.getOrderCount();
+            totalAmount = totalAmount.add(summary.getTotalAmount());
+        }
+
+        return UserOrderSummaryResponse.builder()
+                .userId(userId)
+                .orderCount(orderCount)
+                .totalAmount(totalAmount)
+                .byStatus(byStatus)
+                .build();
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Reads one page of orders from the IDs of a keyset query, which fetched one extra ID to
+     * tell whether another page exists without a COUNT query. Rows are projected straight into
+     * responses, so no entity is loaded.
+     */
+    private CursorPage<OrderResponse> toPage(List<String> ids, int pageSize) {
+        boolean hasNext = ids.size() > pageSize;
+        if (hasNext) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        List<OrderResponse> orders = loadInKeysetOrder(ids);
+        attachItems(orders);
+
+        return page(orders, hasNext);
+    }
+
+    /**
+     * Merges a keyset page of hot orders with one of archived orders read from the same
+     * cursor. Each side holds up to one row past the page, newest first, so the head of the
+     * merge is the combined page plus the row that tells whether another follows.
+     */
+    private CursorPage<OrderResponse> toMergedPage(List<String> ids, List<OrderResponse> archived, int pageSize) {
+        List<OrderResponse> hot = loadInKeysetOrder(ids);
+        List<OrderResponse> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(NEWEST_FIRST);
+
+        boolean hasNext = merged.size() > pageSize;
+        List<OrderResponse> orders = hasNext ? new ArrayList<>(merged.subList(0, pageSize)) : merged;
+        Set<String> archivedIds = archived.stream().map(OrderResponse::getId).collect(Collectors.toSet());
+        Map<Boolean, List<OrderResponse>> byStore = orders.stream()
+                .collect(Collectors.partitioningBy(order -> archivedIds.contains(order.getId())));
+        attachItems(byStore.get(false));
+        attachItems(byStore.get(true), archivedOrderItemRepository::findRowsByOrderIdIn);
+
+        return page(orders, hasNext);
+    }
+
+    private List<OrderResponse> loadInKeysetOrder(List<String> ids) {
+        List<OrderResponse> orders = ids.isEmpty()
+                ? new ArrayList<>()
+                : new ArrayList<>(orderRepository.findResponsesByIdIn(ids));
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        orders.sort(Comparator.comparing(order -> positions.get(order.getId())));
+        return orders;
+    }
+
+    private CursorPage<OrderResponse> page(List<OrderResponse> orders, boolean hasNext) {
+        String nextCursor = hasNext && !orders.isEmpty() ? encodeCursor(orders.get(orders.size() - 1)) : null;
+
+        return CursorPage.<OrderResponse>builder()
+                .items(orders)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private void attachItems(List<OrderResponse> orders) {
+        attachItems(orders, orderItemRepository::findRowsByOrderIdIn);
+    }
+
+    private void attachItems(List<OrderResponse> orders, Function<Collection<String>, List<OrderItemRow>> itemLoader) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        Map<String, OrderResponse> byId = new HashMap<>();
+        for (OrderResponse order : orders) {
+            byId.put(order.getId(), order);
+        }
+        for (OrderItemRow row : itemLoader.apply(byId.keySet())) {
+            byId.get(row.getOrderId()).getItems().add(row.toDto());
+        }
+    }
+
+    private String encodeCursor(OrderResponse order) {
+        String position = order.getOrderDate() + "|" + order.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new InvalidCursorException(cursor);
+            }
+            LocalDateTime.parse(parts[0]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
     }
 
     private OrderResponse mapToOrderResponse(Order order) {
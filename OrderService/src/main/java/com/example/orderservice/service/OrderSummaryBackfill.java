@@ -0,0 +1,113 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.OrderItemRow;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.OrderEventItem;
+import com.example.orderservice.repository.ArchivedOrderItemRepository;
+import com.example.orderservice.repository.ArchivedOrderRepository;
+import com.example.orderservice.repository.OrderItemRepository;
+import com.example.orderservice.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Projects orders that predate the summary projection, from both the hot and the archive
+ * tables, so counts, summaries and daily rollups cover them without waiting for their next
+ * event.
+ *
+ * Each order goes through {@link OrderSummaryProjection#apply} as an event with sequence 0,
+ * below any real outbox ID: an order the consumer has already projected is skipped, and
+ * every later event for a backfilled order still moves it. Each order commits on its own, so
+ * a run that stops part way loses nothing and the next one resumes from the orders still
+ * missing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryBackfill {
+    
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ArchivedOrderItemRepository archivedOrderItemRepository;
+    private final OrderSummaryProjection orderSummaryProjection;
+    
+    /**
+     * @return the number of orders projected
+     */
+    public int backfillHot(int batchSize, long pauseMs) throws InterruptedException {
+        return backfill(after -> orderRepository.findUnprojectedIdsAfter(after, PageRequest.of(0, batchSize)),
+                ids -> events(orderRepository.findResponsesByIdIn(ids), orderItemRepository.findRowsByOrderIdIn(ids)),
+                pauseMs);
+    }
+    
+    /**
+     * @return the number of orders projected
+     */
+    public int backfillArchived(int batchSize, long pauseMs) throws InterruptedException {
+        return backfill(after -> archivedOrderRepository.findUnprojectedIdsAfter(after, PageRequest.of(0, batchSize)),
+                ids -> events(archivedOrderRepository.findResponsesByIdIn(ids),
+                        archivedOrderItemRepository.findRowsByOrderIdIn(ids)),
+                pauseMs);
+    }
+    
+    private int backfill(Function<String, List<String>> nextIds,
+                         Function<List<String>, List<OrderEvent>> loadEvents,
+                         long pauseMs) throws InterruptedException {
+        int projected = 0;
+        // Keyed on the last ID rather than re-reading from the start, so an order that keeps failing cannot stall the run
+        String after = "";
+        List<String> ids;
+        while (!(ids = nextIds.apply(after)).isEmpty()) {
+            for (OrderEvent event : loadEvents.apply(ids)) {
+                if (project(event)) {
+                    projected++;
+                }
+            }
+            after = ids.get(ids.size() - 1);
+            if (pauseMs > 0) {
+                Thread.sleep(pauseMs);
+            }
+        }
+        return projected;
+    }
+    
+    private boolean project(OrderEvent event) {
+        try {
+            return orderSummaryProjection.apply(event);
+        } catch (DataIntegrityViolationException e) {
+            // The consumer or another instance created the order's state between our read and insert
+            log.debug("Order {} was projected concurrently; skipping it", event.getId());
+            return false;
+        }
+    }
+    
+    private static List<OrderEvent> events(List<OrderResponse> orders, Collection<OrderItemRow> itemRows) {
+        Map<String, List<OrderEventItem>> itemsByOrder = itemRows.stream()
+                .collect(Collectors.groupingBy(OrderItemRow::getOrderId, Collectors.mapping(
+                        row -> new OrderEventItem(row.getProductId(), row.getProductName(), row.getQuantity(),
+                                row.getSubtotal()),
+                        Collectors.toList())));
+        return orders.stream()
+                .map(order -> OrderEvent.builder()
+                        .sequence(0L)
+                        .id(order.getId())
+                        .userId(order.getUserId())
+                        .status(order.getStatus())
+                        .totalAmount(order.getTotalAmount())
+                        .orderDate(order.getOrderDate())
+                        .items(itemsByOrder.getOrDefault(order.getId(), List.of()))
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.OrderEventItem;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.OrderSummaryState;
+import com.example.orderservice.repository.OrderDailyStatsRepository;
+import com.example.orderservice.repository.OrderSummaryStateRepository;
+import com.example.orderservice.repository.ProductDailyStatsRepository;
+import com.example.orderservice.repository.UserOrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Folds order events into the summary tables: {@code user_order_summaries}, one row per user
+ * and status, and the daily rollups {@code order_daily_stats} and {@code product_daily_stats},
+ * keyed by order date and status.
+ *
+ * Each order's {@link OrderSummaryState} records which bucket it is counted in and the
+ * sequence of the last event applied. An event moves the order from that bucket to the one
+ * for its new status, so a replayed ORDER_CREATED or a missed intermediate change never
+ * counts an order twice; an event at or below the stored sequence is a redelivery and is
+ * dropped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSummaryProjection {
+    
+    private final OrderSummaryStateRepository orderSummaryStateRepository;
+    private final UserOrderSummaryRepository userOrderSummaryRepository;
+    private final OrderDailyStatsRepository orderDailyStatsRepository;
+    private final ProductDailyStatsRepository productDailyStatsRepository;
+    
+    /**
+     * @return false if the event was already applied or cannot be projected
+     */
+    @Transactional
+    public boolean apply(OrderEvent event) {
+        if (event.getSequence() == null || event.getId() == null || event.getUserId() == null
+                || event.getStatus() == null) {
+            log.warn("Skipping order event without sequence, order, user or status: {}", event);
+            return false;
+        }
+        BigDecimal amount = event.getTotalAmount() != null ? event.getTotalAmount() : BigDecimal.ZERO;
+        // An order's date and items never change, so the event's locate the old buckets too
+        LocalDate orderDay = event.getOrderDate() != null ? event.getOrderDate().toLocalDate() : null;
+        List<OrderEventItem> items = event.getItems() != null ? event.getItems() : List.of();
+        
+        OrderSummaryState state = orderSummaryStateRepository.findByOrderIdForUpdate(event.getId()).orElse(null);
+        if (state == null) {
+            state = OrderSummaryState.builder()
+                    .orderId(event.getId())
+                    .userId(event.getUserId())
+                    .build();
+        } else if (event.getSequence() <= state.getSequence()) {
+            log.debug("Order {} already projected up to {}; dropping event {}",
+                    event.getId(), state.getSequence(), event.getSequence());
+            return false;
+        } else {
+            adjustUser(state.getUserId(), state.getStatus(), -1, state.getTotalAmount().negate());
+            adjustDay(orderDay, state.getStatus(), -1, state.getTotalAmount().negate(), items);
+        }
+        adjustUser(event.getUserId(), event.getStatus(), 1, amount);
+        adjustDay(orderDay, event.getStatus(), 1, amount, items);
+        
+        state.setStatus(event.getStatus());
+        state.setTotalAmount(amount);
+        state.setSequence(event.getSequence());
+        orderSummaryStateRepository.save(state);
+        return true;
+    }
+    
+    private void adjustUser(String userId, OrderStatus status, long count, BigDecimal amount) {
+        if (count > 0) {
+            userOrderSummaryRepository.add(userId, status.name(), count, amount);
+        } else if (userOrderSummaryRepository.adjust(userId, status, count, amount) == 0) {
+            log.warn("No {} summary row for user {} to take an order out of", status, userId);
+        }
+    }
+    
+    /**
+     * @param sign 1 to add the order to the day's bucket for {@code status}, -1 to take it out
+     */
+    private void adjustDay(LocalDate day, OrderStatus status, int sign, BigDecimal amount, List<OrderEventItem> items) {
+        if (day == null) {
+            return;
+        }
+        if (sign > 0) {
+            orderDailyStatsRepository.add(day, status.name(), sign, amount);
+        } else {
+            orderDailyStatsRepository.adjust(day, status, sign, amount);
+        }
+        
+        for (OrderEventItem item : items) {
+            long quantity = (long) sign * item.getQuantity();
+            if (sign > 0) {
+                productDailyStatsRepository.add(day, status.name(), item.getProductId(), item.getProductName(),
+                        quantity, item.getSubtotal());
+            } else {
+                productDailyStatsRepository.adjust(day, status, item.getProductId(), quantity,
+                        item.getSubtotal().negate());
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.orderservice.benchmark;
+
+import com.example.orderservice.config.RestTemplateConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the availability call from 16 concurrent callers (the inventory fan-out pool size) against a local stub of the
+ * Inventory Service, comparing the default JDK-backed template with the opt-in pooled client
+ * from {@link RestTemplateConfig}. Sample mode reports the latency
+ * percentiles; compare p0.99 between the two.
+ *
+ * Loopback connections cost almost nothing to open, so the stub charges each new connection
+ * {@code -Dbench.stub.connect-ms} (default 2, roughly a TCP plus TLS handshake inside a data
+ * centre) and each request {@code -Dbench.stub.delay-ms} (default 1) for the service's own
+ * work. Set the connect cost to 0 to see pure client overhead, or point
+ * {@code -Dbench.inventory.url} at a real Inventory Service.
+ *
+ * The JDK template is not pool-less: {@code HttpURLConnection} keeps up to
+ * {@code http.maxConnections} (5) idle connections per host. Run with
+ * {@code -Dhttp.keepAlive=false} to see the no-reuse baseline, with {@code -t} to change the
+ * number of callers, and with {@code -Dbench.pool.max-per-route} to size the pool under test.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class InventoryClientPoolingBenchmark {
+
+    private static final String BODY = "{\"success\":true,\"message\":\"Availability checked\",\"data\":true}";
+
+    private StubInventoryService stub;
+    private String url;
+    private RestTemplate simpleTemplate;
+    private RestTemplate pooledTemplate;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Logback defaults to DEBUG without a config, and HttpClient logs every exchange at DEBUG
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.WARN);
+
+        String baseUrl = System.getProperty("bench.inventory.url");
+        if (baseUrl == null) {
+            stub = new StubInventoryService(Long.getLong("bench.stub.connect-ms", 2), Long.getLong("bench.stub.delay-ms", 1));
+            baseUrl = "http://127.0.0.1:" + stub.port();
+        }
+        url = baseUrl + "/api/v1/inventory/product-1/availability?quantity=1";
+
+        RestTemplateConfig config = new RestTemplateConfig();
+        simpleTemplate = config.restTemplate(new RestTemplateBuilder(), 5000, 5000);
+        connectionManager = config.httpClientConnectionManager(100, Integer.getInteger("bench.pool.max-per-route", 50),
+                5000, 5000, 2000, 300000);
+        httpClient = config.httpClient(connectionManager, 5000, 2000, 15000);
+        pooledTemplate = config.pooledRestTemplate(new RestTemplateBuilder(), httpClient);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        httpClient.close();
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Map> simpleClient() {
+        return simpleTemplate.getForEntity(url, Map.class);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map> pooledClient() {
+        return pooledTemplate.getForEntity(url, Map.class);
+    }
+
+    /**
+     * Minimal HTTP/1.1 server that keeps connections open and answers every request with an
+     * availability response. The first request on each connection is held for the connect cost,
+     * the way a TCP and TLS handshake would hold it on a real link.
+     */
+    private static final class StubInventoryService implements Closeable {
+
+        private final ServerSocket serverSocket;
+        private final ExecutorService connections = Executors.newCachedThreadPool();
+        private final long connectMs;
+        private final long delayMs;
+
+        private StubInventoryService(long connectMs, long delayMs) throws IOException {
+            this.serverSocket = new ServerSocket(0, 1024, InetAddress.getLoopbackAddress());
+            this.connectMs = connectMs;
+            this.delayMs = delayMs;
+            connections.execute(this::accept);
+        }
+
+        private int port() {
+            return serverSocket.getLocalPort();
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    socket.setTcpNoDelay(true);
+                    connections.execute(() -> serve(socket));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+        private void serve(Socket socket) {
+            byte[] response = ("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + BODY.length()
+                    + "\r\n\r\n" + BODY).getBytes(StandardCharsets.US_ASCII);
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                 OutputStream out = socket.getOutputStream()) {
+                sleep(connectMs);
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        continue;
+                    }
+                    // End of a GET request's headers
+                    sleep(delayMs);
+                    out.write(response);
+                    out.flush();
+                }
+            } catch (IOException | InterruptedException e) {
+                // Client went away
+            }
+        }
+
+        private static void sleep(long millis) throws InterruptedException {
+            if (millis > 0) {
+                Thread.sleep(millis);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+            connections.shutdownNow();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InventoryClientPoolingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
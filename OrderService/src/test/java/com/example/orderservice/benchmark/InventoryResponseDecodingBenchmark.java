@@ -0,0 +1,134 @@
+package com.example.orderservice.benchmark;
+
+import com.example.orderservice.client.AvailabilityRequest;
+import com.example.orderservice.client.RemoteResponse;
+import com.example.orderservice.client.ReservationSummary;
+import com.example.orderservice.client.StockLine;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding inventory responses into a raw {@code Map} and walking it, as
+ * {@code InventoryServiceClient} used to, with reading them through pre-built
+ * {@link ObjectReader}s into records; and building the bulk availability request as nested
+ * maps against a record. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm},
+ * the bytes allocated per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InventoryResponseDecodingBenchmark {
+
+    @Param({"1", "50"})
+    private int products;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ObjectReader bulkAvailabilityReader;
+    private ObjectReader reservationReader;
+    private ObjectWriter availabilityRequestWriter;
+    private byte[] bulkAvailabilityBody;
+    private byte[] reservationBody;
+    private Map<String, Integer> quantities;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        bulkAvailabilityReader = objectMapper.readerFor(new TypeReference<RemoteResponse<Map<String, Boolean>>>() { });
+        reservationReader = objectMapper.readerFor(new TypeReference<RemoteResponse<ReservationSummary>>() { });
+        availabilityRequestWriter = objectMapper.writerFor(AvailabilityRequest.class);
+
+        quantities = new LinkedHashMap<>();
+        Map<String, Boolean> availability = new LinkedHashMap<>();
+        List<Map<String, Object>> lines = new ArrayList<>();
+        for (int i = 0; i < products; i++) {
+            String productId = String.format("3f2b8c1e-5d4a-4b7e-9c1d-%012d", i);
+            quantities.put(productId, i % 5 + 1);
+            availability.put(productId, i % 7 != 0);
+            lines.add(Map.of("productId", productId, "quantity", i % 5 + 1, "warehouseId", "wh-1"));
+        }
+
+        bulkAvailabilityBody = objectMapper.writeValueAsBytes(Map.of(
+                "success", true, "message", "Availability checked", "data", availability,
+                "timestamp", "2024-01-01T12:00:00.123456"));
+        reservationBody = objectMapper.writeValueAsBytes(Map.of(
+                "success", true, "message", "Stock reserved",
+                "data", Map.of("id", "7c9e6679-7425-40de-944b-e07fc1f90ae7", "orderId", "order-1",
+                        "status", "HELD", "expiresAt", "2024-01-01T12:15:00", "items", lines,
+                        "createdAt", "2024-01-01T12:00:00", "updatedAt", "2024-01-01T12:00:00"),
+                "timestamp", "2024-01-01T12:00:00.123456"));
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Boolean> bulkAvailabilityAsMap() throws IOException {
+        Map<String, Object> body = objectMapper.readValue(new ByteArrayInputStream(bulkAvailabilityBody), Map.class);
+        Object data = body.get("data");
+        return data instanceof Map ? (Map<String, Boolean>) data : null;
+    }
+
+    @Benchmark
+    public Map<String, Boolean> bulkAvailabilityTyped() throws IOException {
+        RemoteResponse<Map<String, Boolean>> response =
+                bulkAvailabilityReader.readValue(new ByteArrayInputStream(bulkAvailabilityBody));
+        return response.data();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public String reservationAsMap() throws IOException {
+        Map<String, Object> body = objectMapper.readValue(new ByteArrayInputStream(reservationBody), Map.class);
+        Map<String, Object> data = (Map<String, Object>) body.get("data");
+        return data != null ? (String) data.get("id") : null;
+    }
+
+    @Benchmark
+    public String reservationTyped() throws IOException {
+        RemoteResponse<ReservationSummary> response = reservationReader.readValue(new ByteArrayInputStream(reservationBody));
+        return response.data().id();
+    }
+
+    @Benchmark
+    public byte[] availabilityRequestAsMap() throws IOException {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("productId", entry.getKey());
+            item.put("quantity", entry.getValue());
+            items.add(item);
+        }
+        Map<String, Object> request = new HashMap<>();
+        request.put("items", items);
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] availabilityRequestTyped() throws IOException {
+        return availabilityRequestWriter.writeValueAsBytes(new AvailabilityRequest(StockLine.of(quantities)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InventoryResponseDecodingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.orderservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of fetching one page of a status listing against page depth, for the old
+ * {@code LIMIT/OFFSET} query and the keyset query behind {@code OrderRepository.findPageIdsByStatusAfter}.
+ *
+ * Runs against an in-memory H2 database by default; point it at a scratch MySQL schema with
+ * {@code -Dbench.jdbc.url}, {@code -Dbench.jdbc.user} and {@code -Dbench.jdbc.password}. The
+ * benchmark creates and drops its own {@code orders_bench} table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderKeysetPaginationBenchmark {
+
+    private static final int ROWS = 500_000;
+    private static final int PAGE_SIZE = 50;
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED"};
+
+    @Param({"0", "500", "1999"})
+    private int pageNumber;
+
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement keysetQuery;
+    private Timestamp lastOrderDate;
+    private String lastId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:h2:mem:orders_bench;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE"),
+                System.getProperty("bench.jdbc.user", "sa"),
+                System.getProperty("bench.jdbc.password", ""));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS orders_bench");
+            statement.execute("CREATE TABLE orders_bench (" +
+                    "id VARCHAR(36) PRIMARY KEY, status VARCHAR(20) NOT NULL, order_date TIMESTAMP NOT NULL, " +
+                    "total_amount DECIMAL(10, 2) NOT NULL)");
+            statement.execute("CREATE INDEX idx_bench_status_order_date ON orders_bench (status, order_date DESC, id DESC)");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO orders_bench (id, status, order_date, total_amount) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setString(1, String.format("order-%08d", i));
+                insert.setString(2, STATUSES[i % STATUSES.length]);
+                insert.setTimestamp(3, Timestamp.valueOf(now.minusSeconds(i)));
+                insert.setBigDecimal(4, BigDecimal.valueOf(i % 1000, 2));
+                insert.addBatch();
+                if (i % 5000 == 4999) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        connection.setAutoCommit(true);
+
+        // H2 only reads an index in order when the equality column is part of the ORDER BY
+        offsetQuery = connection.prepareStatement(
+                "SELECT id, order_date FROM orders_bench WHERE status = ? " +
+                        "ORDER BY status, order_date DESC, id DESC LIMIT ? OFFSET ?");
+        keysetQuery = connection.prepareStatement(
+                "SELECT id, order_date FROM orders_bench WHERE status = ? " +
+                        "AND order_date <= ? AND (order_date < ? OR id < ?) " +
+                        "ORDER BY status, order_date DESC, id DESC LIMIT ?");
+
+        // The cursor a client would hold after walking to the requested page
+        if (pageNumber > 0) {
+            offsetQuery.setString(1, "SHIPPED");
+            offsetQuery.setInt(2, 1);
+            offsetQuery.setInt(3, pageNumber * PAGE_SIZE - 1);
+            try (ResultSet rs = offsetQuery.executeQuery()) {
+                rs.next();
+                lastId = rs.getString(1);
+                lastOrderDate = rs.getTimestamp(2);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS orders_bench");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void offset(Blackhole blackhole) throws SQLException {
+        offsetQuery.setString(1, "SHIPPED");
+        offsetQuery.setInt(2, PAGE_SIZE + 1);
+        offsetQuery.setInt(3, pageNumber * PAGE_SIZE);
+        drain(offsetQuery, blackhole);
+    }
+
+    @Benchmark
+    public void keyset(Blackhole blackhole) throws SQLException {
+        if (pageNumber == 0) {
+            offsetQuery.setString(1, "SHIPPED");
+            offsetQuery.setInt(2, PAGE_SIZE + 1);
+            offsetQuery.setInt(3, 0);
+            drain(offsetQuery, blackhole);
+            return;
+        }
+        keysetQuery.setString(1, "SHIPPED");
+        keysetQuery.setTimestamp(2, lastOrderDate);
+        keysetQuery.setTimestamp(3, lastOrderDate);
+        keysetQuery.setString(4, lastId);
+        keysetQuery.setInt(5, PAGE_SIZE + 1);
+        drain(keysetQuery, blackhole);
+    }
+
+    private void drain(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getString(1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OrderKeysetPaginationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
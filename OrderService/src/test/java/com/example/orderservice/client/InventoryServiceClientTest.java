@@ -0,0 +1,102 @@
+package com.example.orderservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class InventoryServiceClientTest {
+
+    private MockRestServiceServer server;
+    private InventoryServiceClient inventoryServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        inventoryServiceClient = new InventoryServiceClient(restTemplate, new ObjectMapper(), "http://inventory");
+    }
+
+    @Test
+    void checkBulkAvailability_ShouldSendTypedLinesAndDecodeData() {
+        // Arrange
+        server.expect(requestTo("http://inventory/api/v1/inventory/availability"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("{\"items\":[{\"productId\":\"p-1\",\"quantity\":2},{\"productId\":\"p-2\",\"quantity\":1}]}", true))
+                .andRespond(withSuccess("{\"success\":true,\"message\":null,\"data\":{\"p-1\":true,\"p-2\":false},"
+                        + "\"timestamp\":\"2024-01-01T00:00:00\"}", MediaType.APPLICATION_JSON));
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        quantities.put("p-1", 2);
+        quantities.put("p-2", 1);
+
+        // Act
+        Map<String, Boolean> result = inventoryServiceClient.checkBulkAvailability(quantities);
+
+        // Assert
+        assertEquals(Map.of("p-1", true, "p-2", false), result);
+        server.verify();
+    }
+
+    @Test
+    void reserveStock_ShouldReturnReservationIdIgnoringOtherFields() {
+        // Arrange
+        server.expect(requestTo("http://inventory/api/v1/inventory/reservations"))
+                .andExpect(content().json("{\"orderId\":\"order-1\",\"items\":[{\"productId\":\"p-1\",\"quantity\":3}]}", true))
+                .andRespond(withStatus(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"success\":true,\"data\":{\"id\":\"res-1\",\"orderId\":\"order-1\",\"status\":\"HELD\","
+                                + "\"items\":[{\"productId\":\"p-1\",\"quantity\":3,\"warehouseId\":null}]}}"));
+
+        // Act
+        String reservationId = inventoryServiceClient.reserveStock("order-1", Map.of("p-1", 3));
+
+        // Assert
+        assertEquals("res-1", reservationId);
+        server.verify();
+    }
+
+    @Test
+    void reserveStock_WithUnexpectedStatus_ShouldReturnNull() {
+        // Arrange
+        server.expect(requestTo("http://inventory/api/v1/inventory/reservations"))
+                .andRespond(withSuccess("{\"success\":true,\"data\":{\"id\":\"res-1\"}}", MediaType.APPLICATION_JSON));
+
+        // Act & Assert
+        assertNull(inventoryServiceClient.reserveStock("order-1", Map.of("p-1", 3)));
+    }
+
+    @Test
+    void returnReservation_ShouldPostReturnActionAndSucceedOnOk() {
+        // Arrange
+        server.expect(requestTo("http://inventory/api/v1/inventory/reservations/res-1/return"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"success\":true,\"data\":{\"id\":\"res-1\",\"status\":\"RETURNED\"}}",
+                        MediaType.APPLICATION_JSON));
+
+        // Act & Assert
+        assertTrue(inventoryServiceClient.returnReservation("res-1"));
+        server.verify();
+    }
+
+    @Test
+    void restoreStock_ShouldSendQuantityAndSucceedOnOk() {
+        // Arrange
+        server.expect(requestTo("http://inventory/api/v1/inventory/p-1/stock/add"))
+                .andExpect(content().json("{\"quantity\":4,\"reference\":\"order-item:line-1\"}", true))
+                .andRespond(withSuccess("{\"success\":true,\"data\":{\"id\":\"p-1\",\"quantity\":14}}", MediaType.APPLICATION_JSON));
+
+        // Act & Assert
+        assertTrue(inventoryServiceClient.restoreStock("p-1", 4, "order-item:line-1"));
+        server.verify();
+    }
+}
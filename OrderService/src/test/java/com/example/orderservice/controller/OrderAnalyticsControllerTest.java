@@ -0,0 +1,51 @@
+package com.example.orderservice.controller;
+
+import com.example.orderservice.dto.ApiResponse;
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+import com.example.orderservice.service.OrderAnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderAnalyticsControllerTest {
+
+    @Mock
+    private OrderAnalyticsService orderAnalyticsService;
+
+    @InjectMocks
+    private OrderAnalyticsController orderAnalyticsController;
+
+    @Test
+    void getDailyAnalytics_ReturnsAnalytics() {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        OrderAnalyticsResponse analytics = OrderAnalyticsResponse.builder()
+                .from(from)
+                .to(to)
+                .orderCount(0)
+                .revenue(BigDecimal.ZERO)
+                .days(List.of())
+                .topProducts(List.of())
+                .build();
+        when(orderAnalyticsService.getDailyAnalytics(from, to, 10)).thenReturn(analytics);
+
+        ResponseEntity<ApiResponse<OrderAnalyticsResponse>> response =
+                orderAnalyticsController.getDailyAnalytics(from, to, 10);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(analytics, response.getBody().getData());
+        verify(orderAnalyticsService, times(1)).getDailyAnalytics(from, to, 10);
+    }
+}
@@ -2,10 +2,13 @@ package com.example.orderservice.controller;
 
 import com.example.orderservice.dto.ApiResponse;
 import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.CursorPage;
 import com.example.orderservice.dto.OrderItemRequest;
 import com.example.orderservice.dto.OrderResponse;
 import com.example.orderservice.dto.UpdateOrderStatusRequest;
+import com.example.orderservice.dto.UserOrderSummaryResponse;
 import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.service.IdempotentOrderCreator;
 import com.example.orderservice.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,6 +35,9 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private IdempotentOrderCreator idempotentOrderCreator;
+
     @InjectMocks
     private OrderController orderController;
 
@@ -52,7 +58,7 @@ class OrderControllerTest {
     }
 
     @Test
-    void createOrder_ReturnsCreatedOrder() {
+    void createOrder_ReturnsAcceptedOrder() {
         CreateOrderRequest request = new CreateOrderRequest();
         request.setUserId("user-123");
         request.setItems(List.of(OrderItemRequest.builder()
@@ -63,48 +69,64 @@ class OrderControllerTest {
         when(orderService.createOrder(request)).thenReturn(orderResponse);
 
         ResponseEntity<ApiResponse<OrderResponse>> response =
-                orderController.createOrder(request);
+                orderController.createOrder(null, request);
 
-        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
         assertEquals("order-123", response.getBody().getData().getId());
         verify(orderService, times(1)).createOrder(request);
+        verifyNoInteractions(idempotentOrderCreator);
+    }
+
+    @Test
+    void createOrder_WithIdempotencyKey_GoesThroughIdempotentCreator() {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId("user-123");
+
+        when(idempotentOrderCreator.createOrder("key-1", request)).thenReturn(orderResponse);
+
+        ResponseEntity<ApiResponse<OrderResponse>> response =
+                orderController.createOrder("key-1", request);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals("order-123", response.getBody().getData().getId());
+        verify(orderService, never()).createOrder(any(CreateOrderRequest.class));
     }
 
     @Test
     void getOrderById_ReturnsOrder() {
-        when(orderService.getOrderById("order-123")).thenReturn(orderResponse);
+        when(orderService.getOrderById("order-123", false)).thenReturn(orderResponse);
 
         ResponseEntity<ApiResponse<OrderResponse>> response =
-                orderController.getOrderById("order-123");
+                orderController.getOrderById("order-123", false);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("order-123", response.getBody().getData().getId());
-        verify(orderService, times(1)).getOrderById("order-123");
+        verify(orderService, times(1)).getOrderById("order-123", false);
     }
 
     @Test
-    void getOrdersByUserId_ReturnsList() {
-        when(orderService.getOrdersByUserId("user-123"))
-                .thenReturn(List.of(orderResponse));
+    void getOrdersByUserId_ReturnsPage() {
+        when(orderService.getOrdersByUserId("user-123", null, 50, false))
+                .thenReturn(page(orderResponse));
 
-        ResponseEntity<ApiResponse<List<OrderResponse>>> response =
-                orderController.getOrdersByUserId("user-123");
+        ResponseEntity<ApiResponse<CursorPage<OrderResponse>>> response =
+                orderController.getOrdersByUserId("user-123", null, 50, false);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(1, response.getBody().getData().size());
-        verify(orderService, times(1)).getOrdersByUserId("user-123");
+        assertEquals(1, response.getBody().getData().getItems().size());
+        verify(orderService, times(1)).getOrdersByUserId("user-123", null, 50, false);
     }
 
     @Test
-    void getAllOrders_ReturnsList() {
-        when(orderService.getAllOrders()).thenReturn(List.of(orderResponse));
+    void getAllOrders_ReturnsPage() {
+        when(orderService.getAllOrders(null, 50)).thenReturn(page(orderResponse));
 
-        ResponseEntity<ApiResponse<List<OrderResponse>>> response =
-                orderController.getAllOrders();
+        ResponseEntity<ApiResponse<CursorPage<OrderResponse>>> response =
+                orderController.getAllOrders(null, 50);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(1, response.getBody().getData().size());
-        verify(orderService, times(1)).getAllOrders();
+        assertEquals(1, response.getBody().getData().getItems().size());
+        verify(orderService, times(1)).getAllOrders(null, 50);
     }
 
     @Test
@@ -135,16 +157,16 @@ class OrderControllerTest {
     }
 
     @Test
-    void getOrdersByStatus_ReturnsList() {
-        when(orderService.getOrdersByStatus(OrderStatus.PENDING))
-                .thenReturn(List.of(orderResponse));
+    void getOrdersByStatus_ReturnsPage() {
+        when(orderService.getOrdersByStatus(OrderStatus.PENDING, null, 50))
+                .thenReturn(page(orderResponse));
 
-        ResponseEntity<ApiResponse<List<OrderResponse>>> response =
-                orderController.getOrdersByStatus(OrderStatus.PENDING);
+        ResponseEntity<ApiResponse<CursorPage<OrderResponse>>> response =
+                orderController.getOrdersByStatus(OrderStatus.PENDING, null, 50);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(1, response.getBody().getData().size());
-        verify(orderService, times(1)).getOrdersByStatus(OrderStatus.PENDING);
+        assertEquals(1, response.getBody().getData().getItems().size());
+        verify(orderService, times(1)).getOrdersByStatus(OrderStatus.PENDING, null, 50);
     }
 
     @Test
@@ -158,4 +180,27 @@ class OrderControllerTest {
         assertEquals(5L, response.getBody().getData());
         verify(orderService, times(1)).getOrderCountByUserId("user-123");
     }
+
+    @Test
+    void getOrderSummaryByUserId_ReturnsSummary() {
+        UserOrderSummaryResponse summary = UserOrderSummaryResponse.builder()
+                .userId("user-123")
+                .orderCount(3)
+                .totalAmount(BigDecimal.valueOf(170))
+                .build();
+        when(orderService.getOrderSummaryByUserId("user-123")).thenReturn(summary);
+
+        ResponseEntity<ApiResponse<UserOrderSummaryResponse>> response =
+                orderController.getOrderSummaryByUserId("user-123");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(summary, response.getBody().getData());
+    }
+
+    private static CursorPage<OrderResponse> page(OrderResponse... items) {
+        return CursorPage.<OrderResponse>builder()
+                .items(List.of(items))
+                .hasNext(false)
+                .build();
+    }
 }
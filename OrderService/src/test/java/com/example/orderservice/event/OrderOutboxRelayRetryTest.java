@@ -0,0 +1,82 @@
+package com.example.orderservice.event;
+
+import com.example.orderservice.model.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayRetryTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private KafkaTemplate<String, OrderEvent> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OrderOutboxRelay(outboxEventRepository, kafkaTemplate,
+                new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry, 1000);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relay_WhenSendFails_ShouldNotSendLaterEventsWithSameKey() {
+        // Arrange
+        OutboxEvent a1 = event(1L, "order-a");
+        OutboxEvent b1 = event(2L, "order-b");
+        OutboxEvent a2 = event(3L, "order-a");
+        when(outboxEventRepository.findBatchForUpdate(any(Pageable.class))).thenReturn(List.of(a1, b1, a2));
+        when(kafkaTemplate.send(anyString(), eq("order-a"), any(OrderEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaTemplate.send(anyString(), eq("order-b"), any(OrderEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(outboxEventRepository.count()).thenReturn(2L);
+
+        // Act
+        int relayed = relay.relay(10);
+
+        // Assert
+        ArgumentCaptor<List<OutboxEvent>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventRepository).deleteAllInBatch(deleted.capture());
+        assertEquals(1, relayed);
+        assertEquals(List.of(b1), deleted.getValue());
+        verify(kafkaTemplate, times(1)).send(anyString(), eq("order-a"), any(OrderEvent.class));
+        assertEquals(1.0, meterRegistry.get("order.outbox.failures").counter().count());
+        assertEquals(2.0, meterRegistry.get("order.outbox.pending").gauge().value());
+    }
+
+    private OutboxEvent event(Long id, String orderId) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateId(orderId)
+                .eventType(OrderEventPublisher.ORDER_CREATED)
+                .topic("order-events")
+                .payload("{\"id\":\"" + orderId + "\"}")
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.orderservice.event;
+
+import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.OutboxEvent;
+import com.example.orderservice.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "app.kafka.order-events-topic=order-events-test"
+})
+@EmbeddedKafka(partitions = 1, topics = "order-events-test")
+@ImportAutoConfiguration({KafkaAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Import({OrderEventPublisher.class, OrderOutboxRelay.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderOutboxRelayTest {
+
+    @Autowired
+    private OrderEventPublisher orderEventPublisher;
+
+    @Autowired
+    private OrderOutboxRelay orderOutboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void publishOrderCreated_ShouldOnlyQueueEventInOutbox() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> orderEventPublisher.publishOrderCreated(order("order-1")));
+
+        // Assert
+        List<OutboxEvent> queued = outboxEventRepository.findAll();
+        assertEquals(1, queued.size());
+        assertEquals("order-1", queued.get(0).getAggregateId());
+        assertEquals(OrderEventPublisher.ORDER_CREATED, queued.get(0).getEventType());
+    }
+
+    @Test
+    void publishOrderCreated_WithoutTransaction_ShouldBeRejected() {
+        // Act & Assert
+        assertThrows(IllegalTransactionStateException.class,
+                () -> orderEventPublisher.publishOrderCreated(order("order-1")));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void relay_ShouldDeliverEventsInOrderAndDrainOutbox() {
+        // Arrange
+        for (String orderId : List.of("order-a", "order-b", "order-a", "order-c", "order-a")) {
+            transactionTemplate.executeWithoutResult(status -> orderEventPublisher.publishOrderCreated(order(orderId)));
+        }
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-test", "false", embeddedKafka);
+        consumerProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.example.orderservice.event");
+
+        // Act
+        int relayed = orderOutboxRelay.relay(3);
+        relayed += orderOutboxRelay.relay(3);
+
+        // Assert
+        assertEquals(5, relayed);
+        assertEquals(0, outboxEventRepository.count());
+        try (Consumer<String, OrderEvent> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new JsonDeserializer<>(OrderEvent.class, objectMapper)).createConsumer()) {
+            embeddedKafka.consumeFromAnEmbeddedTopic(consumer, "order-events-test");
+            List<String> keys = new ArrayList<>();
+            List<Long> sequences = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (keys.size() < 5 && System.currentTimeMillis() < deadline) {
+                ConsumerRecords<String, OrderEvent> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(2));
+                for (ConsumerRecord<String, OrderEvent> record : records) {
+                    assertEquals(record.key(), record.value().getId());
+                    keys.add(record.key());
+                    sequences.add(record.value().getSequence());
+                }
+            }
+            assertEquals(List.of("order-a", "order-b", "order-a", "order-c", "order-a"), keys);
+            assertEquals(sequences.stream().sorted().toList(), sequences);
+            assertEquals(5, sequences.stream().distinct().count());
+        }
+    }
+
+    private Order order(String orderId) {
+        Order order = Order.builder()
+                .userId("user-123")
+                .orderDate(LocalDateTime.now())
+                .status(OrderStatus.PENDING)
+                .totalAmount(BigDecimal.valueOf(19.99))
+                .shippingAddress("123 Test St")
+                .build();
+        order.setId(orderId);
+        return order;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.model.IdempotencyKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the claim semantics {@code IdempotentOrderCreator} relies on: a second claim on a
+ * live key fails instead of overwriting it, a key completes exactly once, and only the
+ * attempt holding the current claim can complete or release it.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyKeyRepositoryTest {
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @AfterEach
+    void tearDown() {
+        idempotencyKeyRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void saveAndFlush_WithKeyAlreadyClaimed_ShouldFailWithoutOverwriting() {
+        // Arrange
+        idempotencyKeyRepository.saveAndFlush(claim("key-1", "hash-a", LocalDateTime.now()));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () ->
+                idempotencyKeyRepository.saveAndFlush(claim("key-1", "hash-b", LocalDateTime.now())));
+        assertEquals("hash-a", idempotencyKeyRepository.findById("key-1").orElseThrow().getRequestHash());
+    }
+
+    @Test
+    void complete_ShouldRecordOnlyTheFirstOrder() {
+        // Arrange
+        idempotencyKeyRepository.saveAndFlush(claim("key-1", "hash-a", LocalDateTime.now()));
+
+        // Act
+        int first = idempotencyKeyRepository.complete("key-1", "token-key-1", "order-1");
+        int second = idempotencyKeyRepository.complete("key-1", "token-key-1", "order-2");
+
+        // Assert
+        assertEquals(1, first);
+        assertEquals(0, second);
+        assertEquals("order-1", idempotencyKeyRepository.findById("key-1").orElseThrow().getOrderId());
+    }
+
+    @Test
+    void completeAndRelease_WithTokenOfTakenOverClaim_ShouldLeaveNewClaimAlone() {
+        // Arrange: the first attempt's lease ran out and a retry claimed the key again
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.saveAndFlush(claim("key-1", "hash-a", now.minusMinutes(5)));
+        idempotencyKeyRepository.deleteIfStale("key-1", now, now.minusSeconds(30));
+        IdempotencyKey retry = claim("key-1", "hash-a", now);
+        retry.setClaimToken("token-retry");
+        idempotencyKeyRepository.saveAndFlush(retry);
+
+        // Act
+        int completed = idempotencyKeyRepository.complete("key-1", "token-key-1", "order-1");
+        int released = idempotencyKeyRepository.release("key-1", "token-key-1");
+
+        // Assert
+        assertEquals(0, completed);
+        assertEquals(0, released);
+        IdempotencyKey stored = idempotencyKeyRepository.findById("key-1").orElseThrow();
+        assertEquals("token-retry", stored.getClaimToken());
+        assertNull(stored.getOrderId());
+    }
+
+    @Test
+    void deleteIfStale_ShouldDropOnlyAbandonedClaims() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyKeyRepository.saveAndFlush(claim("abandoned", "hash-a", now.minusMinutes(5)));
+        idempotencyKeyRepository.saveAndFlush(claim("completed", "hash-b", now.minusMinutes(5)));
+        idempotencyKeyRepository.complete("completed", "token-completed", "order-1");
+        idempotencyKeyRepository.saveAndFlush(claim("running", "hash-c", now));
+
+        // Act
+        LocalDateTime leaseCutoff = now.minusSeconds(30);
+        int abandoned = idempotencyKeyRepository.deleteIfStale("abandoned", now, leaseCutoff);
+        int completed = idempotencyKeyRepository.deleteIfStale("completed", now, leaseCutoff);
+        int running = idempotencyKeyRepository.deleteIfStale("running", now, leaseCutoff);
+
+        // Assert
+        assertEquals(1, abandoned);
+        assertEquals(0, completed);
+        assertEquals(0, running);
+    }
+
+    private static IdempotencyKey claim(String key, String requestHash, LocalDateTime createdAt) {
+        return IdempotencyKey.builder()
+                .key(key)
+                .requestHash(requestHash)
+                .claimToken("token-" + key)
+                .createdAt(createdAt)
+                .expiresAt(createdAt.plusHours(24))
+                .build();
+    }
+}
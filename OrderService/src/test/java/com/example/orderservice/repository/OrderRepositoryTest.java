@@ -0,0 +1,181 @@
+package com.example.orderservice.repository;
+
+import com.example.orderservice.dto.OrderItemRow;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderItem;
+import com.example.orderservice.model.OrderStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL the listing and lookup queries issue for 500 orders of two items each.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderRepositoryTest {
+
+    private static final int ORDERS = 500;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = Order.builder()
+                    .userId(i % 2 == 0 ? "user-even" : "user-odd")
+                    .orderDate(LocalDateTime.now().minusMinutes(i))
+                    .status(i % 5 == 0 ? OrderStatus.SHIPPED : OrderStatus.PENDING)
+                    .totalAmount(BigDecimal.valueOf(20))
+                    .shippingAddress("123 Test St")
+                    .build();
+            for (int j = 0; j < 2; j++) {
+                order.addOrderItem(OrderItem.builder()
+                        .productId("product-" + j)
+                        .productName("Product " + j)
+                        .quantity(1)
+                        .price(BigDecimal.TEN)
+                        .subtotal(BigDecimal.TEN)
+                        .build());
+            }
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void userPage_ShouldCostThreeStatementsWithoutLoadingEntities() {
+        // Arrange
+        List<String> firstPage = orderRepository.findFirstPageIdsByUserId("user-even", PageRequest.of(0, 50));
+        OrderResponse last = orderRepository.findResponseById(firstPage.get(firstPage.size() - 1)).orElseThrow();
+
+        // Act: the next page, read the way OrderServiceImpl.getOrdersByUserId reads it
+        statistics.clear();
+        List<String> ids = orderRepository.findPageIdsByUserIdAfter("user-even", last.getOrderDate(), last.getId(),
+                PageRequest.of(0, 50));
+        List<OrderResponse> orders = orderRepository.findResponsesByIdIn(ids);
+        List<OrderItemRow> items = orderItemRepository.findRowsByOrderIdIn(ids);
+
+        // Assert
+        assertEquals(50, orders.size());
+        assertEquals(100, items.size());
+        assertTrue(orders.stream().allMatch(order -> "user-even".equals(order.getUserId())));
+        assertTrue(ids.stream().noneMatch(firstPage::contains));
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findById_ShouldLoadOrderWithItemsInOneStatement() {
+        // Arrange
+        String id = orderRepository.findFirstPageIdsByUserId("user-odd", PageRequest.of(0, 1)).get(0);
+
+        // Act
+        long statements = countStatements(() -> List.of(orderRepository.findById(id).orElseThrow()));
+
+        // Assert
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void findPageIdsByStatusAfter_ShouldWalkEveryOrderOnceNewestFirst() {
+        // Arrange
+        List<String> seen = new ArrayList<>();
+        List<String> page = orderRepository.findFirstPageIdsByStatus(OrderStatus.SHIPPED, PageRequest.of(0, 30));
+
+        // Act
+        while (!page.isEmpty()) {
+            seen.addAll(page);
+            Order last = orderRepository.findById(page.get(page.size() - 1)).orElseThrow();
+            page = orderRepository.findPageIdsByStatusAfter(OrderStatus.SHIPPED, last.getOrderDate(), last.getId(),
+                    PageRequest.of(0, 30));
+        }
+
+        // Assert
+        Set<String> distinct = new HashSet<>(seen);
+        assertEquals(ORDERS / 5, seen.size());
+        assertEquals(seen.size(), distinct.size());
+        List<OrderResponse> orders = new ArrayList<>(orderRepository.findResponsesByIdIn(seen));
+        orders.sort((a, b) -> Integer.compare(seen.indexOf(a.getId()), seen.indexOf(b.getId())));
+        for (int i = 1; i < orders.size(); i++) {
+            assertFalse(orders.get(i).getOrderDate().isAfter(orders.get(i - 1).getOrderDate()));
+        }
+    }
+
+    @Test
+    void findResponsesByIdIn_ShouldReadPageWithoutLoadingEntities() {
+        // Arrange
+        List<String> ids = orderRepository.findFirstPageIds(PageRequest.of(0, 50));
+
+        // Act
+        statistics.clear();
+        List<OrderResponse> orders = orderRepository.findResponsesByIdIn(ids);
+        List<OrderItemRow> items = orderItemRepository.findRowsByOrderIdIn(ids);
+
+        // Assert
+        assertEquals(50, orders.size());
+        assertEquals(100, items.size());
+        assertTrue(items.stream().allMatch(item -> ids.contains(item.getOrderId())));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private long countStatements(Supplier<List<Order>> query) {
+        statistics.clear();
+        Integer items = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (Order order : query.get()) {
+                count += order.getOrderItems().size();
+            }
+            return count;
+        });
+        assertTrue(items > 0);
+        return statistics.getPrepareStatementCount();
+    }
+}
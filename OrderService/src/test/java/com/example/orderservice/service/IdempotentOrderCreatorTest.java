@@ -0,0 +1,182 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.OrderItemRequest;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.exception.IdempotencyKeyInFlightException;
+import com.example.orderservice.exception.IdempotencyKeyMismatchException;
+import com.example.orderservice.exception.InvalidOrderException;
+import com.example.orderservice.model.IdempotencyKey;
+import com.example.orderservice.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentOrderCreatorTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private IdempotentOrderCreator creator;
+    private CreateOrderRequest request;
+    private OrderResponse created;
+
+    @BeforeEach
+    void setUp() {
+        creator = new IdempotentOrderCreator(orderService, idempotencyKeyRepository, new ObjectMapper(),
+                new SimpleMeterRegistry(), 24, 30000, 300);
+        request = CreateOrderRequest.builder()
+                .userId("user-123")
+                .shippingAddress("123 Test St")
+                .items(List.of(OrderItemRequest.builder()
+                        .productId("product-123")
+                        .productName("Test Product")
+                        .quantity(2)
+                        .price(BigDecimal.valueOf(99.99))
+                        .build()))
+                .build();
+        created = OrderResponse.builder().id("order-123").userId("user-123").build();
+    }
+
+    @Test
+    void createOrder_WithNewKey_ShouldClaimKeyAndCreateOrder() {
+        // Arrange
+        when(orderService.createOrder(eq(request), eq("key-1"), anyString())).thenReturn(created);
+
+        // Act
+        OrderResponse result = creator.createOrder("key-1", request);
+
+        // Assert
+        assertEquals("order-123", result.getId());
+        verify(idempotencyKeyRepository, times(1)).saveAndFlush(any(IdempotencyKey.class));
+        verify(idempotencyKeyRepository, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void createOrder_WithCompletedKey_ShouldReplayStoredOrder() throws Exception {
+        // Arrange
+        IdempotencyKey claim = claimFor("key-1", request);
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        claim.setOrderId("order-123");
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(claim));
+        when(orderService.getOrderById("order-123")).thenReturn(created);
+
+        // Act
+        OrderResponse result = creator.createOrder("key-1", request);
+
+        // Assert
+        assertEquals("order-123", result.getId());
+        verify(orderService, never()).createOrder(any(CreateOrderRequest.class), anyString(), anyString());
+    }
+
+    @Test
+    void createOrder_WithKeyReusedForDifferentRequest_ShouldReject() throws Exception {
+        // Arrange
+        IdempotencyKey claim = claimFor("key-1", request);
+        claim.setOrderId("order-123");
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(claim));
+        request.setNotes("leave at the door");
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyMismatchException.class, () -> creator.createOrder("key-1", request));
+        verify(orderService, never()).getOrderById(anyString());
+    }
+
+    @Test
+    void createOrder_WhileAnotherInstanceHoldsKey_ShouldGiveUpAfterWaiting() throws Exception {
+        // Arrange
+        when(idempotencyKeyRepository.saveAndFlush(any(IdempotencyKey.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyKeyRepository.findById("key-1")).thenReturn(Optional.of(claimFor("key-1", request)));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyInFlightException.class, () -> creator.createOrder("key-1", request));
+        verify(orderService, never()).createOrder(any(CreateOrderRequest.class), anyString(), anyString());
+    }
+
+    @Test
+    void createOrder_WhenCreationFails_ShouldReleaseKey() {
+        // Arrange
+        when(orderService.createOrder(eq(request), eq("key-1"), anyString())).thenThrow(new InvalidOrderException("Order must contain at least one item"));
+
+        // Act & Assert
+        assertThrows(InvalidOrderException.class, () -> creator.createOrder("key-1", request));
+        ArgumentCaptor<IdempotencyKey> claim = ArgumentCaptor.forClass(IdempotencyKey.class);
+        verify(idempotencyKeyRepository).saveAndFlush(claim.capture());
+        verify(idempotencyKeyRepository, times(1)).release("key-1", claim.getValue().getClaimToken());
+    }
+
+    @Test
+    void createOrder_WithConcurrentDuplicate_ShouldWaitForFirstRequest() throws Exception {
+        // Arrange
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        when(orderService.createOrder(eq(request), eq("key-1"), anyString())).thenAnswer(invocation -> {
+            creating.countDown();
+            finish.await(5, TimeUnit.SECONDS);
+            return created;
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<OrderResponse> duplicateResult = new AtomicReference<>();
+        Thread duplicate = new Thread(() -> duplicateResult.set(creator.createOrder("key-1", request)));
+
+        // Act
+        Future<OrderResponse> first = executor.submit(() -> creator.createOrder("key-1", request));
+        assertTrue(creating.await(5, TimeUnit.SECONDS));
+        duplicate.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (duplicate.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        finish.countDown();
+        duplicate.join(5000);
+
+        // Assert
+        assertSame(first.get(5, TimeUnit.SECONDS), duplicateResult.get());
+        verify(orderService, times(1)).createOrder(eq(request), eq("key-1"), anyString());
+        verify(idempotencyKeyRepository, times(1)).saveAndFlush(any(IdempotencyKey.class));
+        executor.shutdown();
+    }
+
+    private static IdempotencyKey claimFor(String key, CreateOrderRequest request) throws Exception {
+        byte[] body = new ObjectMapper().writeValueAsBytes(request);
+        return IdempotencyKey.builder()
+                .key(key)
+                .requestHash(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body)))
+                .createdAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusHours(24))
+                .build();
+    }
+}
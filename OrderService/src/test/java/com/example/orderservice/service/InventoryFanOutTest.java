@@ -0,0 +1,139 @@
+package com.example.orderservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryFanOutTest {
+
+    private static final long DEADLINE_MS = 500;
+
+    private ExecutorService pool;
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryFanOut fanOut;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(8);
+        meterRegistry = new SimpleMeterRegistry();
+        fanOut = new InventoryFanOut(new TaskExecutorAdapter(pool), meterRegistry, DEADLINE_MS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void callAll_ShouldRunCallsConcurrentlyAndKeepInputOrder() {
+        // Arrange
+        List<Integer> inputs = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+
+        // Act
+        long start = System.nanoTime();
+        List<Integer> results = fanOut.callAll("test", inputs, input -> {
+            sleep(100);
+            return input * 10;
+        });
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertEquals(Arrays.asList(10, 20, 30, 40, 50, 60, 70, 80), results);
+        assertTrue(elapsedMs < 400, "8 calls of 100 ms took " + elapsedMs + " ms");
+        assertEquals(8.0, meterRegistry.get("order.inventory.fanout.width").tag("operation", "test")
+                .summary().max());
+        assertEquals(1, meterRegistry.get("order.inventory.fanout.latency").tag("operation", "test")
+                .timer().count());
+    }
+
+    @Test
+    void callAll_WhenDeadlinePasses_ShouldCancelSlowCallsAndReturnNull() throws Exception {
+        // Arrange
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        // Act
+        List<String> results = fanOut.callAll("test", Arrays.asList("fast", "slow"), input -> {
+            if (input.equals("slow")) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            }
+            return input;
+        });
+        Thread.sleep(100);
+
+        // Assert
+        assertEquals(Arrays.asList("fast", null), results);
+        assertTrue(interrupted.get());
+        assertEquals(1.0, meterRegistry.get("order.inventory.fanout.timeouts").tag("operation", "test")
+                .counter().count());
+    }
+
+    @Test
+    void callAll_WhenExecutorRejects_ShouldReturnNullWithoutRunningOnCaller() {
+        // Arrange
+        ThreadPoolTaskExecutor saturated = new ThreadPoolTaskExecutor();
+        saturated.setCorePoolSize(1);
+        saturated.setMaxPoolSize(1);
+        saturated.setQueueCapacity(0);
+        saturated.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        saturated.initialize();
+        InventoryFanOut saturatedFanOut = new InventoryFanOut(saturated, meterRegistry, DEADLINE_MS);
+        Thread caller = Thread.currentThread();
+        AtomicBoolean ranOnCaller = new AtomicBoolean();
+
+        try {
+            // Act
+            List<String> results = saturatedFanOut.callAll("test", Arrays.asList("first", "second"), input -> {
+                if (Thread.currentThread() == caller) {
+                    ranOnCaller.set(true);
+                }
+                sleep(100);
+                return input;
+            });
+
+            // Assert
+            assertEquals(Arrays.asList("first", null), results);
+            assertFalse(ranOnCaller.get());
+            assertEquals(1.0, meterRegistry.get("order.inventory.fanout.rejections").tag("operation", "test")
+                    .counter().count());
+        } finally {
+            saturated.shutdown();
+        }
+    }
+
+    @Test
+    void callAll_WhenCallThrows_ShouldRethrowItsException() {
+        // Act & Assert
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class,
+                () -> fanOut.callAll("test", Arrays.asList(1, 2), input -> {
+                    if (input == 2) {
+                        throw new IllegalArgumentException("boom");
+                    }
+                    return input;
+                }));
+        assertEquals("boom", thrown.getMessage());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
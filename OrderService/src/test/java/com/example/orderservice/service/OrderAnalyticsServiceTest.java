@@ -0,0 +1,91 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.DailyOrderStats;
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+import com.example.orderservice.dto.ProductSales;
+import com.example.orderservice.exception.InvalidDateRangeException;
+import com.example.orderservice.model.OrderDailyStats;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.repository.OrderDailyStatsRepository;
+import com.example.orderservice.repository.ProductDailyStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderAnalyticsServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 3, 31);
+
+    @Mock
+    private OrderDailyStatsRepository orderDailyStatsRepository;
+
+    @Mock
+    private ProductDailyStatsRepository productDailyStatsRepository;
+
+    @InjectMocks
+    private OrderAnalyticsServiceImpl orderAnalyticsService;
+
+    @Test
+    void getDailyAnalytics_ShouldGroupRowsByDayAndLeaveCancelledOutOfRevenue() {
+        // Arrange
+        when(orderDailyStatsRepository.findByStatDateBetween(FROM, TO)).thenReturn(List.of(
+            stats(FROM.plusDays(1), OrderStatus.CONFIRMED, 3, "300.00"),
+            stats(FROM, OrderStatus.DELIVERED, 2, "120.00"),
+            stats(FROM, OrderStatus.CANCELLED, 1, "50.00"),
+            stats(FROM, OrderStatus.PENDING, 0, "0.00")));
+        List<ProductSales> top = List.of(new ProductSales("product-1", "Product 1", 4L, new BigDecimal("400.00")));
+        when(productDailyStatsRepository.findTopProducts(eq(FROM), eq(TO), anyCollection(), eq(PageRequest.of(0, 5))))
+            .thenReturn(top);
+
+        // Act
+        OrderAnalyticsResponse result = orderAnalyticsService.getDailyAnalytics(FROM, TO, 5);
+
+        // Assert
+        assertEquals(6, result.getOrderCount());
+        assertEquals(new BigDecimal("420.00"), result.getRevenue());
+        assertEquals(List.of(FROM, FROM.plusDays(1)), result.getDays().stream().map(DailyOrderStats::getDate).toList());
+        assertEquals(3, result.getDays().get(0).getOrderCount());
+        assertEquals(new BigDecimal("120.00"), result.getDays().get(0).getRevenue());
+        assertFalse(result.getDays().get(0).getByStatus().containsKey(OrderStatus.PENDING));
+        assertEquals(top, result.getTopProducts());
+    }
+
+    @Test
+    void getDailyAnalytics_WithFromAfterTo_ShouldThrowInvalidDateRange() {
+        // Act & Assert
+        assertThrows(InvalidDateRangeException.class, () -> orderAnalyticsService.getDailyAnalytics(TO, FROM, 10));
+        verifyNoInteractions(orderDailyStatsRepository, productDailyStatsRepository);
+    }
+
+    @Test
+    void getDailyAnalytics_WithRangeOverAYear_ShouldThrowInvalidDateRange() {
+        // Act & Assert
+        assertThrows(InvalidDateRangeException.class, () ->
+            orderAnalyticsService.getDailyAnalytics(FROM, FROM.plusDays(366), 10));
+        verify(productDailyStatsRepository, never()).findTopProducts(any(), any(), anyCollection(), any());
+    }
+
+    private static OrderDailyStats stats(LocalDate day, OrderStatus status, long orderCount, String totalAmount) {
+        return OrderDailyStats.builder()
+            .statDate(day)
+            .status(status)
+            .orderCount(orderCount)
+            .totalAmount(new BigDecimal(totalAmount))
+            .build();
+    }
+}
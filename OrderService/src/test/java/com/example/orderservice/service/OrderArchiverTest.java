@@ -0,0 +1,166 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.OrderItemRow;
+import com.example.orderservice.dto.OrderResponse;
+import com.example.orderservice.model.ArchivedOrder;
+import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderItem;
+import com.example.orderservice.model.OrderSaga;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.SagaStep;
+import com.example.orderservice.repository.ArchivedOrderItemRepository;
+import com.example.orderservice.repository.ArchivedOrderRepository;
+import com.example.orderservice.repository.OrderItemRepository;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.OrderSagaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs archive batches against an embedded database and checks which orders move and that
+ * a moved order reads back the same from the archive.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(OrderArchiver.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderArchiverTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.now().minusDays(180);
+
+    @Autowired
+    private OrderArchiver orderArchiver;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderSagaRepository orderSagaRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArchivedOrderItemRepository archivedOrderItemRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderSagaRepository.deleteAllInBatch();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        archivedOrderItemRepository.deleteAllInBatch();
+        archivedOrderRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void archiveBatch_ShouldMoveOnlyOldClosedOrdersWithFinishedSagas() {
+        // Arrange
+        Order delivered = placeOrder(OrderStatus.DELIVERED, CUTOFF.minusDays(1), SagaStep.COMPLETED);
+        Order cancelled = placeOrder(OrderStatus.CANCELLED, CUTOFF.minusDays(2), SagaStep.COMPENSATED);
+        Order stillRestoring = placeOrder(OrderStatus.CANCELLED, CUTOFF.minusDays(3), SagaStep.RESTORE_STOCK);
+        Order shipped = placeOrder(OrderStatus.SHIPPED, CUTOFF.minusDays(4), SagaStep.COMPLETED);
+        // Placed before the cutoff but closed after it
+        Order recentlyClosed = placeOrder(OrderStatus.DELIVERED, CUTOFF.plusDays(1), SagaStep.COMPLETED);
+
+        // Act
+        int archived = orderArchiver.archiveBatch(CUTOFF, 10);
+
+        // Assert
+        assertEquals(2, archived);
+        assertEquals(Set.of(delivered.getId(), cancelled.getId()), Set.copyOf(archivedOrderRepository.findAll().stream()
+                .map(ArchivedOrder::getId).toList()));
+        assertEquals(Set.of(stillRestoring.getId(), shipped.getId(), recentlyClosed.getId()), Set.copyOf(orderRepository.findAll()
+                .stream().map(Order::getId).toList()));
+        assertEquals(6, orderItemRepository.count());
+        assertEquals(4, archivedOrderItemRepository.count());
+        assertEquals(Set.of(stillRestoring.getId(), shipped.getId(), recentlyClosed.getId()), Set.copyOf(orderSagaRepository
+                .findAll().stream().map(OrderSaga::getOrderId).toList()));
+    }
+
+    @Test
+    void archiveBatch_ShouldStopAtBatchSize() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            placeOrder(OrderStatus.DELIVERED, CUTOFF.minusDays(i + 1), SagaStep.COMPLETED);
+        }
+
+        // Act
+        int first = orderArchiver.archiveBatch(CUTOFF, 3);
+        int second = orderArchiver.archiveBatch(CUTOFF, 3);
+        int third = orderArchiver.archiveBatch(CUTOFF, 3);
+
+        // Assert
+        assertEquals(List.of(3, 2, 0), List.of(first, second, third));
+        assertEquals(0, orderRepository.count());
+        assertEquals(5, archivedOrderRepository.count());
+    }
+
+    @Test
+    void archiveBatch_ShouldKeepOrderReadableFromArchive() {
+        // Arrange
+        Order order = placeOrder(OrderStatus.DELIVERED, CUTOFF.minusDays(1), SagaStep.COMPLETED);
+
+        // Act
+        orderArchiver.archiveBatch(CUTOFF, 10);
+
+        // Assert
+        OrderResponse response = archivedOrderRepository.findResponseById(order.getId()).orElseThrow();
+        assertEquals(OrderStatus.DELIVERED, response.getStatus());
+        assertEquals(0, order.getTotalAmount().compareTo(response.getTotalAmount()));
+        assertEquals(order.getCreatedAt().withNano(0), response.getCreatedAt().withNano(0));
+        assertEquals(List.of(order.getId()), archivedOrderRepository.findFirstPageByUserId("user-1", PageRequest.of(0, 10))
+                .stream().map(OrderResponse::getId).toList());
+        List<OrderItemRow> items = archivedOrderItemRepository.findRowsByOrderIdIn(List.of(order.getId()));
+        assertEquals(Set.of("product-1", "product-2"), Set.copyOf(items.stream().map(OrderItemRow::getProductId).toList()));
+    }
+
+    private Order placeOrder(OrderStatus status, LocalDateTime closedAt, SagaStep sagaStep) {
+        Order order = Order.builder()
+                .userId("user-1")
+                .orderDate(closedAt.minusDays(30))
+                .status(status)
+                .totalAmount(BigDecimal.valueOf(30))
+                .shippingAddress("123 Test St")
+                .build();
+        order.addOrderItem(item("product-1", 1));
+        order.addOrderItem(item("product-2", 2));
+        Order saved = orderRepository.save(order);
+        orderSagaRepository.save(OrderSaga.builder()
+                .orderId(saved.getId())
+                .step(sagaStep)
+                .nextAttemptAt(closedAt)
+                .build());
+        // updated_at is stamped on every write; backdate it to when the order closed
+        jdbcTemplate.update("UPDATE orders SET updated_at = ? WHERE id = ?", closedAt, saved.getId());
+        return saved;
+    }
+
+    private OrderItem item(String productId, int quantity) {
+        return OrderItem.builder()
+                .productId(productId)
+                .productName(productId)
+                .quantity(quantity)
+                .price(BigDecimal.TEN)
+                .subtotal(BigDecimal.TEN.multiply(BigDecimal.valueOf(quantity)))
+                .build();
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.client.InventoryServiceClient;
+import com.example.orderservice.config.InventoryFanOutConfig;
+import com.example.orderservice.event.OrderEventPublisher;
+import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderItem;
+import com.example.orderservice.model.OrderSaga;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.SagaStep;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.OrderSagaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Drives sagas step by step against an embedded database. The saga executor drops submitted
+ * work, so each test calls {@link OrderSagaOrchestrator#run} itself the way a worker would.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.saga.retry.max-attempts=3",
+        "app.saga.retry.backoff-ms=0"
+})
+@Import({OrderSagaOrchestrator.class, InventoryFanOut.class, InventoryFanOutConfig.class, SimpleMeterRegistry.class,
+        OrderSagaOrchestratorTest.ManualSagaExecutor.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderSagaOrchestratorTest {
+
+    @TestConfiguration
+    static class ManualSagaExecutor {
+
+        @Bean
+        TaskExecutor orderSagaExecutor() {
+            return task -> { };
+        }
+    }
+
+    @Autowired
+    private OrderSagaOrchestrator orderSagaOrchestrator;
+
+    @Autowired
+    private OrderSagaRepository orderSagaRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private InventoryServiceClient inventoryServiceClient;
+
+    @MockBean
+    private OrderEventPublisher orderEventPublisher;
+
+    @AfterEach
+    void tearDown() {
+        orderSagaRepository.deleteAll();
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void run_WhenEveryStepSucceeds_ShouldConfirmOrder() {
+        // Arrange
+        OrderSaga saga = placeOrder();
+        when(inventoryServiceClient.checkBulkAvailability(anyMap()))
+                .thenReturn(Map.of("product-1", true, "product-2", true));
+        when(inventoryServiceClient.reserveStock(anyString(), anyMap())).thenReturn("reservation-1");
+        when(inventoryServiceClient.confirmReservation("reservation-1")).thenReturn(true);
+
+        // Act
+        orderSagaOrchestrator.run(saga.getId());
+
+        // Assert
+        OrderSaga finished = orderSagaRepository.findById(saga.getId()).orElseThrow();
+        assertEquals(SagaStep.COMPLETED, finished.getStep());
+        assertEquals("reservation-1", finished.getReservationId());
+        assertNull(finished.getLockedUntil());
+        assertEquals(OrderStatus.CONFIRMED, orderRepository.findById(saga.getOrderId()).orElseThrow().getStatus());
+        verify(orderEventPublisher, times(1)).publishStatusChanged(any(Order.class), eq(OrderStatus.PENDING));
+    }
+
+    @Test
+    void run_WhenStockIsUnavailable_ShouldCancelOrderWithoutReserving() {
+        // Arrange
+        OrderSaga saga = placeOrder();
+        when(inventoryServiceClient.checkBulkAvailability(anyMap()))
+                .thenReturn(Map.of("product-1", true, "product-2", false));
+
+        // Act
+        orderSagaOrchestrator.run(saga.getId());
+
+        // Assert
+        OrderSaga finished = orderSagaRepository.findById(saga.getId()).orElseThrow();
+        assertEquals(SagaStep.COMPENSATED, finished.getStep());
+        assertTrue(finished.getLastError().contains("product-2"));
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(saga.getOrderId()).orElseThrow().getStatus());
+        verify(inventoryServiceClient, never()).reserveStock(anyString(), anyMap());
+        verify(orderEventPublisher, times(1)).publishStatusChanged(any(Order.class), eq(OrderStatus.PENDING));
+    }
+
+    @Test
+    void run_WhenOrderMovedOnByHandBeforeCompensating_ShouldNotCancelIt() {
+        // Arrange
+        OrderSaga saga = placeOrder();
+        transactionTemplate.executeWithoutResult(status ->
+                orderRepository.findById(saga.getOrderId()).orElseThrow().setStatus(OrderStatus.SHIPPED));
+        when(inventoryServiceClient.checkBulkAvailability(anyMap()))
+                .thenReturn(Map.of("product-1", true, "product-2", false));
+
+        // Act
+        orderSagaOrchestrator.run(saga.getId());
+
+        // Assert
+        OrderSaga finished = orderSagaRepository.findById(saga.getId()).orElseThrow();
+        assertEquals(SagaStep.FAILED, finished.getStep());
+        assertEquals(OrderStatus.SHIPPED, orderRepository.findById(saga.getOrderId()).orElseThrow().getStatus());
+        verify(orderEventPublisher, never()).publishStatusChanged(any(Order.class), any(OrderStatus.class));
+    }
+
+    @Test
+    void run_WhenConfirmKeepsFailing_ShouldReleaseReservationAndCancelOrder() {
+        // Arrange
+        OrderSaga saga = placeOrder();
+        when(inventoryServiceClient.checkBulkAvailability(anyMap()))
+                .thenReturn(Map.of("product-1", true, "product-2", true));
+        when(inventoryServiceClient.reserveStock(anyString(), anyMap())).thenReturn("reservation-1");
+        when(inventoryServiceClient.confirmReservation("reservation-1")).thenReturn(false);
+        when(inventoryServiceClient.releaseReservation("reservation-1")).thenReturn(true);
+
+        // Act
+        orderSagaOrchestrator.run(saga.getId());
+
+        // Assert
+        assertEquals(SagaStep.COMPENSATED, orderSagaRepository.findById(saga.getId()).orElseThrow().getStep());
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(saga.getOrderId()).orElseThrow().getStatus());
+        verify(inventoryServiceClient, times(3)).confirmReservation("reservation-1");
+        verify(inventoryServiceClient, times(1)).releaseReservation("reservation-1");
+    }
+
+    @Test
+    void onCancelled_AfterCompletion_ShouldReturnReservationStock() {
+        // Arrange
+        OrderSaga saga = placeOrder();
+        when(inventoryServiceClient.checkBulkAvailability(anyMap()))
+                .thenReturn(Map.of("product-1", true, "product-2", true));
+        when(inventoryServiceClient.reserveStock(anyString(), anyMap())).thenReturn("reservation-1");
+        when(inventoryServiceClient.confirmReservation("reservation-1")).thenReturn(true);
+        orderSagaOrchestrator.run(saga.getId());
+
+        // The first return is applied but its response is lost
+        when(inventoryServiceClient.returnReservation("reservation-1")).thenReturn(false, true);
+
+        // Act
+        cancel(saga.getOrderId());
+        orderSagaOrchestrator.run(saga.getId());
+
+        // Assert
+        assertEquals(SagaStep.COMPENSATED, orderSagaRepository.findById(saga.getId()).orElseThrow().getStep());
+        Order order = orderRepository.findById(saga.getOrderId()).orElseThrow();
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertTrue(order.getOrderItems().stream().allMatch(OrderItem::isStockRestored));
+        verify(inventoryServiceClient, times(2)).returnReservation("reservation-1");
+        verify(inventoryServiceClient, never()).restoreStock(anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    void onCancelled_ForOrderWithoutSaga_ShouldRestoreEachItemOnce() {
+        // Arrange: an order placed before sagas existed
+        OrderSaga placed = placeOrder();
+        orderSagaRepository.deleteById(placed.getId());
+        when(inventoryServiceClient.restoreStock(eq("product-1"), eq(1), anyString())).thenReturn(true);
+        // The first restore of product-2 is applied but its response is lost
+        when(inventoryServiceClient.restoreStock(eq("product-2"), eq(2), anyString())).thenReturn(false, true);
+
+        // Act
+        cancel(placed.getOrderId());
+        OrderSaga saga = orderSagaRepository.findAll().get(0);
+        orderSagaOrchestrator.run(saga.getId());
+
+        // Assert
+        assertEquals(SagaStep.COMPENSATED, orderSagaRepository.findById(saga.getId()).orElseThrow().getStep());
+        Order order = orderRepository.findById(saga.getOrderId()).orElseThrow();
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        assertTrue(order.getOrderItems().stream().allMatch(OrderItem::isStockRestored));
+        verify(inventoryServiceClient, times(1)).restoreStock(eq("product-1"), eq(1), anyString());
+        ArgumentCaptor<String> references = ArgumentCaptor.forClass(String.class);
+        verify(inventoryServiceClient, times(2)).restoreStock(eq("product-2"), eq(2), references.capture());
+        // The retry carries the same reference, so InventoryService does not add the units twice
+        assertEquals(references.getAllValues().get(0), references.getAllValues().get(1));
+        OrderItem line = order.getOrderItems().stream()
+                .filter(item -> item.getProductId().equals("product-2"))
+                .findFirst().orElseThrow();
+        assertEquals("order-item:" + line.getId(), references.getValue());
+    }
+
+    @Test
+    void run_ShouldSkipLeasedSagaUntilLeaseExpires() {
+        // Arrange
+        OrderSaga saga = placeOrder();
+        when(inventoryServiceClient.checkBulkAvailability(anyMap()))
+                .thenReturn(Map.of("product-1", true, "product-2", true));
+        when(inventoryServiceClient.reserveStock(anyString(), anyMap())).thenReturn("reservation-1");
+        when(inventoryServiceClient.confirmReservation("reservation-1")).thenReturn(true);
+        setLockedUntil(saga.getId(), LocalDateTime.now().plusMinutes(1));
+
+        // Act & Assert
+        orderSagaOrchestrator.run(saga.getId());
+        verifyNoInteractions(inventoryServiceClient);
+
+        // A worker that died mid-step leaves an expired lease behind
+        setLockedUntil(saga.getId(), LocalDateTime.now().minusSeconds(1));
+        orderSagaOrchestrator.run(saga.getId());
+        assertEquals(SagaStep.COMPLETED, orderSagaRepository.findById(saga.getId()).orElseThrow().getStep());
+        verify(inventoryServiceClient, never()).restoreStock(anyString(), anyInt(), anyString());
+    }
+
+    private OrderSaga placeOrder() {
+        return transactionTemplate.execute(status -> {
+            Order order = Order.builder()
+                    .userId("user-1")
+                    .orderDate(LocalDateTime.now())
+                    .status(OrderStatus.PENDING)
+                    .totalAmount(BigDecimal.valueOf(30))
+                    .shippingAddress("123 Test St")
+                    .build();
+            order.addOrderItem(item("product-1", 1));
+            order.addOrderItem(item("product-2", 2));
+            return orderSagaOrchestrator.begin(orderRepository.save(order));
+        });
+    }
+
+    private void cancel(String orderId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(orderId).orElseThrow();
+            orderSagaOrchestrator.onCancelled(order);
+            order.setStatus(OrderStatus.CANCELLED);
+        });
+    }
+
+    private OrderItem item(String productId, int quantity) {
+        return OrderItem.builder()
+                .productId(productId)
+                .productName(productId)
+                .quantity(quantity)
+                .price(BigDecimal.TEN)
+                .subtotal(BigDecimal.TEN.multiply(BigDecimal.valueOf(quantity)))
+                .build();
+    }
+
+    private void setLockedUntil(String sagaId, LocalDateTime lockedUntil) {
+        transactionTemplate.executeWithoutResult(status ->
+                orderSagaRepository.findById(sagaId).orElseThrow().setLockedUntil(lockedUntil));
+    }
+}
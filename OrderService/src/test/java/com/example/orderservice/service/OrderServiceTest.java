@@ -1,23 +1,35 @@
 package com.example.orderservice.service;
 
-import com.example.orderservice.client.InventoryServiceClient;
 import com.example.orderservice.event.OrderEventPublisher;
 import com.example.orderservice.dto.CreateOrderRequest;
+import com.example.orderservice.dto.CursorPage;
 import com.example.orderservice.dto.OrderItemRequest;
+import com.example.orderservice.dto.OrderItemRow;
 import com.example.orderservice.dto.OrderResponse;
 import com.example.orderservice.dto.UpdateOrderStatusRequest;
+import com.example.orderservice.dto.UserOrderSummaryResponse;
+import com.example.orderservice.exception.IdempotencyKeyInFlightException;
+import com.example.orderservice.exception.InvalidCursorException;
 import com.example.orderservice.exception.InvalidOrderException;
 import com.example.orderservice.exception.OrderNotFoundException;
 import com.example.orderservice.model.Order;
 import com.example.orderservice.model.OrderItem;
 import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.UserOrderSummary;
+import com.example.orderservice.repository.ArchivedOrderItemRepository;
+import com.example.orderservice.repository.ArchivedOrderRepository;
+import com.example.orderservice.repository.IdempotencyKeyRepository;
+import com.example.orderservice.repository.OrderItemRepository;
 import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.UserOrderSummaryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -25,10 +37,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,11 +52,26 @@ class OrderServiceTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private InventoryServiceClient inventoryServiceClient;
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
 
 	    @Mock
 	    private OrderEventPublisher orderEventPublisher;
 
+    @Mock
+    private OrderSagaOrchestrator orderSagaOrchestrator;
+
+    @Mock
+    private UserOrderSummaryRepository userOrderSummaryRepository;
+
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Mock
+    private ArchivedOrderItemRepository archivedOrderItemRepository;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -79,10 +108,8 @@ class OrderServiceTest {
     }
 
     @Test
-    void createOrder_WithValidRequest_ShouldCreateOrder() {
+    void createOrder_WithValidRequest_ShouldAcceptPendingOrderAndStartSaga() {
         // Arrange
-        when(inventoryServiceClient.checkAvailability(anyString(), anyInt())).thenReturn(true);
-        when(inventoryServiceClient.reduceStock(anyString(), anyInt())).thenReturn(true);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
         // Act
@@ -91,12 +118,40 @@ class OrderServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(testOrder.getUserId(), result.getUserId());
-        verify(inventoryServiceClient, times(1)).checkAvailability(anyString(), anyInt());
-        verify(inventoryServiceClient, times(1)).reduceStock(anyString(), anyInt());
+        assertEquals(OrderStatus.PENDING, result.getStatus());
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderSagaOrchestrator, times(1)).begin(testOrder);
 	        verify(orderEventPublisher, times(1)).publishOrderCreated(any(Order.class));
     }
 
+    @Test
+    void createOrder_WithIdempotencyKey_ShouldRecordOrderOnKey() {
+        // Arrange
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(idempotencyKeyRepository.complete("key-1", "claim-1", "order-123")).thenReturn(1);
+
+        // Act
+        OrderResponse result = orderService.createOrder(createOrderRequest, "key-1", "claim-1");
+
+        // Assert
+        assertEquals("order-123", result.getId());
+        verify(idempotencyKeyRepository, times(1)).complete("key-1", "claim-1", "order-123");
+    }
+
+    @Test
+    void createOrder_WhenIdempotencyClaimWasTakenOver_ShouldThrowBeforeStartingSaga() {
+        // Arrange
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(idempotencyKeyRepository.complete("key-1", "claim-1", "order-123")).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyInFlightException.class, () ->
+            orderService.createOrder(createOrderRequest, "key-1", "claim-1")
+        );
+        verify(orderSagaOrchestrator, never()).begin(any(Order.class));
+        verify(orderEventPublisher, never()).publishOrderCreated(any(Order.class));
+    }
+
     @Test
     void createOrder_WithEmptyItems_ShouldThrowException() {
         // Arrange
@@ -114,10 +169,12 @@ class OrderServiceTest {
     }
 
     @Test
-    void getOrderById_WithValidId_ShouldReturnOrder() {
+    void getOrderById_WithValidId_ShouldReturnOrderWithItems() {
         // Arrange
         String orderId = "order-123";
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findResponseById(orderId)).thenReturn(Optional.of(response(testOrder)));
+        when(orderItemRepository.findRowsByOrderIdIn(Set.of(orderId))).thenReturn(List.of(
+            OrderItemRow.builder().orderId(orderId).id("item-1").productId("product-123").quantity(2).build()));
 
         // Act
         OrderResponse result = orderService.getOrderById(orderId);
@@ -125,36 +182,92 @@ class OrderServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(orderId, result.getId());
-        verify(orderRepository, times(1)).findById(orderId);
+        assertEquals(1, result.getItems().size());
+        assertEquals("product-123", result.getItems().get(0).getProductId());
+        verify(orderRepository, never()).findById(anyString());
     }
 
     @Test
     void getOrderById_WithInvalidId_ShouldThrowException() {
         // Arrange
         String orderId = "invalid-order";
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findResponseById(orderId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(OrderNotFoundException.class, () ->
             orderService.getOrderById(orderId)
         );
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findResponseById(orderId);
+        verifyNoInteractions(orderItemRepository, archivedOrderRepository);
+    }
+
+    @Test
+    void getOrderById_WithArchivedOrderAndIncludeArchived_ShouldReadFromArchive() {
+        // Arrange
+        String orderId = "order-123";
+        testOrder.setStatus(OrderStatus.DELIVERED);
+        when(orderRepository.findResponseById(orderId)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findResponseById(orderId)).thenReturn(Optional.of(response(testOrder)));
+        when(archivedOrderItemRepository.findRowsByOrderIdIn(Set.of(orderId))).thenReturn(List.of(
+            new OrderItemRow(orderId, "item-1", "product-123", "Test Product", 2, BigDecimal.valueOf(99.99),
+                BigDecimal.valueOf(199.98))));
+
+        // Act
+        OrderResponse result = orderService.getOrderById(orderId, true);
+
+        // Assert
+        assertEquals(OrderStatus.DELIVERED, result.getStatus());
+        assertEquals(1, result.getItems().size());
+        verifyNoInteractions(orderItemRepository);
     }
 
     @Test
     void getOrdersByUserId_WithValidUser_ShouldReturnOrders() {
         // Arrange
         String userId = "user-123";
-        List<Order> orders = Arrays.asList(testOrder);
-        when(orderRepository.findByUserIdOrderByOrderDateDesc(userId)).thenReturn(orders);
+        when(orderRepository.findFirstPageIdsByUserId(eq(userId), any(Pageable.class))).thenReturn(List.of("order-123"));
+        when(orderRepository.findResponsesByIdIn(List.of("order-123"))).thenReturn(List.of(response(testOrder)));
 
         // Act
-        List<OrderResponse> result = orderService.getOrdersByUserId(userId);
+        CursorPage<OrderResponse> result = orderService.getOrdersByUserId(userId, null, 50);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(orderRepository, times(1)).findByUserIdOrderByOrderDateDesc(userId);
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(orderRepository, times(1)).findFirstPageIdsByUserId(userId, PageRequest.of(0, 51));
+        verifyNoInteractions(archivedOrderRepository);
+    }
+
+    @Test
+    void getOrdersByUserId_WithIncludeArchived_ShouldMergeStoresNewestFirst() {
+        // Arrange
+        String userId = "user-123";
+        Order olderHot = orderAt("order-456", testOrder.getOrderDate().minusDays(3));
+        Order archived = orderAt("order-archived-1", testOrder.getOrderDate().minusDays(1));
+        Order olderArchived = orderAt("order-archived-2", testOrder.getOrderDate().minusDays(5));
+        when(orderRepository.findFirstPageIdsByUserId(eq(userId), any(Pageable.class)))
+            .thenReturn(List.of("order-123", "order-456"));
+        when(orderRepository.findResponsesByIdIn(List.of("order-123", "order-456")))
+            .thenReturn(List.of(response(olderHot), response(testOrder)));
+        when(archivedOrderRepository.findFirstPageByUserId(eq(userId), any(Pageable.class)))
+            .thenReturn(List.of(response(archived), response(olderArchived)));
+
+        // Act
+        CursorPage<OrderResponse> firstPage = orderService.getOrdersByUserId(userId, null, 2, true);
+        orderService.getOrdersByUserId(userId, firstPage.getNextCursor(), 2, true);
+
+        // Assert
+        assertEquals(List.of("order-123", "order-archived-1"),
+            firstPage.getItems().stream().map(OrderResponse::getId).toList());
+        assertTrue(firstPage.isHasNext());
+        verify(orderItemRepository).findRowsByOrderIdIn(Set.of("order-123"));
+        verify(archivedOrderItemRepository).findRowsByOrderIdIn(Set.of("order-archived-1"));
+        verify(orderRepository).findPageIdsByUserIdAfter(userId, archived.getOrderDate(), "order-archived-1",
+            PageRequest.of(0, 3));
+        verify(archivedOrderRepository).findPageByUserIdAfter(userId, archived.getOrderDate(), "order-archived-1",
+            PageRequest.of(0, 3));
     }
 
     @Test
@@ -175,29 +288,79 @@ class OrderServiceTest {
         assertNotNull(result);
         verify(orderRepository, times(1)).findById(orderId);
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderEventPublisher, times(1)).publishStatusChanged(testOrder, OrderStatus.PENDING);
     }
 
     @Test
-    void cancelOrder_WithPendingOrder_ShouldCancelAndRestoreStock() {
+    void updateOrderStatus_WithUnchangedStatus_ShouldNotPublishEvent() {
         // Arrange
         String orderId = "order-123";
-        OrderItem orderItem = OrderItem.builder()
-            .productId("product-123")
-            .quantity(2)
+        UpdateOrderStatusRequest updateRequest = UpdateOrderStatusRequest.builder()
+            .status(OrderStatus.PENDING)
+            .notes("Called the customer")
             .build();
-        testOrder.getOrderItems().add(orderItem);
 
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
-        when(inventoryServiceClient.restoreStock(anyString(), anyInt())).thenReturn(true);
+
+        // Act
+        orderService.updateOrderStatus(orderId, updateRequest);
+
+        // Assert
+        verify(orderEventPublisher, never()).publishStatusChanged(any(Order.class), any(OrderStatus.class));
+    }
+
+    @Test
+    void updateOrderStatus_ToCancelled_ShouldGoThroughSaga() {
+        // Arrange
+        String orderId = "order-123";
+        UpdateOrderStatusRequest updateRequest = UpdateOrderStatusRequest.builder()
+            .status(OrderStatus.CANCELLED)
+            .build();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        // Act
+        orderService.updateOrderStatus(orderId, updateRequest);
+
+        // Assert
+        assertEquals(OrderStatus.CANCELLED, testOrder.getStatus());
+        verify(orderSagaOrchestrator, times(1)).onCancelled(testOrder);
+        verify(orderEventPublisher, times(1)).publishStatusChanged(testOrder, OrderStatus.PENDING);
+    }
+
+    @Test
+    void updateOrderStatus_FromCancelled_ShouldThrowException() {
+        // Arrange
+        String orderId = "order-123";
+        testOrder.setStatus(OrderStatus.CANCELLED);
+        UpdateOrderStatusRequest updateRequest = UpdateOrderStatusRequest.builder()
+            .status(OrderStatus.CONFIRMED)
+            .build();
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+
+        // Act & Assert
+        assertThrows(InvalidOrderException.class, () ->
+            orderService.updateOrderStatus(orderId, updateRequest)
+        );
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void cancelOrder_WithPendingOrder_ShouldCancelAndHandStockToSaga() {
+        // Arrange
+        String orderId = "order-123";
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
         // Act
         orderService.cancelOrder(orderId);
 
         // Assert
-        verify(orderRepository, times(1)).findById(orderId);
+        assertEquals(OrderStatus.CANCELLED, testOrder.getStatus());
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(inventoryServiceClient, times(1)).restoreStock(anyString(), anyInt());
+        verify(orderSagaOrchestrator, times(1)).onCancelled(testOrder);
+        verify(orderEventPublisher, times(1)).publishStatusChanged(testOrder, OrderStatus.PENDING);
     }
 
     @Test
@@ -219,44 +382,124 @@ class OrderServiceTest {
     void getOrdersByStatus_WithValidStatus_ShouldReturnOrders() {
         // Arrange
         OrderStatus status = OrderStatus.PENDING;
-        List<Order> orders = Arrays.asList(testOrder);
-        when(orderRepository.findByStatus(status)).thenReturn(orders);
+        when(orderRepository.findFirstPageIdsByStatus(eq(status), any(Pageable.class))).thenReturn(List.of("order-123"));
+        when(orderRepository.findResponsesByIdIn(List.of("order-123"))).thenReturn(List.of(response(testOrder)));
 
         // Act
-        List<OrderResponse> result = orderService.getOrdersByStatus(status);
+        CursorPage<OrderResponse> result = orderService.getOrdersByStatus(status, null, 50);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(orderRepository, times(1)).findByStatus(status);
+        assertEquals(1, result.getItems().size());
+        verify(orderRepository, times(1)).findFirstPageIdsByStatus(status, PageRequest.of(0, 51));
+    }
+
+    @Test
+    void getOrdersByStatus_WithMoreRows_ShouldReturnCursorResumingAfterLastOrder() {
+        // Arrange
+        OrderStatus status = OrderStatus.PENDING;
+        Order older = Order.builder()
+            .userId("user-123")
+            .orderDate(testOrder.getOrderDate().minusMinutes(1))
+            .status(status)
+            .orderItems(new ArrayList<>())
+            .build();
+        older.setId("order-456");
+        when(orderRepository.findFirstPageIdsByStatus(eq(status), any(Pageable.class)))
+            .thenReturn(List.of("order-123", "order-456", "order-789"));
+        // The loader does not preserve keyset order
+        when(orderRepository.findResponsesByIdIn(List.of("order-123", "order-456")))
+            .thenReturn(List.of(response(older), response(testOrder)));
+
+        // Act
+        CursorPage<OrderResponse> firstPage = orderService.getOrdersByStatus(status, null, 2);
+        orderService.getOrdersByStatus(status, firstPage.getNextCursor(), 2);
+
+        // Assert
+        assertTrue(firstPage.isHasNext());
+        assertEquals(List.of("order-123", "order-456"),
+            firstPage.getItems().stream().map(OrderResponse::getId).toList());
+        verify(orderRepository).findPageIdsByStatusAfter(status, older.getOrderDate(), "order-456", PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getAllOrders_WithMalformedCursor_ShouldThrowInvalidCursor() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> orderService.getAllOrders("not-a-cursor", 50));
+        verify(orderRepository, never()).findResponsesByIdIn(any());
     }
 
     @Test
     void getOrderCountByUserId_WithValidUser_ShouldReturnCount() {
         // Arrange
         String userId = "user-123";
-        when(orderRepository.countByUserId(userId)).thenReturn(5L);
+        when(userOrderSummaryRepository.sumOrderCountByUserId(userId)).thenReturn(5L);
 
         // Act
         long result = orderService.getOrderCountByUserId(userId);
 
         // Assert
         assertEquals(5L, result);
-        verify(orderRepository, times(1)).countByUserId(userId);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getOrderSummaryByUserId_ShouldTotalStatusesWithOrders() {
+        // Arrange
+        String userId = "user-123";
+        when(userOrderSummaryRepository.findByUserId(userId)).thenReturn(List.of(
+            summary(userId, OrderStatus.CONFIRMED, 2, "150.00"),
+            summary(userId, OrderStatus.PENDING, 0, "0.00"),
+            summary(userId, OrderStatus.CANCELLED, 1, "20.50")));
+
+        // Act
+        UserOrderSummaryResponse result = orderService.getOrderSummaryByUserId(userId);
+
+        // Assert
+        assertEquals(3, result.getOrderCount());
+        assertEquals(new BigDecimal("170.50"), result.getTotalAmount());
+        assertEquals(Set.of(OrderStatus.CONFIRMED, OrderStatus.CANCELLED), result.getByStatus().keySet());
+        assertEquals(2, result.getByStatus().get(OrderStatus.CONFIRMED).getOrderCount());
     }
 
     @Test
     void getAllOrders_ShouldReturnAllOrders() {
         // Arrange
-        List<Order> orders = Arrays.asList(testOrder);
-        when(orderRepository.findAll()).thenReturn(orders);
+        when(orderRepository.findFirstPageIds(any(Pageable.class))).thenReturn(List.of("order-123"));
+        when(orderRepository.findResponsesByIdIn(List.of("order-123"))).thenReturn(List.of(response(testOrder)));
 
         // Act
-        List<OrderResponse> result = orderService.getAllOrders();
+        CursorPage<OrderResponse> result = orderService.getAllOrders(null, 50);
 
         // Assert
         assertNotNull(result);
-        assertEquals(1, result.size());
-        verify(orderRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        verify(orderRepository, times(1)).findFirstPageIds(PageRequest.of(0, 51));
+    }
+
+    private static Order orderAt(String orderId, LocalDateTime orderDate) {
+        Order order = Order.builder()
+            .userId("user-123")
+            .orderDate(orderDate)
+            .status(OrderStatus.DELIVERED)
+            .orderItems(new ArrayList<>())
+            .build();
+        order.setId(orderId);
+        return order;
+    }
+
+    private static OrderResponse response(Order order) {
+        return new OrderResponse(order.getId(), order.getUserId(), order.getOrderDate(), order.getStatus(),
+            order.getTotalAmount(), order.getShippingAddress(), order.getPaymentMethod(), order.getNotes(),
+            order.getCreatedAt(), order.getUpdatedAt());
+    }
+
+    private static UserOrderSummary summary(String userId, OrderStatus status, long orderCount, String totalAmount) {
+        return UserOrderSummary.builder()
+            .userId(userId)
+            .status(status)
+            .orderCount(orderCount)
+            .totalAmount(new BigDecimal(totalAmount))
+            .build();
     }
 }
@@ -0,0 +1,204 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.OrderEventPublisher;
+import com.example.orderservice.model.ArchivedOrder;
+import com.example.orderservice.model.ArchivedOrderItem;
+import com.example.orderservice.model.Order;
+import com.example.orderservice.model.OrderDailyStatsId;
+import com.example.orderservice.model.OrderItem;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.UserOrderSummaryId;
+import com.example.orderservice.repository.ArchivedOrderItemRepository;
+import com.example.orderservice.repository.ArchivedOrderRepository;
+import com.example.orderservice.repository.OrderDailyStatsRepository;
+import com.example.orderservice.repository.OrderItemRepository;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.repository.OrderSummaryStateRepository;
+import com.example.orderservice.repository.ProductDailyStatsRepository;
+import com.example.orderservice.repository.UserOrderSummaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Backfills orders placed before the projection, from the hot and archive tables, against
+ * an embedded database in MySQL mode, and checks they are counted once alongside events the
+ * consumer applies.
+ */
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:order-summary-backfill;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@Import({OrderSummaryBackfill.class, OrderSummaryProjection.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderSummaryBackfillTest {
+
+    private static final LocalDate ORDER_DAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private OrderSummaryBackfill orderSummaryBackfill;
+
+    @Autowired
+    private OrderSummaryProjection orderSummaryProjection;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private ArchivedOrderItemRepository archivedOrderItemRepository;
+
+    @Autowired
+    private OrderSummaryStateRepository orderSummaryStateRepository;
+
+    @Autowired
+    private UserOrderSummaryRepository userOrderSummaryRepository;
+
+    @Autowired
+    private OrderDailyStatsRepository orderDailyStatsRepository;
+
+    @Autowired
+    private ProductDailyStatsRepository productDailyStatsRepository;
+
+    @AfterEach
+    void tearDown() {
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        archivedOrderItemRepository.deleteAllInBatch();
+        archivedOrderRepository.deleteAllInBatch();
+        orderSummaryStateRepository.deleteAllInBatch();
+        userOrderSummaryRepository.deleteAllInBatch();
+        orderDailyStatsRepository.deleteAllInBatch();
+        productDailyStatsRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void backfill_ShouldProjectHotAndArchivedOrders() throws InterruptedException {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            placeOrder(OrderStatus.PENDING);
+        }
+        archiveOrder("archived-1", OrderStatus.DELIVERED);
+
+        // Act: a batch size below the order count makes the hot pass page
+        int hot = orderSummaryBackfill.backfillHot(2, 0);
+        int archived = orderSummaryBackfill.backfillArchived(2, 0);
+
+        // Assert
+        assertEquals(3, hot);
+        assertEquals(1, archived);
+        assertEquals(4, userOrderSummaryRepository.sumOrderCountByUserId("user-1"));
+        assertEquals(3, userOrderSummaryRepository.findById(new UserOrderSummaryId("user-1", OrderStatus.PENDING))
+                .orElseThrow().getOrderCount());
+        assertEquals(1, orderDailyStatsRepository.findById(new OrderDailyStatsId(ORDER_DAY, OrderStatus.DELIVERED))
+                .orElseThrow().getOrderCount());
+        assertEquals(2, productDailyStatsRepository.findAll().size());
+    }
+
+    @Test
+    void backfill_ShouldSkipOrdersTheConsumerAlreadyProjected() throws InterruptedException {
+        // Arrange
+        Order order = placeOrder(OrderStatus.CONFIRMED);
+        orderSummaryProjection.apply(changed(order.getId(), 5, OrderStatus.CONFIRMED));
+
+        // Act
+        int hot = orderSummaryBackfill.backfillHot(10, 0);
+
+        // Assert
+        assertEquals(0, hot);
+        assertEquals(1, userOrderSummaryRepository.sumOrderCountByUserId("user-1"));
+        assertEquals(5, orderSummaryStateRepository.findById(order.getId()).orElseThrow().getSequence());
+    }
+
+    @Test
+    void backfill_ThenLaterEvent_ShouldMoveTheOrder() throws InterruptedException {
+        // Arrange
+        Order order = placeOrder(OrderStatus.PENDING);
+        orderSummaryBackfill.backfillHot(10, 0);
+
+        // Act
+        boolean applied = orderSummaryProjection.apply(changed(order.getId(), 1, OrderStatus.SHIPPED));
+
+        // Assert
+        assertTrue(applied);
+        assertEquals(0, userOrderSummaryRepository.findById(new UserOrderSummaryId("user-1", OrderStatus.PENDING))
+                .orElseThrow().getOrderCount());
+        assertEquals(1, userOrderSummaryRepository.findById(new UserOrderSummaryId("user-1", OrderStatus.SHIPPED))
+                .orElseThrow().getOrderCount());
+    }
+
+    private Order placeOrder(OrderStatus status) {
+        Order order = Order.builder()
+                .userId("user-1")
+                .orderDate(ORDER_DAY.atTime(10, 30))
+                .status(status)
+                .totalAmount(new BigDecimal("30.00"))
+                .shippingAddress("123 Test St")
+                .build();
+        order.addOrderItem(OrderItem.builder()
+                .productId("product-1")
+                .productName("Product 1")
+                .quantity(3)
+                .price(BigDecimal.TEN)
+                .subtotal(new BigDecimal("30.00"))
+                .build());
+        return orderRepository.save(order);
+    }
+
+    private void archiveOrder(String orderId, OrderStatus status) {
+        LocalDateTime orderDate = ORDER_DAY.atTime(9, 0);
+        archivedOrderRepository.save(ArchivedOrder.builder()
+                .id(orderId)
+                .userId("user-1")
+                .orderDate(orderDate)
+                .status(status)
+                .totalAmount(new BigDecimal("20.00"))
+                .shippingAddress("123 Test St")
+                .createdAt(orderDate)
+                .archivedAt(orderDate.plusDays(200))
+                .build());
+        archivedOrderItemRepository.save(ArchivedOrderItem.builder()
+                .id(orderId + "-item")
+                .orderId(orderId)
+                .productId("product-2")
+                .productName("Product 2")
+                .quantity(1)
+                .price(new BigDecimal("20.00"))
+                .subtotal(new BigDecimal("20.00"))
+                .createdAt(orderDate)
+                .build());
+    }
+
+    private static OrderEvent changed(String orderId, long sequence, OrderStatus to) {
+        return OrderEvent.builder()
+                .eventType(OrderEventPublisher.ORDER_STATUS_CHANGED)
+                .sequence(sequence)
+                .id(orderId)
+                .userId("user-1")
+                .status(to)
+                .totalAmount(new BigDecimal("30.00"))
+                .orderDate(ORDER_DAY.atTime(10, 30))
+                .items(List.of())
+                .build();
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.OrderAnalyticsResponse;
+import com.example.orderservice.dto.ProductSales;
+import com.example.orderservice.event.OrderEvent;
+import com.example.orderservice.event.OrderEventItem;
+import com.example.orderservice.event.OrderEventPublisher;
+import com.example.orderservice.model.OrderDailyStatsId;
+import com.example.orderservice.model.OrderStatus;
+import com.example.orderservice.model.ProductDailyStatsId;
+import com.example.orderservice.model.UserOrderSummary;
+import com.example.orderservice.model.UserOrderSummaryId;
+import com.example.orderservice.repository.OrderDailyStatsRepository;
+import com.example.orderservice.repository.OrderSummaryStateRepository;
+import com.example.orderservice.repository.ProductDailyStatsRepository;
+import com.example.orderservice.repository.UserOrderSummaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies order events against an embedded database in MySQL mode, which the upserts need,
+ * and checks the per-user buckets and daily rollups, including the redelivered and
+ * out-of-order events at-least-once delivery produces.
+ */
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:order-summary-projection;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"})
+@Import({OrderSummaryProjection.class, OrderAnalyticsServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderSummaryProjectionTest {
+
+    private static final LocalDate ORDER_DAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private OrderSummaryProjection orderSummaryProjection;
+
+    @Autowired
+    private UserOrderSummaryRepository userOrderSummaryRepository;
+
+    @Autowired
+    private OrderSummaryStateRepository orderSummaryStateRepository;
+
+    @Autowired
+    private OrderDailyStatsRepository orderDailyStatsRepository;
+
+    @Autowired
+    private ProductDailyStatsRepository productDailyStatsRepository;
+
+    @Autowired
+    private OrderAnalyticsService orderAnalyticsService;
+
+    @AfterEach
+    void tearDown() {
+        orderSummaryStateRepository.deleteAllInBatch();
+        userOrderSummaryRepository.deleteAllInBatch();
+        orderDailyStatsRepository.deleteAllInBatch();
+        productDailyStatsRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void apply_ShouldMoveOrderBetweenStatuses() {
+        // Act
+        orderSummaryProjection.apply(created("order-1", 1, "25.00"));
+        orderSummaryProjection.apply(created("order-2", 2, "10.00"));
+        orderSummaryProjection.apply(changed("order-1", 3, OrderStatus.PENDING, OrderStatus.CONFIRMED, "25.00"));
+
+        // Assert
+        assertBucket(OrderStatus.PENDING, 1, "10.00");
+        assertBucket(OrderStatus.CONFIRMED, 1, "25.00");
+        assertEquals(2, userOrderSummaryRepository.sumOrderCountByUserId("user-1"));
+    }
+
+    @Test
+    void apply_WithRedeliveredEvent_ShouldCountItOnce() {
+        // Arrange
+        OrderEvent confirmed = changed("order-1", 2, OrderStatus.PENDING, OrderStatus.CONFIRMED, "25.00");
+        orderSummaryProjection.apply(created("order-1", 1, "25.00"));
+        orderSummaryProjection.apply(confirmed);
+
+        // Act
+        boolean applied = orderSummaryProjection.apply(confirmed);
+
+        // Assert
+        assertFalse(applied);
+        assertBucket(OrderStatus.PENDING, 0, "0.00");
+        assertBucket(OrderStatus.CONFIRMED, 1, "25.00");
+    }
+
+    @Test
+    void apply_WithStaleEventAfterLaterOne_ShouldKeepLatestStatus() {
+        // Arrange
+        orderSummaryProjection.apply(created("order-1", 1, "25.00"));
+        orderSummaryProjection.apply(changed("order-1", 2, OrderStatus.PENDING, OrderStatus.CONFIRMED, "25.00"));
+        orderSummaryProjection.apply(changed("order-1", 3, OrderStatus.CONFIRMED, OrderStatus.CANCELLED, "25.00"));
+
+        // Act: the relay re-sends an earlier event after a failed batch
+        orderSummaryProjection.apply(changed("order-1", 2, OrderStatus.PENDING, OrderStatus.CONFIRMED, "25.00"));
+
+        // Assert
+        assertBucket(OrderStatus.CONFIRMED, 0, "0.00");
+        assertBucket(OrderStatus.CANCELLED, 1, "25.00");
+        assertEquals(1, userOrderSummaryRepository.sumOrderCountByUserId("user-1"));
+    }
+
+    @Test
+    void apply_WithOrderPlacedBeforeProjection_ShouldCountItFromFirstEvent() {
+        // Act: no ORDER_CREATED was ever projected for this order
+        orderSummaryProjection.apply(changed("order-1", 7, OrderStatus.PENDING, OrderStatus.SHIPPED, "40.00"));
+
+        // Assert
+        assertBucket(OrderStatus.SHIPPED, 1, "40.00");
+        assertTrue(userOrderSummaryRepository.findById(new UserOrderSummaryId("user-1", OrderStatus.PENDING)).isEmpty());
+    }
+
+    @Test
+    void apply_ShouldMoveOrderAndItsProductsBetweenDailyBuckets() {
+        // Act
+        orderSummaryProjection.apply(created("order-1", 1, "25.00"));
+        orderSummaryProjection.apply(changed("order-1", 2, OrderStatus.PENDING, OrderStatus.CANCELLED, "25.00"));
+
+        // Assert
+        assertEquals(0, orderDailyStatsRepository.findById(new OrderDailyStatsId(ORDER_DAY, OrderStatus.PENDING))
+                .orElseThrow().getOrderCount());
+        assertEquals(1, orderDailyStatsRepository.findById(new OrderDailyStatsId(ORDER_DAY, OrderStatus.CANCELLED))
+                .orElseThrow().getOrderCount());
+        assertEquals(0, productDailyStatsRepository.findById(
+                new ProductDailyStatsId(ORDER_DAY, OrderStatus.PENDING, "product-1")).orElseThrow().getQuantity());
+        assertEquals(2, productDailyStatsRepository.findById(
+                new ProductDailyStatsId(ORDER_DAY, OrderStatus.CANCELLED, "product-1")).orElseThrow().getQuantity());
+    }
+
+    @Test
+    void getDailyAnalytics_ShouldReadRollupsWithoutCancelledRevenue() {
+        // Arrange
+        orderSummaryProjection.apply(created("order-1", 1, "25.00"));
+        orderSummaryProjection.apply(created("order-2", 2, "25.00"));
+        orderSummaryProjection.apply(changed("order-2", 3, OrderStatus.PENDING, OrderStatus.CANCELLED, "25.00"));
+        orderSummaryProjection.apply(changed("order-1", 4, OrderStatus.PENDING, OrderStatus.CONFIRMED, "25.00"));
+
+        // Act
+        OrderAnalyticsResponse analytics = orderAnalyticsService.getDailyAnalytics(ORDER_DAY, ORDER_DAY.plusDays(6), 10);
+
+        // Assert
+        assertEquals(2, analytics.getOrderCount());
+        assertEquals(0, new BigDecimal("25.00").compareTo(analytics.getRevenue()));
+        assertEquals(1, analytics.getDays().size());
+        assertEquals(2, analytics.getDays().get(0).getByStatus().size());
+        assertEquals(List.of("product-1", "product-2"),
+                analytics.getTopProducts().stream().map(ProductSales::getProductId).toList());
+        assertEquals(2L, analytics.getTopProducts().get(0).getQuantity());
+    }
+
+    private void assertBucket(OrderStatus status, long orderCount, String totalAmount) {
+        UserOrderSummary summary = userOrderSummaryRepository.findById(new UserOrderSummaryId("user-1", status))
+                .orElseThrow();
+        assertEquals(orderCount, summary.getOrderCount());
+        assertEquals(0, new BigDecimal(totalAmount).compareTo(summary.getTotalAmount()));
+    }
+
+    private static OrderEvent created(String orderId, long sequence, String totalAmount) {
+        return OrderEvent.builder()
+                .eventType(OrderEventPublisher.ORDER_CREATED)
+                .sequence(sequence)
+                .id(orderId)
+                .userId("user-1")
+                .status(OrderStatus.PENDING)
+                .totalAmount(new BigDecimal(totalAmount))
+                .orderDate(ORDER_DAY.atTime(10, 30))
+                .items(items())
+                .build();
+    }
+
+    private static OrderEvent changed(String orderId, long sequence, OrderStatus from, OrderStatus to,
+                                      String totalAmount) {
+        return OrderEvent.builder()
+                .eventType(OrderEventPublisher.ORDER_STATUS_CHANGED)
+                .sequence(sequence)
+                .id(orderId)
+                .userId("user-1")
+                .previousStatus(from)
+                .status(to)
+                .totalAmount(new BigDecimal(totalAmount))
+                .orderDate(ORDER_DAY.atTime(10, 30))
+                .items(items())
+                .build();
+    }
+
+    private static List<OrderEventItem> items() {
+        return List.of(
+                new OrderEventItem("product-1", "Product 1", 2, new BigDecimal("20.00")),
+                new OrderEventItem("product-2", "Product 2", 1, new BigDecimal("5.00")));
+    }
+}